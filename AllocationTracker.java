@@ -0,0 +1,479 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * AllocationTracker - Zählt, wie viel Speicher jeder Takt anlegt.
+ *
+ * Jedes Objekt, das ein Takt anlegt, muss der Garbage Collector später
+ * wieder einsammeln; bei 60 Takten pro Sekunde führt schon eine kleine
+ * Liste pro Takt zu regelmäßigen Rucklern. Die heißen Abläufe (Kontakte,
+ * Gegner, Projektile, Zeichnen) legen deshalb nichts mehr an. Damit das so
+ * bleibt, misst der AllocationTracker im laufenden Spiel:
+ * - die Bytes pro Takt (Mittel, p99, Maximum),
+ * - die Bytes von tick() jeder Actor-Klasse,
+ * - die Bytes der Welt selbst (Eingabe, Pendler, Projektile).
+ *
+ * Gezählt wird mit dem Zähler der JVM für die angelegten Bytes des
+ * aktuellen Threads (com.sun.management.ThreadMXBean). Er ist genau auf
+ * das Byte, kostet aber pro Abfrage etwas Zeit; gemessen wird deshalb nur,
+ * solange der Tracker eingeschaltet ist.
+ *
+ * Budget:
+ * Mit setBudget() wird eine Obergrenze pro Takt festgelegt, checkBudget()
+ * prüft sie nach den Aufwärm-Takten. Jeder einzelne Takt muss im Budget
+ * bleiben, nur eine kleine, ausdrücklich festgelegte Anzahl Ausreißer ist
+ * erlaubt (Standard: DEFAULT_ALLOWED_OUTLIERS). Solche Ausreißer gibt es
+ * auch in sauberem Code (die JVM legt beim Deoptimieren wegoptimierte
+ * Objekte nachträglich an, ein Array wächst zum ersten Mal). Wer dagegen
+ * auch nur in jedem hundertsten Takt etwas anlegt, fällt sofort auf.
+ * checkLevel() prüft so ein ganzes Level ohne Fenster, auch von der
+ * Kommandozeile:
+ * <pre>
+ * java -Djava.awt.headless=true -cp greenfoot.jar:. AllocationTracker 3 0
+ * </pre>
+ *
+ * Im normalen Spiel gibt es einen gemeinsamen Tracker. Jeder HeadlessRunner
+ * hat seinen eigenen. Ein Tracker ist nicht threadsicher.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class AllocationTracker {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Standard-Anzahl Aufwärm-Takte für checkLevel */
+    public static final long DEFAULT_WARMUP_TICKS = 2000;
+
+    /** Standard-Anzahl geprüfter Takte für checkLevel */
+    public static final long DEFAULT_CHECK_TICKS = 20000;
+
+    /** Standard-Anzahl Takte, die nach dem Aufwärmen über dem Budget liegen dürfen */
+    public static final long DEFAULT_ALLOWED_OUTLIERS = 5;
+
+    /** Perzentil der Bytes pro Takt in der Auswertung */
+    public static final double REPORT_PERCENTILE = 0.99;
+
+    /** Tracker des normalen Spiels */
+    private static final AllocationTracker LIVE = new AllocationTracker();
+
+    /** Zähler der JVM (oder null, wenn nicht unterstützt) */
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    // ==================== MESSREIHE ====================
+
+    /**
+     * Bytes einer Actor-Klasse (oder der Welt).
+     */
+    private static final class Row {
+
+        /** Angezeigter Name */
+        final String name;
+
+        /** Bytes im laufenden Takt */
+        long pending;
+
+        /** Bytes seit dem Einschalten */
+        long total;
+
+        /** Meiste Bytes in einem Takt */
+        long max;
+
+        Row(String name) {
+            this.name = name;
+        }
+
+        /** Setzt alle Werte auf 0 */
+        void clear() {
+            pending = 0;
+            total = 0;
+            max = 0;
+        }
+
+        /** Übernimmt die Bytes des Takts */
+        void flush() {
+            total += pending;
+            max = Math.max(max, pending);
+            pending = 0;
+        }
+    }
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Ist der Tracker eingeschaltet? */
+    private boolean enabled;
+
+    /** Bytes pro Takt */
+    private final Histogram ticks = new Histogram();
+
+    /** Bytes aller Takte seit dem Einschalten */
+    private long totalBytes;
+
+    /** Anteil der Welt (update) */
+    private final Row world = new Row("Welt");
+
+    /** Eine Zeile pro Actor-Klasse (in der Reihenfolge des ersten Auftretens) */
+    private final Map<Class<?>, Row> classes = new LinkedHashMap<>();
+
+    /** Obergrenze pro Takt in Bytes (negativ = keine) */
+    private long budget = -1;
+
+    /** Anzahl Takte, bevor das Budget gilt */
+    private long warmupTicks;
+
+    /** Anzahl Takte, die nach dem Aufwärmen über dem Budget liegen dürfen */
+    private long allowedOutliers;
+
+    /** Anzahl Takte seit dem Aufwärmen, die über dem Budget lagen */
+    private long outliers;
+
+    /** Anzahl Takte seit dem Einschalten (Aufwärm-Takte eingeschlossen) */
+    private long tickNumber;
+
+    // ==================== ZUGRIFF ====================
+
+    /**
+     * Gibt den Tracker zurück, der auf dem aktuellen Thread gilt.
+     *
+     * @return Tracker des HeadlessRunners oder des normalen Spiels
+     */
+    public static AllocationTracker current() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        return runner != null ? runner.getAllocations() : LIVE;
+    }
+
+    /**
+     * Gibt die Anzahl der bisher vom aktuellen Thread angelegten Bytes zurück.
+     *
+     * @return Angelegte Bytes oder -1, wenn die JVM das nicht unterstützt
+     */
+    public static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Gibt an, ob die JVM die angelegten Bytes zählen kann.
+     *
+     * @return true, wenn allocatedBytes() gültige Werte liefert
+     */
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Schaltet den Tracker ein oder aus. Beim Einschalten beginnen alle
+     * Messreihen von vorn. Ohne Unterstützung der JVM bleibt er aus.
+     *
+     * @param value true = messen
+     */
+    public void setEnabled(boolean value) {
+        if (value && !enabled) {
+            clear();
+        }
+        enabled = value && isSupported();
+    }
+
+    /**
+     * Gibt an, ob der Tracker misst.
+     *
+     * @return true, wenn eingeschaltet
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Legt eine Obergrenze pro Takt mit DEFAULT_ALLOWED_OUTLIERS erlaubten
+     * Ausreißern fest (siehe checkBudget).
+     *
+     * @param bytesPerTick Erlaubte Bytes pro Takt (negativ = keine Grenze)
+     * @param warmupTicks  Anzahl Takte nach dem Einschalten, für die die
+     *                     Grenze noch nicht gilt (Klassen laden, JIT, Aufbau);
+     *                     ihre Messwerte werden danach verworfen
+     */
+    public void setBudget(long bytesPerTick, long warmupTicks) {
+        setBudget(bytesPerTick, warmupTicks, DEFAULT_ALLOWED_OUTLIERS);
+    }
+
+    /**
+     * Legt eine Obergrenze pro Takt fest (siehe checkBudget).
+     *
+     * @param bytesPerTick    Erlaubte Bytes pro Takt (negativ = keine Grenze)
+     * @param warmupTicks     Anzahl Takte nach dem Einschalten, für die die
+     *                        Grenze noch nicht gilt (Klassen laden, JIT,
+     *                        Aufbau); ihre Messwerte werden danach verworfen
+     * @param allowedOutliers Anzahl Takte nach dem Aufwärmen, die über der
+     *                        Grenze liegen dürfen (0 = keiner)
+     * @throws IllegalArgumentException wenn allowedOutliers negativ ist
+     */
+    public void setBudget(long bytesPerTick, long warmupTicks, long allowedOutliers) {
+        if (allowedOutliers < 0) {
+            throw new IllegalArgumentException("Ungültige Anzahl Ausreißer: " + allowedOutliers);
+        }
+        this.budget = bytesPerTick;
+        this.warmupTicks = warmupTicks;
+        this.allowedOutliers = allowedOutliers;
+    }
+
+    /**
+     * Vergisst alle Messwerte.
+     */
+    public void clear() {
+        tickNumber = 0;
+        clearRows();
+        classes.clear();
+    }
+
+    /**
+     * Setzt alle Messwerte auf 0, behält aber die Zeilen der Klassen
+     * (nach dem Aufwärmen soll der Tracker selbst nichts mehr anlegen).
+     */
+    private void clearRows() {
+        ticks.clear();
+        totalBytes = 0;
+        outliers = 0;
+        world.clear();
+        for (Row row : classes.values()) {
+            row.clear();
+        }
+    }
+
+    // ==================== MESSEN (von GameWorld) ====================
+
+    /**
+     * Addiert die Bytes von tick() eines Actors zu seiner Klasse.
+     */
+    void addActor(Class<?> type, long bytes) {
+        Row row = classes.get(type);
+        if (row == null) {
+            row = new Row(type.getSimpleName());
+            classes.put(type, row);
+        }
+        row.pending += bytes;
+    }
+
+    /**
+     * Addiert die Bytes der Welt selbst (GameWorld.update).
+     */
+    void addWorld(long bytes) {
+        world.pending += bytes;
+    }
+
+    /**
+     * Schließt einen Takt ab und zählt ihn, wenn er über dem Budget liegt.
+     * Am Ende der Aufwärm-Takte werden die bisherigen Messwerte verworfen.
+     *
+     * @param bytes Bytes des ganzen Takts
+     */
+    void endTick(long bytes) {
+        tickNumber++;
+        ticks.record(bytes);
+        totalBytes += bytes;
+        if (budget >= 0 && bytes > budget) {
+            outliers++;
+        }
+        world.flush();
+        for (Row row : classes.values()) {
+            row.flush();
+        }
+        if (tickNumber == warmupTicks) {
+            clearRows();
+        }
+    }
+
+    /**
+     * Prüft das Budget: Seit dem Aufwärmen darf kein Takt mehr Bytes
+     * angelegt haben als erlaubt, bis auf die erlaubten Ausreißer.
+     *
+     * @throws IllegalStateException wenn das Budget überschritten ist; die
+     *         Meldung nennt die Anzahl der Takte darüber, den größten Takt
+     *         und die Klasse mit den meisten Bytes
+     */
+    public void checkBudget() {
+        if (budget < 0 || tickNumber <= warmupTicks) {
+            return;
+        }
+        if (outliers > allowedOutliers) {
+            Row worst = world;
+            for (Row row : classes.values()) {
+                if (row.total > worst.total) {
+                    worst = row;
+                }
+            }
+            throw new IllegalStateException(outliers + " Takte über dem Budget von " + budget
+                    + " Bytes (erlaubt " + allowedOutliers + "), höchstens " + ticks.max()
+                    + " Bytes pro Takt, am meisten in " + worst.name + " ("
+                    + String.format(Locale.ROOT, "%.1f", (double) worst.total / ticks.count())
+                    + " Bytes pro Takt)");
+        }
+    }
+
+    // ==================== AUSWERTEN ====================
+
+    /**
+     * Gibt die Auswertung als Textzeilen zurück: Bytes pro Takt (Mittel,
+     * p99, Maximum) für den ganzen Takt, die Welt und jede Actor-Klasse.
+     *
+     * @return Zeilen für die Konsole
+     */
+    public List<String> report() {
+        long n = Math.max(1, ticks.count());
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-12s %10s %10s %10s", "Bytes/Takt", "Mittel", "p99", "max"));
+        lines.add(String.format(Locale.ROOT, "%-12s %10.1f %10d %10d", "Takt",
+                (double) totalBytes / n, ticks.percentile(REPORT_PERCENTILE), ticks.max()));
+        lines.add(line(world, n));
+        for (Row row : classes.values()) {
+            lines.add(line(row, n));
+        }
+        return lines;
+    }
+
+    /**
+     * Gibt die Anzahl der ausgewerteten Takte zurück.
+     *
+     * @return Anzahl Takte seit dem Einschalten bzw. seit dem Aufwärmen
+     */
+    public long getTicks() {
+        return ticks.count();
+    }
+
+    /**
+     * Gibt die Anzahl der Takte seit dem Aufwärmen zurück, die über dem
+     * Budget lagen.
+     *
+     * @return Anzahl Ausreißer (0 ohne Budget)
+     */
+    public long getOutliers() {
+        return outliers;
+    }
+
+    /**
+     * Gibt die meisten Bytes zurück, die ein Takt angelegt hat.
+     *
+     * @return Maximum seit dem Einschalten
+     */
+    public long getMaxBytesPerTick() {
+        return ticks.max();
+    }
+
+    /**
+     * Formatiert eine Zeile der Auswertung (ohne p99, nur Mittel und Maximum).
+     */
+    private static String line(Row row, long ticks) {
+        return String.format(Locale.ROOT, "%-12s %10.1f %10s %10d", row.name,
+                (double) row.total / ticks, "", row.max);
+    }
+
+    // ==================== LEVEL PRÜFEN ====================
+
+    /**
+     * Prüft, ob ein Level nach dem Aufwärmen im Budget bleibt. Das Level
+     * läuft ohne Fenster, ohne Tastatureingaben und ohne Schaden (siehe
+     * HeadlessRunner.setInvulnerable), damit kein Game Over in Level 1
+     * zurückführt. Verlässt der Lauf das Level trotzdem (z.B. Wind schiebt
+     * den Spieler ins Ziel), schlägt die Prüfung fehl: Gemessen wäre sonst
+     * eine andere Welt.
+     *
+     * @param level        Level-Nummer 1 bis 5
+     * @param bytesPerTick Erlaubte Bytes pro Takt
+     * @param warmupTicks  Takte vor der Prüfung
+     * @param checkTicks   Geprüfte Takte
+     * @return Der Tracker mit den Messwerten (für report())
+     * @throws IllegalStateException wenn das Level das Budget überschreitet
+     */
+    public static AllocationTracker checkLevel(int level, long bytesPerTick, long warmupTicks, long checkTicks) {
+        return checkLevel(level, bytesPerTick, warmupTicks, checkTicks, DEFAULT_ALLOWED_OUTLIERS);
+    }
+
+    /**
+     * Prüft, ob ein Level nach dem Aufwärmen im Budget bleibt, mit einer
+     * festgelegten Anzahl erlaubter Ausreißer.
+     *
+     * @param level           Level-Nummer 1 bis 5
+     * @param bytesPerTick    Erlaubte Bytes pro Takt
+     * @param warmupTicks     Takte vor der Prüfung
+     * @param checkTicks      Geprüfte Takte
+     * @param allowedOutliers Geprüfte Takte, die über dem Budget liegen dürfen
+     * @return Der Tracker mit den Messwerten (für report())
+     * @throws IllegalStateException wenn das Level das Budget überschreitet
+     *         oder vor dem Ende verlassen wird
+     */
+    public static AllocationTracker checkLevel(int level, long bytesPerTick, long warmupTicks, long checkTicks,
+            long allowedOutliers) {
+        HeadlessRunner runner = new HeadlessRunner(KeyScript.NONE);
+        AllocationTracker tracker = runner.getAllocations();
+        if (!isSupported()) {
+            throw new IllegalStateException("Die JVM zählt keine angelegten Bytes pro Thread");
+        }
+        runner.setInvulnerable(true);
+        tracker.setEnabled(true);
+        tracker.setBudget(bytesPerTick, warmupTicks, allowedOutliers);
+        Supplier<? extends GameWorld> factory = LevelRegistry.factory(level);
+        long done = runner.run(factory, warmupTicks + checkTicks);
+        if (runner.getWorldChanges() != 0 || done < warmupTicks + checkTicks) {
+            throw new IllegalStateException("Level " + level + " nach " + done + " von "
+                    + (warmupTicks + checkTicks) + " Takten verlassen ("
+                    + runner.getWorldChanges() + " Weltwechsel), die Messung gilt nicht für dieses Level");
+        }
+        tracker.checkBudget();
+        return tracker;
+    }
+
+    /**
+     * Gibt den Zähler der JVM zurück, falls sie das Zählen unterstützt.
+     */
+    private static com.sun.management.ThreadMXBean threads() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    // ==================== KOMMANDOZEILE ====================
+
+    /**
+     * Prüft ein Level gegen ein Budget und gibt die Auswertung aus.
+     * Bei einer Überschreitung endet das Programm mit Exit-Code 1.
+     *
+     * Argumente:
+     * - args[0]: Level-Nummer 1 bis 5 (Standard: 1)
+     * - args[1]: Erlaubte Bytes pro Takt (Standard: 0)
+     * - args[2]: Aufwärm-Takte (Standard: DEFAULT_WARMUP_TICKS)
+     * - args[3]: Geprüfte Takte (Standard: DEFAULT_CHECK_TICKS)
+     * - args[4]: Erlaubte Ausreißer (Standard: DEFAULT_ALLOWED_OUTLIERS)
+     *
+     * @param args Kommandozeilen-Argumente
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int level = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        long warmup = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_WARMUP_TICKS;
+        long check = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_CHECK_TICKS;
+        long outliers = args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_ALLOWED_OUTLIERS;
+        try {
+            AllocationTracker tracker = checkLevel(level, budget, warmup, check, outliers);
+            System.out.printf(Locale.ROOT,
+                    "Level %d: %d Takte im Budget von %d Bytes pro Takt (höchstens %d, %d Ausreißer)%n",
+                    level, tracker.getTicks(), budget, tracker.getMaxBytesPerTick(), tracker.getOutliers());
+            for (String line : tracker.report()) {
+                System.out.println(line);
+            }
+        } catch (IllegalStateException e) {
+            System.out.println("Level " + level + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+
+/**
+ * Benchmark - Misst die Laufzeit der wichtigsten Spielabläufe in allen Leveln.
+ *
+ * Jede Optimierung soll mit Zahlen begründet und überprüft werden. Dieser
+ * Benchmark baut jedes Level ohne Fenster auf (im HeadlessRunner) und misst
+ * für jeden Ablauf die Zeit pro Aufruf (ns/op) und den dabei angelegten
+ * Speicher (B/op).
+ *
+ * Gemessene Abläufe pro Level:
+ * - Takt:            Ein ganzer Takt (Welt und alle Actors) im gemessenen
+ *                    Level; zwischen den Durchgängen wird der Startzustand
+ *                    wiederhergestellt
+ * - Player.tick:     Steuerung, Zonen und Kollisionen des Spielers
+ * - BlueDot/GreenDot: Ein Eintrag im OscillatorBatch (bewegt alle Pendler)
+ * - Pulsar, RandomWalker, Strider, Shooter, Follower: tick() eines Gegners
+ * - Projektile:      Ein Projektil im BulletSystem bewegen (256 Projektile)
+ * - Wand-Abfrage:    WallMap-Test für das Rechteck eines Actors
+ * - Gegner-Abfrage:  SpatialGrid-Test "berührt dieser Actor einen Gegner?"
+ * - Snapshot/Restore: Zustand der Welt speichern bzw. wiederherstellen
+ *
+ * Ablauf einer Messung (wie bei JMH):
+ * 1. Aufwärmen: Mehrere Durchgänge, damit die JVM den Code übersetzt.
+ *    Dabei wird auch die Anzahl Aufrufe pro Zeitmessung festgelegt.
+ * 2. Messen: Mehrere Durchgänge fester Dauer; Ergebnis ist der Mittelwert.
+ *    Wechselt während eines Durchgangs die Welt, wird er verworfen und
+ *    wiederholt, damit jede Zahl nur für ihr Level gilt.
+ * 3. Speicher: Über den ThreadMXBean der JVM (angelegte Bytes dieses Threads,
+ *    siehe AllocationTracker.allocatedBytes).
+ *
+ * Start von der Kommandozeile (greenfoot.jar muss im Klassenpfad liegen):
+ * <pre>
+ * java -Djava.awt.headless=true -cp greenfoot.jar:. Benchmark        (alle Level)
+ * java -Djava.awt.headless=true -cp greenfoot.jar:. Benchmark 3 4    (nur Level 3 und 4)
+ * </pre>
+ *
+ * Für wiederholbare Zahlen laufen alle Level mit HeadlessRunner.DEFAULT_SEED.
+ * Der Spieler ist dabei unverwundbar (HeadlessRunner.setInvulnerable):
+ * Ein Game Over würde sonst zu Level 1 wechseln, und die Messung enthielte
+ * den Levelwechsel statt des Levels.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class Benchmark {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Anzahl Aufwärm-Durchgänge */
+    private static final int WARMUP_ITERATIONS = 5;
+
+    /** Anzahl Mess-Durchgänge */
+    private static final int MEASURE_ITERATIONS = 10;
+
+    /** Höchstens so viele Mess-Durchgänge, wenn Durchgänge verworfen werden */
+    private static final int MAX_MEASURE_ATTEMPTS = 3 * MEASURE_ITERATIONS;
+
+    /** Dauer eines Durchgangs in Nanosekunden (100 ms) */
+    private static final long ITERATION_NANOS = 100_000_000L;
+
+    /** Mindestdauer einer einzelnen Zeitmessung in Nanosekunden (1 ms) */
+    private static final long MIN_BATCH_NANOS = 1_000_000L;
+
+    /** Anzahl Projektile für die Projektil-Messung */
+    private static final int BULLET_COUNT = 256;
+
+    /** Anzahl Takte, die ein Level vor den Messungen läuft */
+    private static final int SETTLE_TICKS = 300;
+
+    /**
+     * Senke für die Ergebnisse reiner Abfragen (wie Blackhole bei JMH):
+     * Liest niemand das Ergebnis, darf der JIT die Abfrage ganz weglassen,
+     * und die Messung zeigt nur noch die leere Schleife.
+     */
+    private static volatile int sink;
+
+    // ==================== ERGEBNIS ====================
+
+    /**
+     * Ergebnis einer Messung.
+     */
+    public static final class Result {
+
+        /** Name des Levels (z.B. "Level 3") */
+        public final String level;
+
+        /** Name des Ablaufs (z.B. "Player.tick") */
+        public final String name;
+
+        /** Mittlere Zeit pro Aufruf in Nanosekunden */
+        public final double nsPerOp;
+
+        /** Standardabweichung der Zeit pro Aufruf über die Durchgänge */
+        public final double nsError;
+
+        /** Angelegter Speicher pro Aufruf in Bytes (-1 = nicht messbar) */
+        public final double bytesPerOp;
+
+        Result(String level, String name, double nsPerOp, double nsError, double bytesPerOp) {
+            this.level = level;
+            this.name = name;
+            this.nsPerOp = nsPerOp;
+            this.nsError = nsError;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        @Override
+        public String toString() {
+            String bytes = bytesPerOp < 0 ? "-" : String.format(Locale.ROOT, "%.1f", bytesPerOp);
+            return String.format(Locale.ROOT, "%-8s %-18s %12.1f +- %-8.1f %10s", level, name, nsPerOp, nsError, bytes);
+        }
+    }
+
+    // ==================== MESSEN ====================
+
+    /**
+     * Misst einen Ablauf.
+     *
+     * @param level      Name des Levels
+     * @param name       Name des Ablaufs
+     * @param opsPerCall Anzahl Operationen, die ein Aufruf von op ausführt
+     *                   (z.B. Anzahl Gegner, deren tick() aufgerufen wird)
+     * @param op         Der gemessene Ablauf
+     * @param between    Wird zwischen den Durchgängen aufgerufen (nicht gemessen), oder null
+     * @return Das Ergebnis
+     */
+    public static Result measure(String level, String name, int opsPerCall, Runnable op, Runnable between) {
+        return measure(level, name, opsPerCall, op, between, null);
+    }
+
+    /**
+     * Misst einen Ablauf und verwirft jeden Durchgang, in dem sich ein
+     * Zähler geändert hat (z.B. die Weltwechsel eines HeadlessRunners).
+     * Verworfene Durchgänge werden wiederholt, höchstens bis
+     * MAX_MEASURE_ATTEMPTS Durchgänge gelaufen sind.
+     *
+     * @param level      Name des Levels
+     * @param name       Name des Ablaufs
+     * @param opsPerCall Anzahl Operationen, die ein Aufruf von op ausführt
+     * @param op         Der gemessene Ablauf
+     * @param between    Wird nach jedem Durchgang aufgerufen (nicht gemessen), oder null
+     * @param changes    Zähler, der sich in einem gültigen Durchgang nicht ändert, oder null
+     * @return Das Ergebnis (Mittelwert der gültigen Durchgänge)
+     * @throws IllegalStateException wenn kein Durchgang gültig war
+     */
+    public static Result measure(String level, String name, int opsPerCall, Runnable op, Runnable between,
+                                 IntSupplier changes) {
+        // === Aufwärmen und Anzahl Aufrufe pro Zeitmessung festlegen ===
+        int batch = 1;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            long end = System.nanoTime() + ITERATION_NANOS;
+            while (System.nanoTime() < end) {
+                long start = System.nanoTime();
+                for (int k = 0; k < batch; k++) {
+                    op.run();
+                }
+                if (System.nanoTime() - start < MIN_BATCH_NANOS && batch < (1 << 24)) {
+                    batch *= 2;
+                }
+            }
+            if (between != null) {
+                between.run();
+            }
+        }
+
+        // === Messen ===
+        double[] nsPerOp = new double[MEASURE_ITERATIONS];
+        int valid = 0;
+        long totalOps = 0;
+        long totalBytes = 0;
+        boolean bytesKnown = true;
+        for (int i = 0; i < MAX_MEASURE_ATTEMPTS && valid < MEASURE_ITERATIONS; i++) {
+            int changesBefore = changes != null ? changes.getAsInt() : 0;
+            long bytesBefore = AllocationTracker.allocatedBytes();
+            long calls = 0;
+            long start = System.nanoTime();
+            long now = start;
+            while (now - start < ITERATION_NANOS) {
+                for (int k = 0; k < batch; k++) {
+                    op.run();
+                }
+                calls += batch;
+                now = System.nanoTime();
+            }
+            long bytesAfter = AllocationTracker.allocatedBytes();
+            if (changes == null || changes.getAsInt() == changesBefore) {
+                long ops = calls * opsPerCall;
+                nsPerOp[valid++] = (double) (now - start) / ops;
+                totalOps += ops;
+                if (bytesBefore < 0 || bytesAfter < 0) {
+                    bytesKnown = false;
+                } else {
+                    totalBytes += bytesAfter - bytesBefore;
+                }
+            }
+            if (between != null) {
+                between.run();
+            }
+        }
+        if (valid == 0) {
+            throw new IllegalStateException(level + ", " + name + ": Welt in jedem Durchgang gewechselt");
+        }
+
+        double mean = 0;
+        for (int i = 0; i < valid; i++) {
+            mean += nsPerOp[i];
+        }
+        mean /= valid;
+        double var = 0;
+        for (int i = 0; i < valid; i++) {
+            var += (nsPerOp[i] - mean) * (nsPerOp[i] - mean);
+        }
+        double error = Math.sqrt(var / Math.max(1, valid - 1));
+        double bytesPerOp = bytesKnown ? (double) totalBytes / totalOps : -1;
+        return new Result(level, name, mean, error, bytesPerOp);
+    }
+
+    // ==================== LEVEL MESSEN ====================
+
+    /**
+     * Misst alle Abläufe eines Levels.
+     *
+     * @param level Level-Nummer 1 bis 5
+     * @return Ergebnisse in der Reihenfolge der Messung
+     */
+    public static List<Result> runLevel(int level) {
+        HeadlessRunner runner = new HeadlessRunner(KeyScript.NONE);
+        runner.setInvulnerable(true);
+        return runner.call(() -> {
+            GameWorld world = (GameWorld) HeadlessRunner.levelFactory(level).get();
+            String label = "Level " + level;
+            List<Result> results = new ArrayList<>();
+            IntSupplier changes = () -> Game.getInterruptions(runner);
+
+            // Spieler zuerst messen, solange ihn noch kein Gegner erreicht hat
+            Player player = world.getPlayer();
+            if (player != null) {
+                results.add(measure(label, "Player.tick", 1, player::tick, null));
+            }
+
+            // Ganzer Takt: Immer in dieser Welt; nach jedem Durchgang geht es
+            // vom Startzustand aus weiter (ungemessen)
+            tick(world);
+            WorldSnapshot start = world.snapshot();
+            results.add(measure(label, "Takt", 1, () -> tick(world), () -> world.restore(start), changes));
+            world.restore(start);
+
+            // Level kurz laufen lassen, damit Gegner und Projektile unterwegs sind
+            for (int i = 0; i < SETTLE_TICKS; i++) {
+                tick(world);
+            }
+            Runnable clearBullets = () -> world.getBullets().clear();
+
+            OscillatorBatch horizontal = world.getOscillators(false);
+            if (horizontal.size() > 0) {
+                results.add(measure(label, "BlueDot", horizontal.size(),
+                    () -> horizontal.update(world.getWallMap(), world.getWidth(), world.getHeight()), null));
+            }
+            OscillatorBatch vertical = world.getOscillators(true);
+            if (vertical.size() > 0) {
+                results.add(measure(label, "GreenDot", vertical.size(),
+                    () -> vertical.update(world.getWallMap(), world.getWidth(), world.getHeight()), null));
+            }
+
+            addTicks(results, label, world, Pulsar.class, null);
+            addTicks(results, label, world, RandomWalker.class, null);
+            addTicks(results, label, world, Strider.class, null);
+            addTicks(results, label, world, Shooter.class, clearBullets);
+            addTicks(results, label, world, Follower.class, null);
+
+            results.add(measureBullets(label, world));
+
+            List<GameActor> movers = new ArrayList<>();
+            for (GameActor a : world.getObjects(GameActor.class)) {
+                if (!(a instanceof Wall)) {
+                    movers.add(a);
+                }
+            }
+            if (!movers.isEmpty()) {
+                WallMap walls = world.getWallMap();
+                results.add(measure(label, "Wand-Abfrage", movers.size(), () -> {
+                    int hits = 0;
+                    for (GameActor a : movers) {
+                        if (walls.intersects(a.left(), a.top(), a.right(), a.bottom())) {
+                            hits++;
+                        }
+                    }
+                    sink = hits;
+                }, null));
+                SpatialGrid grid = world.getGrid();
+                results.add(measure(label, "Gegner-Abfrage", movers.size(), () -> {
+                    int hits = 0;
+                    for (GameActor a : movers) {
+                        if (grid.any(a, Enemy.class)) {
+                            hits++;
+                        }
+                    }
+                    sink = hits;
+                }, null));
+            }
+
+            // Zustand der ganzen Welt speichern und wiederherstellen
+            WorldSnapshot snapshot = world.snapshot();
+            results.add(measure(label, "Snapshot", 1, () -> snapshot.capture(world), null));
+            results.add(measure(label, "Restore", 1, () -> world.restore(snapshot), null));
+            return results;
+        });
+    }
+
+    /**
+     * Misst tick() aller Actors einer Klasse (falls es im Level welche gibt).
+     */
+    private static void addTicks(List<Result> results, String label, GameWorld world,
+                                 Class<? extends GameActor> cls, Runnable between) {
+        List<? extends GameActor> actors = world.getObjects(cls);
+        if (actors.isEmpty()) {
+            return;
+        }
+        results.add(measure(label, cls.getName() + ".tick", actors.size(), () -> {
+            for (GameActor a : actors) {
+                a.tick();
+            }
+        }, between));
+    }
+
+    /**
+     * Misst das Bewegen von Projektilen auf der WallMap des Levels.
+     * Entfernte Projektile werden sofort ersetzt, damit immer gleich viele
+     * unterwegs sind.
+     */
+    private static Result measureBullets(String label, GameWorld world) {
+        BulletSystem bullets = new BulletSystem();
+        Rng random = new Rng(HeadlessRunner.DEFAULT_SEED);
+        int w = world.getWidth();
+        int h = world.getHeight();
+        WallMap walls = world.getWallMap();
+        Runnable refill = () -> {
+            while (bullets.size() < BULLET_COUNT) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                bullets.spawn(1 + random.nextInt(w - 2), 1 + random.nextInt(h - 2),
+                    (float) (Math.cos(angle) * BulletSystem.DEFAULT_SPEED),
+                    (float) (Math.sin(angle) * BulletSystem.DEFAULT_SPEED));
+            }
+        };
+        refill.run();
+        return measure(label, "Projektile", BULLET_COUNT, () -> {
+            bullets.update(walls, w, h);
+            refill.run();
+        }, null);
+    }
+
+    /**
+     * Führt einen Takt aus (wie der HeadlessRunner, aber immer in derselben Welt).
+     */
+    private static void tick(GameWorld world) {
+        world.step();
+    }
+
+    // ==================== KOMMANDOZEILE ====================
+
+    /**
+     * Misst die angegebenen Level (ohne Argumente: alle) und gibt eine Tabelle aus.
+     *
+     * @param args Level-Nummern
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        List<Integer> levels = new ArrayList<>();
+        for (String arg : args) {
+            levels.add(Integer.parseInt(arg));
+        }
+        if (levels.isEmpty()) {
+            for (int i = 1; i <= 5; i++) {
+                levels.add(i);
+            }
+        }
+
+        System.out.printf("%-8s %-18s %24s %10s%n", "Level", "Ablauf", "ns/op", "B/op");
+        for (int level : levels) {
+            for (Result result : runLevel(level)) {
+                System.out.println(result);
+            }
+        }
+    }
+}
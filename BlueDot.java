@@ -38,6 +38,9 @@ public class BlueDot extends Enemy {
      */
     private int speed;
     
+    /** Soll die Geschwindigkeit beim Hinzufügen zufällig gewählt werden? */
+    private boolean randomSpeed;
+    
     // ==================== KONSTRUKTOREN ====================
     
     /**
@@ -46,7 +49,8 @@ public class BlueDot extends Enemy {
      * @param minX  Linke Grenze des Bewegungsbereichs (X-Koordinate)
      * @param maxX  Rechte Grenze des Bewegungsbereichs (X-Koordinate)
      * @param speed Geschwindigkeit in Pixeln pro Takt.
-     *              Wenn speed <= 0, wird eine zufällige Geschwindigkeit zwischen 1 und 5 gewählt.
+     *              Wenn speed <= 0, wird beim Hinzufügen zur Welt eine zufällige
+     *              Geschwindigkeit zwischen 1 und 5 gewählt.
      *              Empfohlene Werte: 1 (langsam), 2-3 (mittel), 4-5 (schnell)
      */
     public BlueDot(int minX, int maxX, int speed) {
@@ -54,12 +58,11 @@ public class BlueDot extends Enemy {
         this.maxX = maxX;
         
         // Bei speed <= 0: Zufällige Geschwindigkeit zwischen 1 und 5
-        // Dies sorgt für Variation und macht das Spiel interessanter
-        if (speed <= 0) {
-            this.speed = Greenfoot.getRandomNumber(5) + 1;
-        } else {
-            this.speed = speed;
-        }
+        // Dies sorgt für Variation und macht das Spiel interessanter.
+        // Gewählt wird erst in addedToWorld(), weil der Zufallsstrom
+        // aus dem Seed der Welt abgeleitet wird.
+        this.randomSpeed = speed <= 0;
+        this.speed = speed;
     }
     
     /**
@@ -74,11 +77,39 @@ public class BlueDot extends Enemy {
         this(120, 480, speed);
     }
     
+    // ==================== LIFECYCLE-METHODEN ====================
+    
+    /**
+     * Wird einmalig aufgerufen, wenn der BlueDot zur Welt hinzugefügt wird.
+     * 
+     * Wurde keine Geschwindigkeit vorgegeben, wird sie jetzt aus dem eigenen
+     * Zufallsstrom gewählt (1 bis 5).
+     * 
+     * In einer GameWorld trägt sich der BlueDot in den horizontalen
+     * OscillatorBatch ein. Die Welt bewegt dann alle BlueDots gemeinsam
+     * in einer Schleife, und tick() hat nichts mehr zu tun.
+     * 
+     * @param w Die Welt, zu der der BlueDot hinzugefügt wurde
+     */
+    @Override
+    protected void addedToWorld(World w) {
+        if (randomSpeed) {
+            speed = random().nextInt(5) + 1;
+            randomSpeed = false;
+        }
+        if (w instanceof GameWorld) {
+            ((GameWorld) w).getOscillators(false).add(this, minX, maxX, speed);
+        }
+    }
+    
     // ==================== BEWEGUNGSLOGIK ====================
     
     /**
      * Wird in jedem Spieltakt aufgerufen und steuert die Bewegung des BlueDots.
      * 
+     * Ist der BlueDot in einem OscillatorBatch eingetragen, übernimmt die
+     * GameWorld die Bewegung und diese Methode kehrt sofort zurück.
+     * 
      * Ablauf:
      * 1. Bewege den BlueDot um 'speed' Pixel nach links oder rechts
      * 2. Prüfe, ob die Bewegungsgrenzen (minX/maxX) erreicht wurden
@@ -87,7 +118,11 @@ public class BlueDot extends Enemy {
      * 5. Wenn Wand berührt: Position zurücksetzen und Richtung umkehren
      */
     @Override
-    public void act() {
+    public void tick() {
+        if (oscillatorIndex >= 0) {
+            return;
+        }
+        
         // === SCHRITT 1: Bewegung ausführen ===
         // dx speichert die aktuelle Bewegung für spätere Korrektur
         int dx = speed;
@@ -113,11 +148,34 @@ public class BlueDot extends Enemy {
         
         // === SCHRITT 3: Wandkollision prüfen ===
         // Wenn der BlueDot eine Wand berührt, muss er zurückprallen
-        if (!getIntersectingObjects(Wall.class).isEmpty()) {
+        if (isTouchingWall()) {
             // Bewegung rückgängig machen (zurück zur Position vor der Kollision)
             bounceBack(dx, 0);
             // Richtung umkehren
             speed = -speed;
         }
     }
+    
+    // ==================== SNAPSHOT ====================
+    
+    /**
+     * Speichert Geschwindigkeit und Richtung (siehe WorldSnapshot).
+     * Im OscillatorBatch speichert der Batch diese Werte selbst.
+     * 
+     * @param out Ziel-Snapshot
+     */
+    @Override
+    protected void saveState(WorldSnapshot out) {
+        out.writeInt(speed);
+    }
+    
+    /**
+     * Stellt Geschwindigkeit und Richtung wieder her.
+     * 
+     * @param in Quell-Snapshot
+     */
+    @Override
+    protected void loadState(WorldSnapshot in) {
+        speed = in.readInt();
+    }
 }
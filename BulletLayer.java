@@ -0,0 +1,73 @@
+import greenfoot.*;
+
+/**
+ * BulletLayer - Zeichnet alle Projektile einer Welt in einem Durchgang.
+ *
+ * Die Projektile sind keine eigenen Actors mehr (siehe BulletSystem).
+ * Damit sie trotzdem sichtbar sind, legt die GameWorld diese durchsichtige
+ * Ebene über die ganze Welt. Bei jedem Bild wird ihr Bild geleert und jedes
+ * Projektil als kleines Bild hineingezeichnet, und zwar anteilig zwischen
+ * seiner Position vor und nach dem letzten Takt (siehe GameWorld.act).
+ *
+ * Die Ebene ist absichtlich kein GameActor: Sie nimmt nicht an
+ * Kollisionsabfragen teil und steht nicht im SpatialGrid.
+ *
+ * Das Bild eines Projektils ist das Klassenbild der BulletLayer
+ * (class.BulletLayer.image in project.greenfoot); die Ebene selbst zeigt
+ * danach ihr eigenes, durchsichtiges Bild.
+ *
+ * Im Headless-Betrieb wird die Ebene gar nicht erst angelegt.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class BulletLayer extends Actor {
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Bild eines Projektils (aus dem SpriteCache, für alle Projektile verwendet) */
+    private final GreenfootImage sprite;
+
+    /** Bild der ganzen Ebene (so groß wie die Welt) */
+    private final GreenfootImage canvas;
+
+    /** Wurden beim letzten Zeichnen Projektile gezeichnet? */
+    private boolean hasContent;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt eine leere Ebene in der Größe der Welt.
+     *
+     * @param width  Breite der Welt in Pixeln
+     * @param height Höhe der Welt in Pixeln
+     */
+    public BulletLayer(int width, int height) {
+        // Vor setImage: getImage() ist hier noch das Klassenbild
+        sprite = SpriteCache.get(this, BulletSystem.SIZE, BulletSystem.SIZE);
+        canvas = new GreenfootImage(width, height);
+        setImage(canvas);
+    }
+
+    // ==================== ZEICHNEN ====================
+
+    /**
+     * Zeichnet alle lebenden Projektile neu.
+     * Gibt es weder jetzt noch beim letzten Mal Projektile, passiert nichts.
+     *
+     * @param bullets Das BulletSystem der Welt
+     * @param alpha   Anteil des nächsten Takts, der schon vergangen ist (0 bis 1)
+     */
+    public void render(BulletSystem bullets, float alpha) {
+        int n = bullets.size();
+        if (n == 0 && !hasContent) {
+            return;
+        }
+        canvas.clear();
+        int half = BulletSystem.SIZE / 2;
+        for (int i = 0; i < n; i++) {
+            canvas.drawImage(sprite, bullets.getDrawX(i, alpha) - half, bullets.getDrawY(i, alpha) - half);
+        }
+        hasContent = n > 0;
+    }
+}
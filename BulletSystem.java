@@ -0,0 +1,368 @@
+import java.util.Arrays;
+
+/**
+ * BulletSystem - Verwaltet alle Projektile einer Welt in einfachen Arrays.
+ *
+ * Früher war jedes Projektil ein eigener Actor: Jeder Schuss legte ein neues
+ * Objekt an, fügte es mit addObject() zur Welt hinzu, und jedes Projektil
+ * prüfte in seinem eigenen act() den Weltrand und die Wände. Bei vielen
+ * Projektilen (Bullet-Hell-Muster) wird das schnell zu langsam.
+ *
+ * Das BulletSystem speichert stattdessen alle Projektile in parallelen
+ * Arrays (x, y, dx, dy). Ein Takt ist eine einzige Schleife über diese
+ * Arrays. Ein Schuss schreibt nur vier Zahlen in die Arrays und legt kein
+ * Objekt an (die Arrays wachsen nur, wenn sie voll sind).
+ *
+ * Verhalten eines Projektils (wie beim früheren Bullet-Actor):
+ * - Fliegt geradeaus mit fester Geschwindigkeit (dx, dy pro Takt)
+ * - Verschwindet am Weltrand
+ * - Verschwindet bei Wandkontakt (Prüfung über die WallMap)
+ * - Trifft den Spieler, wenn sich die Rechtecke überlappen
+ *
+ * Schnelle Projektile (mehr als SIZE Pixel pro Takt) werden entlang ihres
+ * Wegs geprüft (siehe Sweep): Sie fliegen weder durch dünne Wände noch
+ * zwischen zwei Takten durch den Spieler hindurch. Langsamere Projektile
+ * werden wie bisher nur an ihrer neuen Position geprüft.
+ *
+ * Lebende Projektile stehen immer lückenlos an den Indizes 0 bis size()-1.
+ * Beim Entfernen rücken die folgenden Projektile nach; die Reihenfolge
+ * bleibt dabei erhalten.
+ *
+ * Bei sehr vielen Projektilen wird die Bewegung über ParallelTick auf
+ * mehrere Kerne verteilt. Das Zusammenrücken läuft danach sequenziell,
+ * das Ergebnis ist deshalb dasselbe wie bei der sequenziellen Berechnung.
+ *
+ * Verwendung:
+ * <pre>
+ * // Im Shooter: Projektil nach unten abfeuern
+ * BulletSystem bullets = ((GameWorld) getWorld()).getBullets();
+ * bullets.spawn(getX(), getY(), 0, BulletSystem.DEFAULT_SPEED);
+ *
+ * // Im Player: Von einem Projektil getroffen?
+ * if (bullets.hits(left(), top(), right(), bottom())) {
+ *     loseLife();
+ * }
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class BulletSystem {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Standard-Geschwindigkeit eines Projektils in Pixeln pro Takt */
+    public static final int DEFAULT_SPEED = 5;
+
+    /** Kantenlänge eines Projektils in Pixeln (wie das Klassenbild der BulletLayer) */
+    public static final int SIZE = 20;
+
+    /** Halbe Kantenlänge (Abstand vom Mittelpunkt zur linken/oberen Kante) */
+    private static final int HALF = SIZE / 2;
+
+    /** Anfangskapazität der Arrays */
+    private static final int INITIAL_CAPACITY = 64;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Positionen (Mittelpunkt) */
+    private float[] x, y;
+
+    /** Bewegung pro Takt */
+    private float[] dx, dy;
+
+    /** Positionen vor dem letzten Takt (bei neuen Projektilen der Startpunkt) */
+    private float[] lastX, lastY;
+
+    /** Ergebnis der parallelen Planung: bleibt das Projektil erhalten? */
+    private boolean[] keep;
+
+    /** Anzahl lebender Projektile */
+    private int count;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt ein leeres BulletSystem.
+     */
+    public BulletSystem() {
+        x = new float[INITIAL_CAPACITY];
+        y = new float[INITIAL_CAPACITY];
+        dx = new float[INITIAL_CAPACITY];
+        dy = new float[INITIAL_CAPACITY];
+        lastX = new float[INITIAL_CAPACITY];
+        lastY = new float[INITIAL_CAPACITY];
+        keep = new boolean[INITIAL_CAPACITY];
+    }
+
+    // ==================== PROJEKTILE ERZEUGEN ====================
+
+    /**
+     * Fügt ein neues Projektil hinzu.
+     *
+     * @param startX X-Koordinate des Startpunkts (Mittelpunkt)
+     * @param startY Y-Koordinate des Startpunkts (Mittelpunkt)
+     * @param moveX  Bewegung in X-Richtung pro Takt
+     * @param moveY  Bewegung in Y-Richtung pro Takt
+     */
+    public void spawn(float startX, float startY, float moveX, float moveY) {
+        if (count == x.length) {
+            grow();
+        }
+        x[count] = startX;
+        y[count] = startY;
+        dx[count] = moveX;
+        dy[count] = moveY;
+        lastX[count] = startX;
+        lastY[count] = startY;
+        count++;
+    }
+
+    /**
+     * Entfernt alle Projektile (z.B. beim Neustart eines Levels).
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Schreibt alle Projektile in einen Snapshot.
+     *
+     * @param out Ziel-Snapshot
+     */
+    void save(WorldSnapshot out) {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeFloat(x[i]);
+            out.writeFloat(y[i]);
+            out.writeFloat(dx[i]);
+            out.writeFloat(dy[i]);
+            out.writeFloat(lastX[i]);
+            out.writeFloat(lastY[i]);
+        }
+    }
+
+    /**
+     * Ersetzt alle Projektile durch die aus einem Snapshot.
+     *
+     * @param in Quell-Snapshot
+     */
+    void load(WorldSnapshot in) {
+        int n = in.readInt();
+        while (x.length < n) {
+            grow();
+        }
+        for (int i = 0; i < n; i++) {
+            x[i] = in.readFloat();
+            y[i] = in.readFloat();
+            dx[i] = in.readFloat();
+            dy[i] = in.readFloat();
+            lastX[i] = in.readFloat();
+            lastY[i] = in.readFloat();
+        }
+        count = n;
+    }
+
+    /**
+     * Verdoppelt die Kapazität aller Arrays.
+     */
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        dx = Arrays.copyOf(dx, capacity);
+        dy = Arrays.copyOf(dy, capacity);
+        lastX = Arrays.copyOf(lastX, capacity);
+        lastY = Arrays.copyOf(lastY, capacity);
+        keep = Arrays.copyOf(keep, capacity);
+    }
+
+    // ==================== TAKT ====================
+
+    /**
+     * Bewegt alle Projektile um einen Takt weiter.
+     *
+     * Projektile, die den Weltrand erreichen oder eine Wand berühren,
+     * werden entfernt. Die übrigen rücken in den Arrays zusammen.
+     *
+     * @param walls  WallMap der Welt
+     * @param width  Breite der Welt in Pixeln
+     * @param height Höhe der Welt in Pixeln
+     */
+    public void update(WallMap walls, int width, int height) {
+        if (ParallelTick.isParallel(count)) {
+            updateParallel(walls, width, height);
+            return;
+        }
+        int maxX = width - 1;
+        int maxY = height - 1;
+        int alive = 0;
+        for (int i = 0; i < count; i++) {
+            float nx = x[i] + dx[i];
+            float ny = y[i] + dy[i];
+            int px = (int) nx;
+            int py = (int) ny;
+
+            // Weltrand erreicht: Projektil entfernen
+            if (px <= 0 || px >= maxX || py <= 0 || py >= maxY) {
+                continue;
+            }
+            // Wand getroffen (auch unterwegs): Projektil entfernen
+            if (hitsWall(walls, i, px, py)) {
+                continue;
+            }
+            lastX[alive] = x[i];
+            lastY[alive] = y[i];
+            x[alive] = nx;
+            y[alive] = ny;
+            dx[alive] = dx[i];
+            dy[alive] = dy[i];
+            alive++;
+        }
+        count = alive;
+    }
+
+    /**
+     * Wie update(), aber in zwei Phasen für sehr viele Projektile.
+     *
+     * Phase 1 (parallel): Jedes Projektil bewegt sich auf seinem eigenen
+     * Array-Platz und merkt sich in keep[], ob es erhalten bleibt.
+     * Phase 2 (sequenziell): Die erhaltenen Projektile rücken in der
+     * ursprünglichen Reihenfolge zusammen.
+     */
+    private void updateParallel(WallMap walls, int width, int height) {
+        // Summentabelle vor dem Aufteilen aufbauen, danach wird sie nur noch gelesen
+        walls.isEmpty();
+        ParallelTick.forRange(count, (from, to) -> move(walls, from, to, width - 1, height - 1));
+
+        int alive = 0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                lastX[alive] = lastX[i];
+                lastY[alive] = lastY[i];
+                x[alive] = x[i];
+                y[alive] = y[i];
+                dx[alive] = dx[i];
+                dy[alive] = dy[i];
+                alive++;
+            }
+        }
+        count = alive;
+    }
+
+    /**
+     * Bewegt die Projektile from bis to-1 und prüft Weltrand und Wände
+     * (Phase 1 von updateParallel).
+     */
+    private void move(WallMap walls, int from, int to, int maxX, int maxY) {
+        for (int i = from; i < to; i++) {
+            float nx = x[i] + dx[i];
+            float ny = y[i] + dy[i];
+            int px = (int) nx;
+            int py = (int) ny;
+            keep[i] = px > 0 && px < maxX && py > 0 && py < maxY
+                && !hitsWall(walls, i, px, py);
+            lastX[i] = x[i];
+            lastY[i] = y[i];
+            x[i] = nx;
+            y[i] = ny;
+        }
+    }
+
+    /**
+     * Prüft, ob Projektil i auf dem Weg von seiner aktuellen Position zum
+     * Pixel (px, py) eine Wand berührt. Bei normaler Geschwindigkeit ist
+     * das eine einzige Abfrage am Ziel (siehe WallMap.sweep).
+     */
+    private boolean hitsWall(WallMap walls, int i, int px, int py) {
+        int ox = (int) x[i];
+        int oy = (int) y[i];
+        return walls.sweep(ox - HALF, oy - HALF, ox - HALF + SIZE, oy - HALF + SIZE, px - ox, py - oy);
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Prüft, ob mindestens ein Projektil ein Rechteck überlappt
+     * (z.B. das Bild-Rechteck des Spielers).
+     *
+     * Schnelle Projektile zählen auch, wenn sie im letzten Takt durch das
+     * Rechteck hindurchgeflogen sind.
+     *
+     * @param left   Linke Kante
+     * @param top    Obere Kante
+     * @param right  Rechte Kante (ausschließlich)
+     * @param bottom Untere Kante (ausschließlich)
+     * @return true, wenn ein Projektil das Rechteck trifft
+     */
+    public boolean hits(int left, int top, int right, int bottom) {
+        // Mittelpunkt muss im um die halbe Projektilgröße erweiterten Rechteck liegen
+        int l = left - SIZE + HALF;
+        int t = top - SIZE + HALF;
+        int r = right + HALF;
+        int b = bottom + HALF;
+        for (int i = 0; i < count; i++) {
+            int px = (int) x[i];
+            int py = (int) y[i];
+            if (px > l && px < r && py > t && py < b) {
+                return true;
+            }
+            if ((Math.abs(dx[i]) > SIZE || Math.abs(dy[i]) > SIZE)
+                    && Sweep.segmentHitsBox((int) lastX[i], (int) lastY[i], px, py, l, t, r, b)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gibt die Anzahl lebender Projektile zurück.
+     *
+     * @return Anzahl Projektile
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gibt die X-Koordinate (Pixel) eines Projektils zurück.
+     *
+     * @param i Index zwischen 0 und size()-1
+     * @return X-Koordinate des Mittelpunkts
+     */
+    public int getX(int i) {
+        return (int) x[i];
+    }
+
+    /**
+     * Gibt die Y-Koordinate (Pixel) eines Projektils zurück.
+     *
+     * @param i Index zwischen 0 und size()-1
+     * @return Y-Koordinate des Mittelpunkts
+     */
+    public int getY(int i) {
+        return (int) y[i];
+    }
+
+    /**
+     * Gibt die X-Koordinate zum Zeichnen zwischen zwei Takten zurück.
+     *
+     * @param i     Index zwischen 0 und size()-1
+     * @param alpha Anteil des nächsten Takts, der schon vergangen ist (0 bis 1)
+     * @return X-Koordinate zwischen der Position vor und nach dem letzten Takt
+     */
+    public int getDrawX(int i, float alpha) {
+        return (int) (lastX[i] + (x[i] - lastX[i]) * alpha);
+    }
+
+    /**
+     * Gibt die Y-Koordinate zum Zeichnen zwischen zwei Takten zurück.
+     *
+     * @param i     Index zwischen 0 und size()-1
+     * @param alpha Anteil des nächsten Takts, der schon vergangen ist (0 bis 1)
+     * @return Y-Koordinate zwischen der Position vor und nach dem letzten Takt
+     */
+    public int getDrawY(int i, float alpha) {
+        return (int) (lastY[i] + (y[i] - lastY[i]) * alpha);
+    }
+}
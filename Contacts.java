@@ -0,0 +1,157 @@
+import greenfoot.*;
+
+/**
+ * Contacts - Alle Berührungen eines Actors aus einem einzigen Durchgang.
+ *
+ * Der Player hat früher in jedem Takt sechs einzelne Abfragen gestellt:
+ * WindZones, InvertZone, Wand, Gegner, Projektil und Ziel. Jede davon ist
+ * für sich durch die Rasterzellen um den Player gelaufen.
+ *
+ * Jetzt sammelt GameActor.findContacts() alles in einem Durchgang:
+ * - Wand:        über die WallMap
+ * - Projektil:   über das BulletSystem
+ * - alle übrigen Actors: ein Durchgang durch das SpatialGrid; jeder
+ *   berührte Actor trägt sich selbst ein (GameActor.addContactTo), z.B.
+ *   ein Enemy als ENEMY oder eine WindZone mit ihrer Windstärke
+ *
+ * Das Ergebnis ist eine Bitmaske der Kontaktarten plus die Summe der
+ * Windstärken. Ein Contacts-Objekt wird vom Actor gehalten und in jedem
+ * Takt wiederverwendet; es wird nichts angelegt.
+ *
+ * Neue Arten von Objekten brauchen keine eigene Abfrage: Sie überschreiben
+ * addContactTo() und tragen eine vorhandene oder neue Kontaktart ein.
+ *
+ * <pre>
+ * findContacts(contacts);
+ * if (contacts.has(Contacts.ENEMY)) {
+ *     loseLife();
+ * }
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class Contacts {
+
+    // ==================== KONTAKTARTEN ====================
+
+    /** Berührt eine Wand */
+    public static final int WALL = 1;
+
+    /** Berührt einen Gegner */
+    public static final int ENEMY = 1 << 1;
+
+    /** Wird von einem Projektil getroffen */
+    public static final int BULLET = 1 << 2;
+
+    /** Berührt das Ziel */
+    public static final int TARGET = 1 << 3;
+
+    /** Steht in mindestens einer WindZone */
+    public static final int WIND = 1 << 4;
+
+    /** Steht in einer InvertZone */
+    public static final int INVERT = 1 << 5;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Gefundene Kontaktarten */
+    private int mask;
+
+    /** Summe der Windstärken aller berührten WindZones */
+    private int windDx, windDy;
+
+    /** Welt und Position, an der gesammelt wurde */
+    private World world;
+    private int x, y;
+
+    // ==================== EINTRAGEN ====================
+
+    /**
+     * Leert die Kontakte vor einem neuen Durchgang.
+     *
+     * @param world Welt des Durchgangs
+     * @param x     X-Koordinate des fragenden Actors
+     * @param y     Y-Koordinate des fragenden Actors
+     */
+    void begin(World world, int x, int y) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        mask = 0;
+        windDx = 0;
+        windDy = 0;
+    }
+
+    /**
+     * Trägt eine Kontaktart ein.
+     *
+     * @param kind Kontaktart (z.B. ENEMY)
+     */
+    public void add(int kind) {
+        mask |= kind;
+    }
+
+    /**
+     * Trägt eine berührte WindZone ein. Mehrere WindZones addieren sich.
+     *
+     * @param dx Windstärke in X-Richtung
+     * @param dy Windstärke in Y-Richtung
+     */
+    public void addWind(int dx, int dy) {
+        mask |= WIND;
+        windDx += dx;
+        windDy += dy;
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Prüft, ob eine Kontaktart gefunden wurde.
+     *
+     * @param kind Kontaktart (z.B. WALL)
+     * @return true, wenn es mindestens einen solchen Kontakt gibt
+     */
+    public boolean has(int kind) {
+        return (mask & kind) != 0;
+    }
+
+    /**
+     * Gibt alle gefundenen Kontaktarten zurück.
+     *
+     * @return Bitmaske (WALL, ENEMY, ...)
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Gibt die Summe der Windstärken in X-Richtung zurück.
+     *
+     * @return Verschiebung in Pixeln pro Takt
+     */
+    public int getWindDx() {
+        return windDx;
+    }
+
+    /**
+     * Gibt die Summe der Windstärken in Y-Richtung zurück.
+     *
+     * @return Verschiebung in Pixeln pro Takt
+     */
+    public int getWindDy() {
+        return windDy;
+    }
+
+    /**
+     * Prüft, ob die Kontakte an der aktuellen Position eines Actors
+     * gesammelt wurden (gleiche Welt, gleiche Position).
+     *
+     * @param actor Der Actor
+     * @return true, wenn sich der Actor seitdem nicht bewegt hat
+     */
+    public boolean isAt(Actor actor) {
+        World w = actor.getWorld();
+        return w != null && w == world && actor.getX() == x && actor.getY() == y;
+    }
+}
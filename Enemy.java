@@ -24,7 +24,15 @@ import greenfoot.*;
  * @author Felix Krusch
  * @version 2.0
  */
-public class Enemy extends Actor {
+public class Enemy extends GameActor {
+    
+    // ==================== BATCH-VERWALTUNG ====================
+    // Dieses Feld wird ausschließlich vom OscillatorBatch verwendet.
+    
+    /** Index im OscillatorBatch der Welt (-1 = nicht eingetragen) */
+    int oscillatorIndex = -1;
+    
+    // ==================== HILFSMETHODEN ====================
     
     /**
      * Bewegt den Gegner um die angegebene Distanz rückwärts.
@@ -39,7 +47,7 @@ public class Enemy extends Actor {
      * setLocation(getX() + 5, getY());
      * 
      * // Wandkollision erkannt
-     * if (!getIntersectingObjects(Wall.class).isEmpty()) {
+     * if (isTouchingWall()) {
      *     bounceBack(5, 0);  // Bewegung rückgängig machen
      *     speed = -speed;     // Richtung umkehren
      * }
@@ -67,14 +75,15 @@ public class Enemy extends Actor {
                getY() <= 0 || getY() >= getWorld().getHeight() - 1;
     }
     
+    // ==================== KONTAKTE ====================
+    
     /**
-     * Prüft, ob der Gegner mit einer Wand kollidiert.
-     * 
-     * Diese Hilfsmethode vereinfacht die Kollisionserkennung für abgeleitete Klassen.
+     * Meldet sich als Gegner, wenn ein Actor Kontakte sammelt.
      * 
-     * @return true, wenn der Gegner eine Wand berührt, sonst false
+     * @param contacts Kontakte des fragenden Actors
      */
-    protected boolean isTouchingWall() {
-        return !getIntersectingObjects(Wall.class).isEmpty();
+    @Override
+    protected void addContactTo(Contacts contacts) {
+        contacts.add(Contacts.ENEMY);
     }
 }
@@ -0,0 +1,339 @@
+import java.util.Arrays;
+
+/**
+ * FlowField - Gemeinsame Wegkarte zum Spieler für alle Follower.
+ *
+ * Früher lief jeder Follower auf direktem Weg zum Spieler und blieb stehen,
+ * sobald eine Wand dazwischen lag. Das FlowField teilt die Welt stattdessen
+ * in ein Raster aus kleinen Zellen und berechnet mit einer Breitensuche
+ * (BFS) für jede Zelle den kürzesten Weg zur Zelle des Spielers. Jede Zelle
+ * speichert danach nur noch die Richtung zur nächsten Zelle auf diesem Weg.
+ *
+ * Eigenschaften:
+ * - Eine Zelle ist begehbar, wenn ein Follower mittig in dieser Zelle keine
+ *   Wand berührt (geprüft über die WallMap)
+ * - 8 Nachbarn; diagonal nur, wenn beide angrenzenden Zellen begehbar sind
+ *   (keine Abkürzung über Wandecken)
+ * - Neu berechnet wird nur, wenn der Spieler die Zelle wechselt oder sich
+ *   die Wände ändern. Sonst kostet ein Takt nichts.
+ * - Abfrage der Richtung in konstanter Zeit, egal wie viele Follower es gibt
+ *
+ * Verwendung:
+ * <pre>
+ * FlowField field = gameWorld.getFlowField(hitWidth(), hitHeight());
+ * field.update(gameWorld.getWallMap(), player.getX(), player.getY());
+ * if (field.isReachable(getX(), getY())) {
+ *     int dx = field.getDirX(getX(), getY());
+ *     int dy = field.getDirY(getX(), getY());
+ * }
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class FlowField {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Kantenlänge einer Zelle in Pixeln */
+    public static final int CELL_SIZE = 10;
+
+    /** Markierung für nicht erreichbare Zellen */
+    private static final int UNREACHABLE = -1;
+
+    /** Nachbarn: zuerst die vier geraden, dann die vier diagonalen Richtungen */
+    private static final int[] NEIGHBOR_DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] NEIGHBOR_DY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Anzahl Spalten und Zeilen des Rasters */
+    private final int cols, rows;
+
+    /** Größe des Actors, für den die Begehbarkeit berechnet wird */
+    private final int agentWidth, agentHeight;
+
+    /** Begehbarkeit jeder Zelle */
+    private final boolean[] passable;
+
+    /** Anzahl Schritte bis zur Zielzelle (UNREACHABLE = kein Weg) */
+    private final int[] distance;
+
+    /** Richtung zur nächsten Zelle auf dem Weg (-1, 0 oder 1) */
+    private final byte[] dirX, dirY;
+
+    /** Warteschlange der Breitensuche (wird wiederverwendet) */
+    private final int[] queue;
+
+    /** Aktuelle Zielzelle (-1 = noch nie berechnet) */
+    private int targetCell = -1;
+
+    /** Version der WallMap, für die die Begehbarkeit berechnet wurde */
+    private int wallVersion = -1;
+
+    /** Anzahl der bisherigen Neuberechnungen (für Messungen) */
+    private int recomputes;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt eine leere Wegkarte für eine Welt und eine Actor-Größe.
+     *
+     * @param worldWidth  Breite der Welt in Pixeln
+     * @param worldHeight Höhe der Welt in Pixeln
+     * @param agentWidth  Breite des Actors (z.B. Follower) in Pixeln
+     * @param agentHeight Höhe des Actors in Pixeln
+     */
+    public FlowField(int worldWidth, int worldHeight, int agentWidth, int agentHeight) {
+        this.cols = (worldWidth + CELL_SIZE - 1) / CELL_SIZE;
+        this.rows = (worldHeight + CELL_SIZE - 1) / CELL_SIZE;
+        this.agentWidth = agentWidth;
+        this.agentHeight = agentHeight;
+        int cells = cols * rows;
+        passable = new boolean[cells];
+        distance = new int[cells];
+        dirX = new byte[cells];
+        dirY = new byte[cells];
+        queue = new int[cells];
+    }
+
+    // ==================== BERECHNUNG ====================
+
+    /**
+     * Bringt die Wegkarte auf den neuesten Stand.
+     *
+     * Hat sich weder die Zelle des Ziels noch die WallMap geändert,
+     * passiert nichts. Deshalb dürfen alle Follower diese Methode in jedem
+     * Takt aufrufen.
+     *
+     * @param walls   WallMap der Welt
+     * @param targetX X-Koordinate des Ziels (Spieler)
+     * @param targetY Y-Koordinate des Ziels (Spieler)
+     * @return true, wenn neu berechnet wurde
+     */
+    public boolean update(WallMap walls, int targetX, int targetY) {
+        int target = cellAt(targetX, targetY);
+        boolean wallsChanged = walls.getVersion() != wallVersion;
+        if (target == targetCell && !wallsChanged) {
+            return false;
+        }
+        if (wallsChanged) {
+            computePassable(walls);
+        }
+        targetCell = target;
+        search(target);
+        recomputes++;
+        return true;
+    }
+
+    /**
+     * Prüft für jede Zelle, ob ein Actor mittig in der Zelle eine Wand berührt.
+     */
+    private void computePassable(WallMap walls) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int left = centerX(col) - agentWidth / 2;
+                int top = centerY(row) - agentHeight / 2;
+                passable[row * cols + col] =
+                    !walls.intersects(left, top, left + agentWidth, top + agentHeight);
+            }
+        }
+        wallVersion = walls.getVersion();
+    }
+
+    /**
+     * Breitensuche von der Zielzelle aus. Danach zeigt jede erreichbare
+     * Zelle auf einen Nachbarn, der einen Schritt näher am Ziel liegt.
+     */
+    private void search(int target) {
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(dirX, (byte) 0);
+        Arrays.fill(dirY, (byte) 0);
+
+        // Die Zielzelle gilt immer als erreichbar, auch wenn der Spieler
+        // gerade dicht an einer Wand steht
+        int head = 0;
+        int tail = 0;
+        distance[target] = 0;
+        queue[tail++] = target;
+
+        int targetCol = target % cols;
+        int targetRow = target / cols;
+        while (head < tail) {
+            int cell = queue[head++];
+            int col = cell % cols;
+            int row = cell / cols;
+            for (int k = 0; k < NEIGHBOR_DX.length; k++) {
+                int nc = col + NEIGHBOR_DX[k];
+                int nr = row + NEIGHBOR_DY[k];
+                if (!canStep(col, row, nc, nr)) {
+                    continue;
+                }
+                int next = nr * cols + nc;
+                if (distance[next] != UNREACHABLE) {
+                    // Gleich weit entfernt: die Richtung nehmen, die besser zum Ziel zeigt
+                    if (distance[next] == distance[cell] + 1
+                            && alignment(nc, nr, -NEIGHBOR_DX[k], -NEIGHBOR_DY[k], targetCol, targetRow)
+                               > alignment(nc, nr, dirX[next], dirY[next], targetCol, targetRow)) {
+                        dirX[next] = (byte) -NEIGHBOR_DX[k];
+                        dirY[next] = (byte) -NEIGHBOR_DY[k];
+                    }
+                    continue;
+                }
+                distance[next] = distance[cell] + 1;
+                dirX[next] = (byte) -NEIGHBOR_DX[k];
+                dirY[next] = (byte) -NEIGHBOR_DY[k];
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob man von einer Zelle direkt in eine Nachbarzelle gehen kann.
+     * Diagonale Schritte sind nur erlaubt, wenn beide angrenzenden geraden
+     * Nachbarn begehbar sind.
+     */
+    private boolean canStep(int col, int row, int nc, int nr) {
+        if (nc < 0 || nr < 0 || nc >= cols || nr >= rows || !passable[nr * cols + nc]) {
+            return false;
+        }
+        if (nc != col && nr != row) {
+            return passable[row * cols + nc] && passable[nr * cols + col];
+        }
+        return true;
+    }
+
+    /**
+     * Bewertet, wie gut eine Schrittrichtung von einer Zelle aus zum Ziel zeigt
+     * (Skalarprodukt, größer = besser).
+     */
+    private static int alignment(int col, int row, int dx, int dy, int targetCol, int targetRow) {
+        return dx * (targetCol - col) + dy * (targetRow - row);
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Prüft, ob es von dieser Position aus einen Weg zum Ziel gibt.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return true, wenn die Zelle erreichbar ist
+     */
+    public boolean isReachable(int x, int y) {
+        return distance[cellAt(x, y)] != UNREACHABLE;
+    }
+
+    /**
+     * Prüft, ob diese Position in derselben Zelle wie das Ziel liegt.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return true in der Zielzelle
+     */
+    public boolean isAtTarget(int x, int y) {
+        return cellAt(x, y) == targetCell;
+    }
+
+    /**
+     * Gibt die Anzahl Zellen-Schritte bis zum Ziel zurück.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return Anzahl Schritte oder -1, wenn kein Weg existiert
+     */
+    public int getDistance(int x, int y) {
+        return distance[cellAt(x, y)];
+    }
+
+    /**
+     * Gibt die X-Richtung zur nächsten Zelle auf dem Weg zurück.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return -1 (links), 0 oder 1 (rechts)
+     */
+    public int getDirX(int x, int y) {
+        return dirX[cellAt(x, y)];
+    }
+
+    /**
+     * Gibt die Y-Richtung zur nächsten Zelle auf dem Weg zurück.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return -1 (oben), 0 oder 1 (unten)
+     */
+    public int getDirY(int x, int y) {
+        return dirY[cellAt(x, y)];
+    }
+
+    /**
+     * Gibt die X-Koordinate der Zellmitte der nächsten Zelle auf dem Weg zurück.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return X-Koordinate, auf die ein Actor zusteuern sollte
+     */
+    public int nextX(int x, int y) {
+        int cell = cellAt(x, y);
+        return centerX(cell % cols + dirX[cell]);
+    }
+
+    /**
+     * Gibt die Y-Koordinate der Zellmitte der nächsten Zelle auf dem Weg zurück.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return Y-Koordinate, auf die ein Actor zusteuern sollte
+     */
+    public int nextY(int x, int y) {
+        int cell = cellAt(x, y);
+        return centerY(cell / cols + dirY[cell]);
+    }
+
+    /**
+     * Gibt zurück, wie oft die Wegkarte bisher berechnet wurde.
+     *
+     * @return Anzahl Neuberechnungen
+     */
+    public int getRecomputes() {
+        return recomputes;
+    }
+
+    /**
+     * Prüft, ob diese Wegkarte für eine Actor-Größe berechnet ist.
+     *
+     * @param width  Breite des Actors
+     * @param height Höhe des Actors
+     * @return true, wenn die Größe übereinstimmt
+     */
+    public boolean fits(int width, int height) {
+        return width == agentWidth && height == agentHeight;
+    }
+
+    // ==================== HILFSMETHODEN ====================
+
+    /**
+     * Rechnet eine Pixelposition in einen Zellindex um (am Rand begrenzt).
+     */
+    private int cellAt(int x, int y) {
+        int col = Math.max(0, Math.min(cols - 1, x / CELL_SIZE));
+        int row = Math.max(0, Math.min(rows - 1, y / CELL_SIZE));
+        return row * cols + col;
+    }
+
+    /**
+     * X-Koordinate der Mitte einer Spalte.
+     */
+    private static int centerX(int col) {
+        return col * CELL_SIZE + CELL_SIZE / 2;
+    }
+
+    /**
+     * Y-Koordinate der Mitte einer Zeile.
+     */
+    private static int centerY(int row) {
+        return row * CELL_SIZE + CELL_SIZE / 2;
+    }
+}
@@ -10,9 +10,9 @@ import java.util.List;
  * 
  * Bewegungsverhalten:
  * - Bewegt sich in jedem Takt einen Schritt auf den Spieler zu
- * - Berechnet Richtung zum Spieler (horizontal und vertikal)
- * - Kann diagonal laufen (wenn Spieler diagonal ist)
- * - Stoppt bei Wandkollision (kann nicht durch Wände)
+ * - Folgt dabei dem kürzesten Weg um Wände herum (FlowField der Welt)
+ * - Kann diagonal laufen (wenn der Weg diagonal verläuft)
+ * - Rutscht an Wänden entlang, statt sofort stehen zu bleiben
  * - Langsame Geschwindigkeit (step=1) macht ihn vermeidbar
  * 
  * Strategische Bedeutung:
@@ -23,8 +23,11 @@ import java.util.List;
  * - Gut für offene Bereiche
  * 
  * Besonderheiten:
- * - Einfache KI: Bewegt sich direkt auf Spieler zu (kein Pathfinding)
- * - Kann in Sackgassen stecken bleiben (wenn Wand zwischen Follower und Spieler)
+ * - Wegfindung über das FlowField der GameWorld: Alle Follower teilen sich
+ *   eine Wegkarte, die nur neu berechnet wird, wenn der Spieler die Zelle
+ *   wechselt. Hundert Follower kosten pro Takt kaum mehr als einer.
+ * - Gibt es keinen Weg (oder keine GameWorld), läuft er wie früher direkt
+ *   auf den Spieler zu
  * - Langsame Geschwindigkeit ist Balance-Entscheidung (sonst zu schwer)
  * 
  * Verwendung in Leveln:
@@ -57,71 +60,87 @@ public class Follower extends Enemy {
      * Ablauf:
      * 1. Spieler-Objekt in der Welt finden
      * 2. Wenn kein Spieler vorhanden: Nichts tun
-     * 3. Alte Position speichern (für Kollisionskorrektur)
-     * 4. Richtung zum Spieler berechnen (horizontal und vertikal)
-     * 5. In Richtung Spieler bewegen
-     * 6. Bei Wandkollision: Zurück zur alten Position
-     * 
-     * Richtungsberechnung:
-     * - Wenn Spieler links ist: dx = -step (nach links)
-     * - Wenn Spieler rechts ist: dx = +step (nach rechts)
-     * - Wenn Spieler oben ist: dy = -step (nach oben)
-     * - Wenn Spieler unten ist: dy = +step (nach unten)
-     * - Beide Richtungen können gleichzeitig aktiv sein (diagonal)
+     * 3. Zielpunkt bestimmen: Mitte der nächsten Zelle auf dem Weg
+     *    (oder direkt der Spieler, wenn es keinen Weg gibt)
+     * 4. Einen Schritt auf den Zielpunkt zu machen
+     * 5. Bei Wandkollision: Nur waagerecht oder nur senkrecht versuchen,
+     *    sonst zurück zur alten Position
      */
     @Override
-    public void act() {
+    public void tick() {
         // === SCHRITT 1: Spieler finden ===
-        List<Player> players = getWorld().getObjects(Player.class);
+        Player player = findPlayer();
         
         // === SCHRITT 2: Kein Spieler vorhanden? ===
         // Dies kann passieren, wenn der Spieler gerade entfernt wurde
         // oder das Level neu geladen wird
-        if (players.isEmpty()) {
+        if (player == null) {
             return;
         }
         
-        // === SCHRITT 3: Spieler-Objekt holen ===
-        Player player = players.get(0);
+        // === SCHRITT 3: Zielpunkt bestimmen ===
+        int targetX = player.getX();
+        int targetY = player.getY();
+        if (getWorld() instanceof GameWorld) {
+            GameWorld world = (GameWorld) getWorld();
+            FlowField field = world.getFlowField(hitWidth(), hitHeight());
+            field.update(world.getWallMap(), targetX, targetY);
+            int x = getX();
+            int y = getY();
+            if (field.isReachable(x, y) && !field.isAtTarget(x, y)) {
+                targetX = field.nextX(x, y);
+                targetY = field.nextY(x, y);
+            }
+        }
         
-        // === SCHRITT 4: Alte Position speichern ===
+        // === SCHRITT 4: Bewegung ausführen ===
+        int dx = Integer.signum(targetX - getX()) * step;
+        int dy = Integer.signum(targetY - getY()) * step;
+        moveAlongWalls(dx, dy);
+    }
+    
+    /**
+     * Sucht den Spieler. In einer GameWorld ist er dort gespeichert,
+     * sonst wird er wie früher über getObjects() gesucht.
+     * 
+     * @return Der Spieler oder null
+     */
+    private Player findPlayer() {
+        if (getWorld() instanceof GameWorld) {
+            return ((GameWorld) getWorld()).getPlayer();
+        }
+        List<Player> players = getWorld().getObjects(Player.class);
+        return players.isEmpty() ? null : players.get(0);
+    }
+    
+    /**
+     * Bewegt den Follower und rutscht an Wänden entlang.
+     * 
+     * Berührt der Follower nach dem Schritt eine Wand, wird zuerst nur der
+     * waagerechte, dann nur der senkrechte Teil des Schritts versucht.
+     * Geht beides nicht, bleibt er an der alten Position.
+     * 
+     * @param dx Bewegung in X-Richtung
+     * @param dy Bewegung in Y-Richtung
+     */
+    private void moveAlongWalls(int dx, int dy) {
         int xOld = getX();
         int yOld = getY();
         
-        // === SCHRITT 5: Richtung zum Spieler berechnen ===
-        int dx = 0;  // Bewegung in X-Richtung
-        int dy = 0;  // Bewegung in Y-Richtung
-        
-        // Horizontale Richtung
-        if (player.getX() < getX()) {
-            // Spieler ist links vom Follower
-            dx = -step;
-        }
-        if (player.getX() > getX()) {
-            // Spieler ist rechts vom Follower
-            dx = step;
-        }
-        // Wenn player.getX() == getX(), bleibt dx = 0 (keine horizontale Bewegung)
-        
-        // Vertikale Richtung
-        if (player.getY() < getY()) {
-            // Spieler ist über dem Follower
-            dy = -step;
-        }
-        if (player.getY() > getY()) {
-            // Spieler ist unter dem Follower
-            dy = step;
+        setLocation(xOld + dx, yOld + dy);
+        if (!isTouchingWall()) {
+            return;
         }
-        // Wenn player.getY() == getY(), bleibt dy = 0 (keine vertikale Bewegung)
-        
-        // === SCHRITT 6: Bewegung ausführen ===
-        setLocation(getX() + dx, getY() + dy);
-        
-        // === SCHRITT 7: Wandkollision prüfen ===
-        // Wenn der Follower eine Wand berührt, wird er zurückgesetzt
-        // Dies verhindert, dass er durch Wände läuft
-        if (!getIntersectingObjects(Wall.class).isEmpty()) {
-            setLocation(xOld, yOld);
+        if (dx != 0 && dy != 0) {
+            setLocation(xOld + dx, yOld);
+            if (!isTouchingWall()) {
+                return;
+            }
+            setLocation(xOld, yOld + dy);
+            if (!isTouchingWall()) {
+                return;
+            }
         }
+        setLocation(xOld, yOld);
     }
 }
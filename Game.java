@@ -0,0 +1,216 @@
+import greenfoot.*;
+
+/**
+ * Game - Zentrale Zugriffsstelle auf die Laufzeitumgebung.
+ *
+ * Die Spielklassen rufen Tastatur, Sound und Weltwechsel nicht mehr direkt
+ * über Greenfoot auf, sondern über diese Klasse. Im normalen Spiel wird
+ * jeder Aufruf unverändert an Greenfoot weitergegeben. Läuft auf dem
+ * aktuellen Thread ein HeadlessRunner, übernimmt dieser die Aufrufe:
+ *
+ * - isKeyDown:  Antwort kommt aus dem KeyScript des Runners
+ *               (Spieltasten werden einmal pro Takt über Input eingelesen)
+ * - playSound:  Im Headless-Betrieb stumm (kein Sound); sonst über den
+ *               SoundManager auf dessen eigenem Audio-Thread
+ * - setWorld:   Der Runner wechselt seine eigene Welt
+ * - stop:       Der Runner beendet die Simulation
+ * - Seeds:      Der Runner liefert die Seeds für neue Welten (wiederholbar)
+ *
+ * Dadurch laufen Player, alle Gegner und alle Level ohne Fenster,
+ * ohne Neuzeichnen und ohne Sound, aber mit exakt derselben Spiellogik.
+ *
+ * Verwendungsbeispiel:
+ * <pre>
+ * // Statt Greenfoot.isKeyDown("left"):
+ * if (Game.isKeyDown("left")) {
+ *     setLocation(getX() - step, getY());
+ * }
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class Game {
+
+    /** Liefert die Seeds für neue Welten im normalen Spiel */
+    private static Rng worldSeeds = new Rng(System.nanoTime());
+
+    /** Anzahl Weltwechsel, Abbrüche und Stopps im normalen Spiel (siehe getInterruptions) */
+    private static int interruptions;
+
+    /**
+     * Keine Instanzen: Die Klasse bietet nur statische Methoden an.
+     */
+    private Game() {
+    }
+
+    // ==================== EINGABE ====================
+
+    /**
+     * Prüft, ob eine Taste gedrückt ist.
+     *
+     * Spieltasten (Pfeiltasten, "1" bis "5") kommen aus der Bitmaske, die
+     * Input zu Beginn des Takts eingelesen hat. Läuft gerade eine
+     * Wiedergabe, stammen sie aus der Aufnahme.
+     *
+     * @param key Name der Taste (z.B. "left", "right", "1")
+     * @return true, wenn die Taste gedrückt ist
+     */
+    public static boolean isKeyDown(String key) {
+        return Input.current().isDown(key);
+    }
+
+    /**
+     * Prüft, ob eine Spieltaste in diesem Takt neu gedrückt wurde.
+     * Solange die Taste gehalten wird, liefern die folgenden Takte false.
+     *
+     * @param key Name der Taste (z.B. "1")
+     * @return true nur im ersten Takt des Tastendrucks
+     */
+    public static boolean isKeyPressed(String key) {
+        return Input.current().isPressed(key);
+    }
+
+    /**
+     * Fragt eine Taste direkt ab, ohne Umweg über Input
+     * (Tastatur bzw. KeyScript des HeadlessRunners).
+     *
+     * @param key Name der Taste
+     * @return true, wenn die Taste gerade gedrückt ist
+     */
+    static boolean readKey(String key) {
+        HeadlessRunner runner = HeadlessRunner.current();
+        if (runner != null) {
+            return runner.isKeyDown(key);
+        }
+        return Greenfoot.isKeyDown(key);
+    }
+
+    // ==================== SOUND ====================
+
+    /**
+     * Spielt eine Sound-Datei ab. Im Headless-Betrieb passiert nichts.
+     *
+     * Der Sound wird nur beim SoundManager angefordert und auf dessen
+     * Audio-Thread gestartet; der Takt wartet nicht darauf. Wiederholungen
+     * kurz hintereinander (z.B. an der Wand) werden zusammengefasst.
+     *
+     * @param file Name der Sound-Datei im sounds-Ordner (z.B. "hit_wall.mp3")
+     */
+    public static void playSound(String file) {
+        if (isHeadless()) {
+            return;
+        }
+        SoundManager.play(file);
+    }
+
+    // ==================== WELT-STEUERUNG ====================
+
+    /**
+     * Wechselt zur angegebenen Welt.
+     *
+     * @param world Die neue Welt (z.B. new Level2())
+     */
+    public static void setWorld(World world) {
+        HeadlessRunner runner = HeadlessRunner.current();
+        if (runner != null) {
+            runner.setWorld(world);
+        } else {
+            interruptions++;
+            Greenfoot.setWorld(world);
+        }
+    }
+
+    /**
+     * Hält das Spiel an (z.B. nach dem Sieg in Level 5).
+     */
+    public static void stop() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        if (runner != null) {
+            runner.stop();
+        } else {
+            interruptions++;
+            Greenfoot.stop();
+        }
+    }
+
+    /**
+     * Beendet den laufenden Takt, ohne die Welt zu wechseln. Die übrigen
+     * Actors dieses Takts handeln nicht mehr (z.B. nachdem GameWorld.reset
+     * die Welt mitten im Takt zurückgesetzt hat).
+     */
+    static void interrupt() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        if (runner != null) {
+            runner.interrupt();
+        } else {
+            interruptions++;
+        }
+    }
+
+    /**
+     * Zählt Weltwechsel, Abbrüche (interrupt) und Stopps. Ändert sich der
+     * Wert während eines Takts, dürfen die übrigen Actors nicht mehr
+     * handeln (siehe GameWorld.step).
+     *
+     * @param runner Der Runner des aktuellen Threads (oder null im normalen Spiel)
+     * @return Zähler, der bei jedem Weltwechsel, Abbruch und Stopp wächst
+     */
+    static int getInterruptions(HeadlessRunner runner) {
+        if (runner != null) {
+            return runner.getInterruptions();
+        }
+        return interruptions;
+    }
+
+    /**
+     * Gibt an, ob Treffer den Spieler Leben kosten. Nur ein HeadlessRunner
+     * kann den Schaden ausschalten (siehe HeadlessRunner.setInvulnerable).
+     *
+     * @return true, wenn der Spieler gerade unverwundbar ist
+     */
+    public static boolean isInvulnerable() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        return runner != null && runner.isInvulnerable();
+    }
+
+    /**
+     * Gibt an, ob das Spiel gerade ohne Fenster im HeadlessRunner läuft.
+     *
+     * @return true im Headless-Betrieb, false im normalen Spiel
+     */
+    public static boolean isHeadless() {
+        return HeadlessRunner.current() != null;
+    }
+
+    // ==================== ZUFALL ====================
+
+    /**
+     * Liefert den Seed für eine neue GameWorld.
+     *
+     * Im Headless-Betrieb kommt der Seed vom Runner, sodass ein Lauf mit
+     * demselben Runner-Seed immer dieselben Welten erzeugt. Im normalen
+     * Spiel ist der Seed zufällig, außer er wurde mit setSeed() festgelegt.
+     *
+     * @return Seed für die nächste Welt
+     */
+    public static long nextWorldSeed() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        if (runner != null) {
+            return runner.nextWorldSeed();
+        }
+        synchronized (Game.class) {
+            return worldSeeds.nextLong();
+        }
+    }
+
+    /**
+     * Legt die Seeds aller folgenden Welten im normalen Spiel fest
+     * (z.B. um einen Fehler reproduzierbar nachzuspielen).
+     *
+     * @param seed Startwert
+     */
+    public static synchronized void setSeed(long seed) {
+        worldSeeds = new Rng(seed);
+    }
+}
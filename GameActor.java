@@ -0,0 +1,468 @@
+import greenfoot.*;
+import java.util.List;
+
+/**
+ * GameActor - Gemeinsame Basisklasse für alle Actors des Spiels.
+ *
+ * Alle Spielfiguren (Player, Gegner, Projektile, Wände und Zonen) erben von
+ * dieser Klasse. Sie sorgt dafür, dass jeder Actor im SpatialGrid seiner
+ * GameWorld eingetragen bleibt, und bietet schnelle Kollisionsabfragen an,
+ * die nur die Actors in der Nähe prüfen.
+ *
+ * Takt:
+ * Unterklassen überschreiben tick() statt act(). Greenfoot ruft act() so
+ * oft auf, wie gezeichnet wird; die GameWorld ruft tick() dagegen in einem
+ * festen Zeittakt auf (siehe GameWorld.act). So hängt das Spieltempo nicht
+ * vom Geschwindigkeitsregler oder von Rucklern ab.
+ *
+ * Kollisionsabfragen:
+ * <pre>
+ * // Statt !getIntersectingObjects(Wall.class).isEmpty():
+ * if (isIntersecting(Wall.class)) {
+ *     setLocation(xOld, yOld);
+ * }
+ *
+ * // Wandkollision über die vorberechnete WallMap:
+ * if (isTouchingWall()) {
+ *     setLocation(xOld, yOld);
+ * }
+ *
+ * // Alle berührten WindZones in eine wiederverwendbare Liste sammeln:
+ * collectIntersecting(WindZone.class, windZones);
+ * </pre>
+ *
+ * Zufall:
+ * <pre>
+ * // Statt Greenfoot.getRandomNumber(4):
+ * int direction = random().nextInt(4);
+ * </pre>
+ *
+ * Bild-Rechteck:
+ * Wie in Greenfoot ist die Position der Mittelpunkt des Bildes. Das
+ * Rechteck reicht von (x - Breite/2, y - Höhe/2) bis ausschließlich
+ * (x - Breite/2 + Breite, y - Höhe/2 + Höhe).
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public abstract class GameActor extends Actor {
+
+    // ==================== RASTER-VERWALTUNG ====================
+    // Diese Felder werden ausschließlich vom SpatialGrid verwendet.
+
+    /** Ist der Actor gerade im Raster eingetragen? */
+    boolean gridRegistered;
+
+    /** Überdeckter Zellbereich im Raster */
+    int gridMinCol, gridMaxCol, gridMinRow, gridMaxRow;
+
+    /** Nummer der letzten Abfrage, die diesen Actor gefunden hat */
+    int gridStamp;
+
+    // ==================== ZUFALL ====================
+
+    /** Eigener Zufallsstrom (wird beim ersten Gebrauch angelegt) */
+    private Rng random;
+
+    /**
+     * Gibt den eigenen Zufallsstrom dieses Actors zurück.
+     *
+     * In einer GameWorld wird der Strom beim ersten Aufruf aus dem Seed der
+     * Welt abgeleitet. Damit ist der Ablauf bei gleichem Seed wiederholbar,
+     * und kein Actor teilt sich einen Generator mit einem anderen.
+     *
+     * @return Zufallsgenerator dieses Actors
+     */
+    protected Rng random() {
+        if (random == null) {
+            World world = getWorld();
+            if (world instanceof GameWorld) {
+                random = ((GameWorld) world).newRandom();
+            } else {
+                random = new Rng(Game.nextWorldSeed());
+            }
+        }
+        return random;
+    }
+
+    // ==================== TAKT ====================
+
+    /** Größere Sprünge pro Takt (Teleport, Neustart) werden nicht interpoliert */
+    private static final int MAX_DRAW_STEP = 32;
+
+    /** Position zu Beginn des letzten Takts (setzt die GameWorld, zum Zeichnen) */
+    int tickStartX, tickStartY;
+
+    /** Wird der Actor gerade an einer Zwischenposition gezeichnet? */
+    private boolean drawnBetween;
+
+    /** Spielposition, solange der Actor an einer Zwischenposition steht */
+    private int simX, simY;
+
+    /**
+     * Wird von Greenfoot einmal pro Bild aufgerufen.
+     *
+     * In einer GameWorld passiert hier nichts: Die Welt ruft tick() selbst
+     * im festen Zeittakt auf (siehe GameWorld.act). Außerhalb einer GameWorld
+     * wird tick() direkt aufgerufen.
+     */
+    @Override
+    public final void act() {
+        if (!(getWorld() instanceof GameWorld)) {
+            tick();
+        }
+    }
+
+    /**
+     * Ein Simulationsschritt des Actors (früher act()).
+     *
+     * Wird in einer GameWorld genau einmal pro Takt aufgerufen, unabhängig
+     * davon, wie oft Greenfoot neu zeichnet. Standardmäßig passiert nichts.
+     */
+    public void tick() {
+    }
+
+    /**
+     * Zeichnet den Actor zwischen seiner Position vor und nach dem letzten
+     * Takt (wird von der GameWorld nach den Takten eines Bildes aufgerufen).
+     * Die Spielposition bleibt gemerkt und wird mit settle() zurückgesetzt.
+     *
+     * @param alpha Anteil des nächsten Takts, der schon vergangen ist (0 bis 1)
+     */
+    final void drawBetween(float alpha) {
+        int x = getX();
+        int y = getY();
+        int dx = x - tickStartX;
+        int dy = y - tickStartY;
+        if ((dx == 0 && dy == 0) || Math.abs(dx) > MAX_DRAW_STEP || Math.abs(dy) > MAX_DRAW_STEP) {
+            return;
+        }
+        simX = x;
+        simY = y;
+        drawnBetween = true;
+        super.setLocation(tickStartX + Math.round(dx * alpha), tickStartY + Math.round(dy * alpha));
+    }
+
+    /**
+     * Setzt den Actor nach dem Zeichnen wieder auf seine Spielposition.
+     */
+    final void settle() {
+        if (drawnBetween) {
+            drawnBetween = false;
+            super.setLocation(simX, simY);
+        }
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    /**
+     * Schreibt Position, Zufallsstrom und eigenen Zustand in einen Snapshot
+     * (wird von WorldSnapshot aufgerufen).
+     */
+    final void saveActor(WorldSnapshot out) {
+        out.writeInt(getX());
+        out.writeInt(getY());
+        out.writeInt(random != null ? 1 : 0);
+        if (random != null) {
+            out.writeLong(random.getState());
+        }
+        saveState(out);
+    }
+
+    /**
+     * Liest Position, Zufallsstrom und eigenen Zustand aus einem Snapshot
+     * (wird von WorldSnapshot aufgerufen).
+     */
+    final void loadActor(WorldSnapshot in) {
+        int x = in.readInt();
+        int y = in.readInt();
+        if (x != getX() || y != getY()) {
+            setLocation(x, y);
+        }
+        if (in.readInt() != 0) {
+            if (random == null) {
+                random = new Rng(0);
+            }
+            random.setState(in.readLong());
+        } else {
+            // Strom wird beim nächsten Gebrauch wieder aus der Welt abgeleitet
+            random = null;
+        }
+        loadState(in);
+    }
+
+    /**
+     * Schreibt den eigenen veränderlichen Zustand in einen Snapshot.
+     * Position und Zufallsstrom speichert GameActor selbst.
+     *
+     * Unterklassen mit eigenem Zustand (Leben, Richtung, Cooldown, ...)
+     * überschreiben diese Methode und loadState() mit derselben Reihenfolge.
+     *
+     * @param out Ziel-Snapshot
+     */
+    protected void saveState(WorldSnapshot out) {
+    }
+
+    /**
+     * Liest den eigenen Zustand aus einem Snapshot
+     * (in derselben Reihenfolge wie saveState).
+     *
+     * @param in Quell-Snapshot
+     */
+    protected void loadState(WorldSnapshot in) {
+    }
+
+    // ==================== POSITION UND BILD ====================
+
+    /**
+     * Setzt die Position und trägt den Actor im Raster neu ein.
+     *
+     * @param x Neue X-Koordinate
+     * @param y Neue Y-Koordinate
+     */
+    @Override
+    public void setLocation(int x, int y) {
+        super.setLocation(x, y);
+        updateGrid();
+    }
+
+    /**
+     * Setzt ein neues Bild und trägt den Actor im Raster neu ein,
+     * da sich mit dem Bild auch die Größe ändern kann.
+     *
+     * @param image Das neue Bild
+     */
+    @Override
+    public void setImage(GreenfootImage image) {
+        super.setImage(image);
+        updateGrid();
+    }
+
+    /**
+     * Setzt ein neues Bild aus einer Datei und trägt den Actor im Raster neu ein.
+     *
+     * @param filename Name der Bilddatei im images-Ordner
+     */
+    @Override
+    public void setImage(String filename) {
+        super.setImage(filename);
+        updateGrid();
+    }
+
+    /**
+     * Aktualisiert den Eintrag im Raster, falls der Actor in einer GameWorld ist.
+     */
+    private void updateGrid() {
+        World world = getWorld();
+        if (world instanceof GameWorld) {
+            ((GameWorld) world).getGrid().update(this);
+        }
+    }
+
+    // ==================== KOLLISIONSABFRAGEN ====================
+
+    /**
+     * Prüft, ob dieser Actor ein Objekt der angegebenen Klasse berührt.
+     *
+     * @param cls Gesuchte Klasse (z.B. Wall.class)
+     * @return true, wenn mindestens ein solches Objekt berührt wird
+     */
+    protected boolean isIntersecting(Class<?> cls) {
+        World world = getWorld();
+        if (world instanceof GameWorld) {
+            GameWorld gw = (GameWorld) world;
+            long start = gw.startQuery();
+            boolean hit = gw.getGrid().any(this, cls);
+            gw.endQuery(start, hit);
+            return hit;
+        }
+        return !getIntersectingObjects(cls).isEmpty();
+    }
+
+    /**
+     * Sammelt alle berührten Objekte der angegebenen Klasse in einer Liste.
+     *
+     * Die Liste wird zuerst geleert und kann deshalb als Attribut gehalten
+     * und in jedem Takt wiederverwendet werden.
+     *
+     * @param cls Gesuchte Klasse (z.B. WindZone.class)
+     * @param out Liste für die Treffer
+     * @return Die übergebene Liste
+     */
+    protected <A> List<A> collectIntersecting(Class<A> cls, List<A> out) {
+        out.clear();
+        World world = getWorld();
+        if (world instanceof GameWorld) {
+            GameWorld gw = (GameWorld) world;
+            long start = gw.startQuery();
+            gw.getGrid().collect(this, cls, out);
+            gw.endQuery(start, !out.isEmpty());
+        } else {
+            out.addAll(getIntersectingObjects(cls));
+        }
+        return out;
+    }
+
+    /**
+     * Prüft, ob dieser Actor eine Wand berührt.
+     * 
+     * In einer GameWorld wird die vorberechnete WallMap verwendet: Die
+     * Abfrage dauert immer gleich lange und legt keine Objekte an.
+     * 
+     * @return true, wenn das Bild-Rechteck eine Wand überlappt
+     */
+    protected boolean isTouchingWall() {
+        World world = getWorld();
+        if (world instanceof GameWorld) {
+            GameWorld gw = (GameWorld) world;
+            long start = gw.startQuery();
+            boolean hit = gw.getWallMap().intersects(left(), top(), right(), bottom());
+            gw.endQuery(start, hit);
+            return hit;
+        }
+        return isIntersecting(Wall.class);
+    }
+
+    /**
+     * Sammelt alle Kontakte dieses Actors in einem Durchgang: Wand (WallMap),
+     * Projektile (BulletSystem) und alle berührten Actors (SpatialGrid).
+     *
+     * @param out Wiederverwendbares Ergebnis (wird vorher geleert)
+     * @return Das übergebene Ergebnis
+     */
+    protected Contacts findContacts(Contacts out) {
+        World world = getWorld();
+        out.begin(world, getX(), getY());
+        if (world instanceof GameWorld) {
+            GameWorld gw = (GameWorld) world;
+            long start = gw.startQuery();
+            if (gw.getWallMap().intersects(left(), top(), right(), bottom())) {
+                out.add(Contacts.WALL);
+            }
+            if (gw.getBullets().hits(left(), top(), right(), bottom())) {
+                out.add(Contacts.BULLET);
+            }
+            gw.getGrid().gather(this, out);
+            gw.endQuery(start, out.getMask() != 0);
+        } else if (world != null) {
+            for (Object other : getIntersectingObjects(null)) {
+                if (other instanceof Wall) {
+                    out.add(Contacts.WALL);
+                } else if (other instanceof GameActor) {
+                    ((GameActor) other).addContactTo(out);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Sammelt die Kontakte entlang der Bewegung seit (fromX, fromY).
+     *
+     * Ist die Bewegung nicht größer als das eigene Rechteck, ist das genau
+     * findContacts() an der aktuellen Position. Sonst geht der Actor die
+     * Strecke in Teilschritten ab (siehe Sweep.steps) und bleibt am ersten
+     * Teilschritt stehen, an dem ein Kontakt aus stopAt gefunden wird. So
+     * kann er bei hoher Geschwindigkeit weder durch Wände noch durch Gegner
+     * hindurchspringen.
+     *
+     * @param out    Wiederverwendbares Ergebnis (wird vorher geleert)
+     * @param fromX  X-Koordinate vor der Bewegung
+     * @param fromY  Y-Koordinate vor der Bewegung
+     * @param stopAt Kontaktarten, an denen die Bewegung endet (z.B. WALL | ENEMY)
+     * @return Das übergebene Ergebnis (Kontakte an der Endposition)
+     */
+    protected Contacts sweepContacts(Contacts out, int fromX, int fromY, int stopAt) {
+        int toX = getX();
+        int toY = getY();
+        int n = Sweep.steps(toX - fromX, toY - fromY, hitWidth(), hitHeight());
+        for (int k = 1; k < n; k++) {
+            setLocation(fromX + (toX - fromX) * k / n, fromY + (toY - fromY) * k / n);
+            if (findContacts(out).has(stopAt)) {
+                return out;
+            }
+        }
+        if (n > 1) {
+            setLocation(toX, toY);
+        }
+        return findContacts(out);
+    }
+
+    /**
+     * Trägt diesen Actor in die Kontakte eines anderen Actors ein, der ihn
+     * berührt. Standardmäßig ist ein Actor kein Kontakt (z.B. Wand: die
+     * prüft findContacts über die WallMap).
+     *
+     * Neue Arten von Objekten überschreiben diese Methode, statt dem Player
+     * eine weitere Abfrage hinzuzufügen.
+     *
+     * @param contacts Kontakte des fragenden Actors
+     */
+    protected void addContactTo(Contacts contacts) {
+    }
+
+    // ==================== BILD-RECHTECK ====================
+
+    /**
+     * Gibt die linke Kante des Bild-Rechtecks zurück.
+     *
+     * @return X-Koordinate der linken Kante
+     */
+    public int left() {
+        return getX() - hitWidth() / 2;
+    }
+
+    /**
+     * Gibt die obere Kante des Bild-Rechtecks zurück.
+     *
+     * @return Y-Koordinate der oberen Kante
+     */
+    public int top() {
+        return getY() - hitHeight() / 2;
+    }
+
+    /**
+     * Gibt die rechte Kante des Bild-Rechtecks zurück (ausschließlich).
+     *
+     * @return X-Koordinate direkt rechts neben dem Bild
+     */
+    public int right() {
+        return left() + hitWidth();
+    }
+
+    /**
+     * Gibt die untere Kante des Bild-Rechtecks zurück (ausschließlich).
+     *
+     * @return Y-Koordinate direkt unter dem Bild
+     */
+    public int bottom() {
+        return top() + hitHeight();
+    }
+
+    /**
+     * Gibt die Breite des Kollisions-Rechtecks zurück.
+     * 
+     * Standardmäßig ist das die Breite des aktuellen Bildes (0, wenn kein
+     * Bild gesetzt ist). Unterklassen mit wechselnder Größe (z.B. Pulsar)
+     * können die Größe aus einer eigenen Tabelle liefern.
+     * 
+     * @return Breite in Pixeln
+     */
+    protected int hitWidth() {
+        GreenfootImage img = getImage();
+        return img == null ? 0 : img.getWidth();
+    }
+
+    /**
+     * Gibt die Höhe des Kollisions-Rechtecks zurück.
+     * 
+     * Standardmäßig ist das die Höhe des aktuellen Bildes (0, wenn kein
+     * Bild gesetzt ist).
+     * 
+     * @return Höhe in Pixeln
+     */
+    protected int hitHeight() {
+        GreenfootImage img = getImage();
+        return img == null ? 0 : img.getHeight();
+    }
+}
@@ -0,0 +1,363 @@
+import greenfoot.*;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * GameEvents - Ereignisse für den Java Flight Recorder (JFR).
+ *
+ * Ruckelt das Spiel, zeigt eine JFR-Aufnahme Garbage Collection, JIT und
+ * Threads, aber nicht, was das Spiel in diesem Moment getan hat. Diese
+ * Ereignisse ergänzen das: In JDK Mission Control erscheinen sie in der
+ * Kategorie "HardestGameEver" auf derselben Zeitachse wie die Ereignisse
+ * der JVM.
+ *
+ * Ereignisse:
+ * - Tick: ein Takt der GameWorld (Dauer, Welt, Nummer, Anzahl Actors)
+ * - PlayerContact: eine Reaktion des Spielers auf einen Kontakt
+ *   (WALL, ENEMY, BULLET oder TARGET)
+ * - ShooterFire: ein Schuss eines Shooters (Position, Anzahl Projektile)
+ * - WorldBuild: Aufbau eines Levels (Dauer, Konstruktor oder reset())
+ * - SoundLoad: Laden und Dekodieren eines Sounds (SoundManager)
+ * - ImageScale: Skalieren eines Klassenbilds (SpriteCache)
+ *
+ * Alle Ereignisse sind standardmäßig ausgeschaltet (@Enabled(false)) und
+ * müssen in der Aufnahme eingeschaltet werden, z.B. mit einer eigenen
+ * .jfc-Datei oder in Mission Control. Ausgeschaltet kostet ein Ereignis
+ * nur die Abfrage isEnabled() an einem festen Muster-Objekt; ein
+ * Ereignis-Objekt wird erst angelegt, wenn es auch aufgezeichnet wird.
+ *
+ * Aufnahme von der Kommandozeile:
+ * <pre>
+ * java -XX:StartFlightRecording=filename=spiel.jfr,settings=spiel.jfc ...
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class GameEvents {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Reaktionen des Spielers (Feld outcome von PlayerContact) */
+    public static final String WALL = "Wand";
+    public static final String ENEMY = "Gegner";
+    public static final String BULLET = "Projektil";
+    public static final String TARGET = "Ziel";
+
+    /** Anlass eines Aufbaus (Feld reason von WorldBuild) */
+    public static final String CONSTRUCTOR = "Konstruktor";
+    public static final String RESET = "Reset";
+
+    /**
+     * Muster-Objekte für isEnabled(): Die Abfrage hängt nur von der Klasse
+     * ab, nicht vom Objekt. So legt ein ausgeschaltetes Ereignis nie etwas
+     * an, auch nicht in selten laufendem Code, den der JIT nicht optimiert.
+     */
+    private static final Tick TICK_PROBE = new Tick();
+    private static final PlayerContact CONTACT_PROBE = new PlayerContact();
+    private static final ShooterFire FIRE_PROBE = new ShooterFire();
+    private static final WorldBuild BUILD_PROBE = new WorldBuild();
+    private static final SoundLoad SOUND_PROBE = new SoundLoad();
+    private static final ImageScale IMAGE_PROBE = new ImageScale();
+
+    // ==================== EREIGNISSE ====================
+
+    /**
+     * Ein Takt der GameWorld (siehe GameWorld.step).
+     */
+    @Name("HardestGameEver.Tick")
+    @Label("Takt")
+    @Category("HardestGameEver")
+    @Description("Ein Takt der Spielwelt")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Tick extends Event {
+
+        @Label("Welt")
+        String world;
+
+        @Label("Taktnummer")
+        long tick;
+
+        @Label("Actors")
+        int actors;
+
+        @Label("Projektile")
+        int bullets;
+    }
+
+    /**
+     * Eine Reaktion des Spielers auf einen Kontakt (siehe Player.tick).
+     */
+    @Name("HardestGameEver.PlayerContact")
+    @Label("Spieler-Kontakt")
+    @Category("HardestGameEver")
+    @Description("Wand, Gegner, Projektil oder Ziel berührt")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class PlayerContact extends Event {
+
+        @Label("Welt")
+        String world;
+
+        @Label("Ergebnis")
+        String outcome;
+
+        @Label("X")
+        int x;
+
+        @Label("Y")
+        int y;
+    }
+
+    /**
+     * Ein Schuss eines Shooters (siehe Shooter.fire).
+     */
+    @Name("HardestGameEver.ShooterFire")
+    @Label("Schuss")
+    @Category("HardestGameEver")
+    @Description("Ein Shooter hat Projektile abgefeuert")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class ShooterFire extends Event {
+
+        @Label("Welt")
+        String world;
+
+        @Label("X")
+        int x;
+
+        @Label("Y")
+        int y;
+
+        @Label("Projektile")
+        int bullets;
+    }
+
+    /**
+     * Aufbau eines Levels: vom Konstruktor der GameWorld bis zum Ende von
+     * build(), bzw. bei reset() nur der Neuaufbau.
+     */
+    @Name("HardestGameEver.WorldBuild")
+    @Label("Level-Aufbau")
+    @Category("HardestGameEver")
+    @Description("Ein Level wurde gebaut oder neu aufgebaut")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class WorldBuild extends Event {
+
+        @Label("Welt")
+        String world;
+
+        @Label("Anlass")
+        String reason;
+
+        @Label("Actors")
+        int actors;
+    }
+
+    /**
+     * Laden eines Sounds: Anlegen aller Stimmen auf dem Audio-Thread
+     * (siehe SoundManager.load).
+     */
+    @Name("HardestGameEver.SoundLoad")
+    @Label("Sound laden")
+    @Category("HardestGameEver")
+    @Description("Ein Sound wurde geladen und dekodiert")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class SoundLoad extends Event {
+
+        @Label("Datei")
+        String file;
+
+        @Label("Stimmen")
+        int voices;
+    }
+
+    /**
+     * Kopieren und Skalieren eines Klassenbilds bei einem Fehlzugriff des
+     * SpriteCache (siehe SpriteCache.get).
+     */
+    @Name("HardestGameEver.ImageScale")
+    @Label("Bild skalieren")
+    @Category("HardestGameEver")
+    @Description("Das Klassenbild eines Actors wurde kopiert und skaliert")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class ImageScale extends Event {
+
+        @Label("Actor-Klasse")
+        String actor;
+
+        @Label("Breite")
+        int width;
+
+        @Label("Höhe")
+        int height;
+    }
+
+    /**
+     * Keine Instanzen: Alle Methoden sind statisch.
+     */
+    private GameEvents() {
+    }
+
+    // ==================== MELDEN ====================
+
+    /**
+     * Beginnt das Ereignis eines Takts.
+     *
+     * @return Das begonnene Ereignis oder null, wenn es ausgeschaltet ist
+     */
+    static Tick beginTick() {
+        if (!TICK_PROBE.isEnabled()) {
+            return null;
+        }
+        Tick event = new Tick();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Beginnt das Ereignis eines Aufbaus.
+     *
+     * @return Das begonnene Ereignis oder null, wenn es ausgeschaltet ist
+     */
+    static WorldBuild beginWorldBuild() {
+        if (!BUILD_PROBE.isEnabled()) {
+            return null;
+        }
+        WorldBuild event = new WorldBuild();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Beginnt das Ereignis für das Laden eines Sounds.
+     *
+     * @return Das begonnene Ereignis oder null, wenn es ausgeschaltet ist
+     */
+    static SoundLoad beginSoundLoad() {
+        if (!SOUND_PROBE.isEnabled()) {
+            return null;
+        }
+        SoundLoad event = new SoundLoad();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Beendet das Ereignis für das Laden eines Sounds.
+     *
+     * @param event  Das begonnene Ereignis (darf null sein)
+     * @param file   Die Sound-Datei
+     * @param voices Anzahl angelegter Stimmen
+     */
+    static void endSoundLoad(SoundLoad event, String file, int voices) {
+        if (end(event)) {
+            event.file = file;
+            event.voices = voices;
+            event.commit();
+        }
+    }
+
+    /**
+     * Beginnt das Ereignis für das Skalieren eines Klassenbilds.
+     *
+     * @return Das begonnene Ereignis oder null, wenn es ausgeschaltet ist
+     */
+    static ImageScale beginImageScale() {
+        if (!IMAGE_PROBE.isEnabled()) {
+            return null;
+        }
+        ImageScale event = new ImageScale();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Beendet das Ereignis für das Skalieren eines Klassenbilds.
+     *
+     * @param event  Das begonnene Ereignis (darf null sein)
+     * @param actor  Name der Actor-Klasse, deren Bild skaliert wurde
+     * @param width  Breite nach dem Skalieren
+     * @param height Höhe nach dem Skalieren
+     */
+    static void endImageScale(ImageScale event, String actor, int width, int height) {
+        if (end(event)) {
+            event.actor = actor;
+            event.width = width;
+            event.height = height;
+            event.commit();
+        }
+    }
+
+    /**
+     * Beendet ein begonnenes Ereignis und prüft, ob es aufgezeichnet wird.
+     *
+     * end() muss vor shouldCommit() stehen: Erst dann kennt das Ereignis
+     * seine Dauer und kann sie mit der Schwelle der Aufnahme vergleichen.
+     * Ohne end() gilt die Dauer als 0, und bei einer Schwelle größer 0
+     * wird nie etwas aufgezeichnet.
+     *
+     * @param event Das begonnene Ereignis (darf null sein)
+     * @return true, wenn die Felder gesetzt und commit() aufgerufen werden soll
+     */
+    static boolean end(Event event) {
+        if (event == null) {
+            return false;
+        }
+        event.end();
+        return event.shouldCommit();
+    }
+
+    /**
+     * Meldet eine Reaktion des Spielers.
+     *
+     * @param player  Der Spieler (vor der Reaktion)
+     * @param outcome WALL, ENEMY, BULLET oder TARGET
+     */
+    public static void playerContact(Actor player, String outcome) {
+        if (CONTACT_PROBE.isEnabled()) {
+            PlayerContact event = new PlayerContact();
+            event.world = worldName(player.getWorld());
+            event.outcome = outcome;
+            event.x = player.getX();
+            event.y = player.getY();
+            event.commit();
+        }
+    }
+
+    /**
+     * Meldet einen Schuss.
+     *
+     * @param shooter Der Shooter
+     * @param bullets Anzahl abgefeuerter Projektile
+     */
+    public static void shooterFire(Actor shooter, int bullets) {
+        if (FIRE_PROBE.isEnabled()) {
+            ShooterFire event = new ShooterFire();
+            event.world = worldName(shooter.getWorld());
+            event.x = shooter.getX();
+            event.y = shooter.getY();
+            event.bullets = bullets;
+            event.commit();
+        }
+    }
+
+    /**
+     * Gibt den Namen einer Welt für ein Ereignis zurück.
+     *
+     * @param world Eine Welt (darf null sein)
+     * @return Klassenname der Welt (z.B. "Level3") oder ""
+     */
+    static String worldName(World world) {
+        return world != null ? world.getClass().getSimpleName() : "";
+    }
+}
@@ -0,0 +1,458 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * GameMetrics - Sammelt Kennzahlen aller Welten und stellt sie per JMX bereit.
+ *
+ * Der Profiler zeigt, wofür die Zeit eines Takts verbraucht wird, aber nur
+ * im Spiel selbst und nur, solange er eingeschaltet ist. Für lange
+ * Testläufe und viele parallele Simulationen braucht es dagegen Zahlen,
+ * die immer mitlaufen und sich von außen lesen lassen, z.B. mit jconsole:
+ * Taktrate, Taktdauer (p50/p99), lebende Gegner pro Klasse und Projektile,
+ * Kollisionen, verlorene Leben, Levelwechsel und GC-Zeit pro Takt
+ * (siehe GameMetricsMXBean).
+ *
+ * Aufbau:
+ * - Eine gemeinsame Instanz pro Prozess, beim ersten Gebrauch unter
+ *   OBJECT_NAME beim MBeanServer der JVM angemeldet.
+ * - Alle Zähler sind LongAdder: Jeder Thread zählt in eine eigene Zelle,
+ *   erst beim Lesen wird summiert. Viele HeadlessRunner auf verschiedenen
+ *   Threads warten so nicht aufeinander.
+ * - Jede Welt meldet ihre Werte über die Source ihres Threads (normales
+ *   Spiel oder HeadlessRunner), und zwar gesammelt einmal pro Takt
+ *   (GameWorld.step). Im Takt selbst wird nur in normalen Feldern gezählt.
+ * - Die Taktdauern landen in denselben Bereichen wie beim Histogram,
+ *   nur mit einem LongAdder pro Bereich.
+ *
+ * Taktrate und Kollisionen pro Sekunde gelten für das letzte Zeitfenster
+ * von mindestens RATE_WINDOW_NANOS (siehe Rate), nicht für die ganze Zeit
+ * seit dem Start: Ein Einbruch soll in jconsole sofort zu sehen sein.
+ *
+ * Die Anzahl lebender Gegner und Projektile ist ein Stand, kein Zähler:
+ * Jede Source merkt sich, was sie zuletzt gemeldet hat, und meldet nur
+ * die Änderung. Beim Weltwechsel ersetzt so die neue Welt die alte, und
+ * am Ende eines HeadlessRunner-Laufs zieht die Source ihren Anteil wieder ab.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Name, unter dem die Kennzahlen per JMX zu finden sind */
+    public static final String OBJECT_NAME = "HardestGameEver:type=GameMetrics";
+
+    /** Die gemeinsame Instanz */
+    private static final GameMetrics INSTANCE = register(new GameMetrics());
+
+    /** Mindestlänge des Zeitfensters für die Raten pro Sekunde */
+    public static final long RATE_WINDOW_NANOS = 1_000_000_000L;
+
+    /** Source des normalen Spiels */
+    private static final Source LIVE = new Source();
+
+    // ==================== QUELLE PRO THREAD ====================
+
+    /**
+     * Meldet die Werte eines Threads (normales Spiel oder ein HeadlessRunner).
+     * Eine Source ist nicht threadsicher; sie gehört zu genau einem Thread.
+     */
+    static final class Source {
+
+        /** Zuletzt gemeldete Anzahl Gegner pro Klasse */
+        private final Map<Class<?>, int[]> enemies = new HashMap<>();
+
+        /** Welt und actorVersion der letzten Meldung der Gegner */
+        private Object enemiesWorld;
+        private int enemiesVersion;
+
+        /** Zuletzt gemeldete Anzahl Projektile */
+        private int bullets;
+
+        /**
+         * Meldet einen abgeschlossenen Takt.
+         *
+         * @param nanos       Dauer des Takts
+         * @param collisions  Kollisionsabfragen mit Treffer im Takt
+         * @param liveBullets Anzahl Projektile nach dem Takt
+         */
+        void endTick(long nanos, int collisions, int liveBullets) {
+            INSTANCE.recordTick(nanos);
+            if (collisions != 0) {
+                INSTANCE.collisions.add(collisions);
+            }
+            if (liveBullets != bullets) {
+                INSTANCE.liveBullets.add(liveBullets - bullets);
+                bullets = liveBullets;
+            }
+        }
+
+        /**
+         * Prüft, ob die Gegner dieser Welt schon gemeldet sind.
+         *
+         * @param world   Die Welt
+         * @param version actorVersion der Welt
+         * @return true, wenn sich seit der letzten Meldung nichts geändert hat
+         */
+        boolean hasEnemies(Object world, int version) {
+            return world == enemiesWorld && version == enemiesVersion;
+        }
+
+        /**
+         * Meldet die Gegner einer Welt (ersetzt die letzte Meldung).
+         *
+         * @param world   Die Welt
+         * @param version actorVersion der Welt
+         * @param actors  Alle GameActors der Welt
+         * @param count   Anzahl gültiger Einträge in actors
+         */
+        void reportEnemies(Object world, int version, GameActor[] actors, int count) {
+            Map<Class<?>, int[]> now = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                if (actors[i] instanceof Enemy && actors[i].getWorld() == world) {
+                    now.computeIfAbsent(actors[i].getClass(), c -> new int[1])[0]++;
+                }
+            }
+            for (Map.Entry<Class<?>, int[]> entry : enemies.entrySet()) {
+                int[] current = now.get(entry.getKey());
+                INSTANCE.addEnemies(entry.getKey(), (current != null ? current[0] : 0) - entry.getValue()[0]);
+            }
+            for (Map.Entry<Class<?>, int[]> entry : now.entrySet()) {
+                if (!enemies.containsKey(entry.getKey())) {
+                    INSTANCE.addEnemies(entry.getKey(), entry.getValue()[0]);
+                }
+            }
+            enemies.clear();
+            enemies.putAll(now);
+            enemiesWorld = world;
+            enemiesVersion = version;
+        }
+
+        /**
+         * Zieht alle gemeldeten Stände wieder ab (Ende eines Laufs).
+         */
+        void close() {
+            for (Map.Entry<Class<?>, int[]> entry : enemies.entrySet()) {
+                INSTANCE.addEnemies(entry.getKey(), -entry.getValue()[0]);
+            }
+            enemies.clear();
+            enemiesWorld = null;
+            INSTANCE.liveBullets.add(-bullets);
+            bullets = 0;
+        }
+
+        /**
+         * Zählt ein verlorenes Leben.
+         */
+        void death() {
+            INSTANCE.deaths.increment();
+        }
+
+        /**
+         * Zählt einen Levelwechsel über das Ziel.
+         */
+        void levelTransition() {
+            INSTANCE.levelTransitions.increment();
+        }
+    }
+
+    // ==================== RATE ====================
+
+    /**
+     * Rechnet einen Zähler in eine Rate über ein gleitendes Zeitfenster um.
+     *
+     * Beim Lesen wird die Differenz zum vorigen Stand durch die seitdem
+     * vergangene Zeit geteilt. Der vorige Stand rückt erst nach, wenn
+     * mindestens RATE_WINDOW_NANOS vergangen sind; liest jconsole mehrere
+     * Werte kurz nacheinander, bleibt die Rate so stabil. Bis dahin gilt die
+     * Rate des letzten vollen Fensters (bzw. seit dem Start, solange es
+     * noch keines gibt).
+     */
+    private static final class Rate {
+
+        /** Der Zähler */
+        private final LongAdder counter;
+
+        /** Stand und Zeitpunkt am Anfang des laufenden Fensters */
+        private long sampleCount;
+        private long sampleNanos = System.nanoTime();
+
+        /** Rate des letzten vollen Fensters (negativ = noch keines) */
+        private double last = -1;
+
+        /**
+         * Erstellt eine Rate für einen Zähler.
+         *
+         * @param counter Der Zähler
+         */
+        Rate(LongAdder counter) {
+            this.counter = counter;
+        }
+
+        /**
+         * Gibt die Rate pro Sekunde zurück.
+         *
+         * @return Zuwachs pro Sekunde im letzten Zeitfenster
+         */
+        synchronized double perSecond() {
+            long now = System.nanoTime();
+            long count = counter.sum();
+            long elapsed = now - sampleNanos;
+            if (elapsed >= RATE_WINDOW_NANOS) {
+                last = (count - sampleCount) * 1e9 / elapsed;
+                sampleCount = count;
+                sampleNanos = now;
+            } else if (last < 0) {
+                return elapsed > 0 ? (count - sampleCount) * 1e9 / elapsed : 0;
+            }
+            return last;
+        }
+
+        /**
+         * Beginnt von vorn (nach dem Zurücksetzen des Zählers).
+         */
+        synchronized void reset() {
+            sampleCount = counter.sum();
+            sampleNanos = System.nanoTime();
+            last = -1;
+        }
+    }
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Takte, Summe der Taktdauern und längster Takt */
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder tickNanos = new LongAdder();
+    private final LongAccumulator tickMax = new LongAccumulator(Math::max, 0);
+
+    /** Anzahl Takte pro Bereich (Einteilung wie Histogram) */
+    private final LongAdder[] tickBuckets = new LongAdder[Histogram.BUCKETS];
+
+    /** Ereignisse */
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder deaths = new LongAdder();
+    private final LongAdder levelTransitions = new LongAdder();
+
+    /** Raten pro Sekunde */
+    private final Rate tickRate = new Rate(ticks);
+    private final Rate collisionRate = new Rate(collisions);
+
+    /** Stände */
+    private final LongAdder liveBullets = new LongAdder();
+    private final Map<String, LongAdder> liveEnemies = new ConcurrentHashMap<>();
+
+    /** GC-Zeit beim Start bzw. beim letzten reset() */
+    private volatile long resetGcMillis = gcMillis();
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt die gemeinsame Instanz.
+     */
+    private GameMetrics() {
+        for (int i = 0; i < tickBuckets.length; i++) {
+            tickBuckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Meldet die Instanz beim MBeanServer an. Greenfoot lädt die Klassen
+     * nach jedem Übersetzen neu; eine ältere Instanz wird deshalb ersetzt.
+     * Ist JMX nicht verfügbar, läuft das Spiel ohne Anmeldung weiter.
+     */
+    private static GameMetrics register(GameMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(metrics, name);
+        } catch (JMException | SecurityException e) {
+            // Kennzahlen werden trotzdem gezählt, nur nicht angezeigt
+        }
+        return metrics;
+    }
+
+    // ==================== ZUGRIFF ====================
+
+    /**
+     * Gibt die gemeinsame Instanz zurück (z.B. zum Lesen ohne JMX).
+     *
+     * @return Kennzahlen aller Welten
+     */
+    public static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gibt die Source zurück, die auf dem aktuellen Thread gilt.
+     *
+     * @return Source des HeadlessRunners oder des normalen Spiels
+     */
+    static Source source() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        return runner != null ? runner.getMetrics() : LIVE;
+    }
+
+    // ==================== ZÄHLEN ====================
+
+    /**
+     * Zählt die Dauer eines Takts.
+     */
+    private void recordTick(long nanos) {
+        ticks.increment();
+        tickNanos.add(nanos);
+        tickMax.accumulate(nanos);
+        tickBuckets[Histogram.index(Math.max(0, nanos))].increment();
+    }
+
+    /**
+     * Ändert die Anzahl lebender Gegner einer Klasse.
+     */
+    private void addEnemies(Class<?> type, int delta) {
+        if (delta != 0) {
+            liveEnemies.computeIfAbsent(type.getSimpleName(), k -> new LongAdder()).add(delta);
+        }
+    }
+
+    // ==================== GameMetricsMXBean ====================
+
+    @Override
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return tickRate.perSecond();
+    }
+
+    @Override
+    public double getTickMeanMicros() {
+        long n = ticks.sum();
+        return n == 0 ? 0 : tickNanos.sum() / 1e3 / n;
+    }
+
+    @Override
+    public double getTickP50Micros() {
+        return tickPercentile(0.50) / 1e3;
+    }
+
+    @Override
+    public double getTickP99Micros() {
+        return tickPercentile(0.99) / 1e3;
+    }
+
+    @Override
+    public double getTickMaxMicros() {
+        return tickMax.get() / 1e3;
+    }
+
+    @Override
+    public Map<String, Long> getLiveEnemies() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : liveEnemies.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count != 0) {
+                result.put(entry.getKey(), count);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getLiveBullets() {
+        return liveBullets.sum();
+    }
+
+    @Override
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    @Override
+    public double getCollisionsPerSecond() {
+        return collisionRate.perSecond();
+    }
+
+    @Override
+    public long getDeaths() {
+        return deaths.sum();
+    }
+
+    @Override
+    public long getLevelTransitions() {
+        return levelTransitions.sum();
+    }
+
+    @Override
+    public double getGcMicrosPerTick() {
+        long n = ticks.sum();
+        return n == 0 ? 0 : (gcMillis() - resetGcMillis) * 1e3 / n;
+    }
+
+    @Override
+    public void reset() {
+        ticks.reset();
+        tickNanos.reset();
+        tickMax.reset();
+        for (LongAdder bucket : tickBuckets) {
+            bucket.reset();
+        }
+        collisions.reset();
+        deaths.reset();
+        levelTransitions.reset();
+        tickRate.reset();
+        collisionRate.reset();
+        resetGcMillis = gcMillis();
+    }
+
+    // ==================== HILFSMETHODEN ====================
+
+    /**
+     * Gibt ein Perzentil der Taktdauer in Nanosekunden zurück
+     * (wie Histogram.percentile).
+     */
+    private long tickPercentile(double fraction) {
+        long[] counts = new long[tickBuckets.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = tickBuckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(Histogram.middle(i), tickMax.get());
+            }
+        }
+        return tickMax.get();
+    }
+
+    /**
+     * Gibt die bisherige GC-Zeit aller Garbage Collectors der JVM zurück.
+     */
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.Map;
+
+/**
+ * GameMetricsMXBean - Kennzahlen des Spiels, von außen per JMX lesbar.
+ *
+ * Die Kennzahlen gelten für alle Welten im Prozess zusammen: das normale
+ * Spiel und alle HeadlessRunner, auch wenn sie parallel laufen. Zähler
+ * und Raten beziehen sich auf die Zeit seit dem Start bzw. seit reset(),
+ * die Anzahl lebender Actors und Projektile auf den letzten Takt.
+ *
+ * Lesbar z.B. mit jconsole unter "HardestGameEver:type=GameMetrics"
+ * (siehe GameMetrics).
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * Gibt die Anzahl ausgeführter Takte zurück.
+     *
+     * @return Anzahl ausgeführter Takte
+     */
+    long getTicks();
+
+    /**
+     * Gibt die Taktrate im letzten Zeitfenster zurück
+     * (siehe GameMetrics.RATE_WINDOW_NANOS).
+     *
+     * @return Takte pro Sekunde (alle Welten zusammen)
+     */
+    double getTicksPerSecond();
+
+    /**
+     * Gibt die mittlere Taktdauer zurück.
+     *
+     * @return Mittlere Dauer eines Takts in Mikrosekunden
+     */
+    double getTickMeanMicros();
+
+    /**
+     * Gibt den Median der Taktdauer zurück.
+     *
+     * @return Median der Taktdauer in Mikrosekunden
+     */
+    double getTickP50Micros();
+
+    /**
+     * Gibt das 99. Perzentil der Taktdauer zurück.
+     *
+     * @return 99. Perzentil der Taktdauer in Mikrosekunden
+     */
+    double getTickP99Micros();
+
+    /**
+     * Gibt die Dauer des längsten Takts zurück.
+     *
+     * @return Längster Takt in Mikrosekunden
+     */
+    double getTickMaxMicros();
+
+    /**
+     * Gibt die Anzahl lebender Gegner pro Klasse zurück.
+     *
+     * @return Lebende Gegner pro Klasse (z.B. "Pulsar" = 2)
+     */
+    Map<String, Long> getLiveEnemies();
+
+    /**
+     * Gibt die Anzahl fliegender Projektile zurück.
+     *
+     * @return Anzahl fliegender Projektile
+     */
+    long getLiveBullets();
+
+    /**
+     * Gibt die Anzahl der Kollisionsabfragen mit Treffer zurück.
+     *
+     * @return Kollisionsabfragen mit Treffer
+     */
+    long getCollisions();
+
+    /**
+     * Gibt die Kollisionsabfragen mit Treffer pro Sekunde im letzten
+     * Zeitfenster zurück (siehe GameMetrics.RATE_WINDOW_NANOS).
+     *
+     * @return Kollisionsabfragen mit Treffer pro Sekunde
+     */
+    double getCollisionsPerSecond();
+
+    /**
+     * Gibt die Anzahl verlorener Leben zurück.
+     *
+     * @return Verlorene Leben (Player.loseLife)
+     */
+    long getDeaths();
+
+    /**
+     * Gibt die Anzahl geschaffter Level zurück.
+     *
+     * @return Levelwechsel über das Ziel (Player.nextLevel)
+     */
+    long getLevelTransitions();
+
+    /**
+     * Gibt die Zeit der Garbage Collection pro Takt zurück.
+     *
+     * @return Zeit der Garbage Collection pro Takt in Mikrosekunden
+     *         (für den ganzen Prozess)
+     */
+    double getGcMicrosPerTick();
+
+    /**
+     * Setzt alle Zähler, Raten und Taktdauern zurück. Die Anzahl lebender
+     * Actors und Projektile bleibt erhalten.
+     */
+    void reset();
+}
@@ -0,0 +1,864 @@
+import greenfoot.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * GameWorld - Gemeinsame Basisklasse für alle Level-Welten.
+ *
+ * Jedes Level (Level1 bis Level5) erbt von dieser Klasse. Die GameWorld
+ * verwaltet die Datenstrukturen, die für die ganze Welt gelten, und hält
+ * sie beim Hinzufügen und Entfernen von Actors aktuell.
+ *
+ * Verwaltete Strukturen:
+ * - SpatialGrid: Raster für schnelle Kollisionsabfragen aller GameActors
+ * - WallMap: Belegungskarte aller Wände für Wandabfragen in konstanter Zeit
+ * - BulletSystem: Alle Projektile der Welt (werden in jedem Takt bewegt)
+ * - OscillatorBatch: Alle BlueDots und GreenDots (werden in jedem Takt bewegt)
+ * - FlowField: Wegkarte zum Spieler für alle Follower
+ * - Rng: Zufallsgenerator der Welt, aus dem jeder Actor seinen eigenen
+ *   Zufallsstrom ableitet (siehe GameActor.random())
+ * - Hud: Anzeige von Level und Leben, die nur bei Änderungen neu zeichnet
+ * - Player: Der Spieler wird beim Hinzufügen gemerkt, damit Gegner ihn
+ *   nicht in jedem Takt mit getObjects() suchen müssen
+ * - WorldSnapshot: Zustand zu Beginn des Versuchs, damit reset() das
+ *   Level ohne Neuaufbau zurücksetzen kann
+ * - Profiler: Misst auf Wunsch die Zeit jedes Takts nach Actor-Klassen
+ *   (Taste Profiler.TOGGLE_KEY blendet die Werte ein)
+ * - GameMetrics: Meldet nach jedem Takt Dauer, Kollisionen, Gegner und
+ *   Projektile (per JMX lesbar)
+ * - GameEvents: JFR-Ereignisse für jeden Takt und jeden Aufbau
+ * - AllocationTracker: Zählt auf Wunsch die angelegten Bytes pro Takt und
+ *   pro Actor-Klasse und prüft ein Budget
+ * - HitchDetector: Meldet auf Wunsch jeden zu langen Takt mit seiner
+ *   Ursache (Taste HitchDetector.TOGGLE_KEY)
+ * - WarmUp: Baut vor der ersten Welt alle Level ohne Fenster und lässt
+ *   sie kurz laufen, damit der Start nicht im Interpreter ruckelt; was das
+ *   beim ersten Bild und beim ersten Levelwechsel spart, steht danach
+ *   auf System.out
+ *
+ * Fester Zeittakt:
+ * Greenfoot ruft act() einmal pro gezeichnetem Bild auf; wie oft, hängt vom
+ * Geschwindigkeitsregler und von Rucklern ab. Die GameWorld rechnet daraus
+ * Takte mit fester Dauer (TICKS_PER_SECOND): Pro Bild laufen so viele
+ * Takte (step), wie seit dem letzten Bild fällig geworden sind, auch keiner
+ * oder mehrere. Gezeichnet wird dazwischen: Bewegte Actors und Projektile
+ * stehen beim Zeichnen anteilig zwischen ihrer Position vor und nach dem
+ * letzten Takt. Das Spiel läuft damit bei jeder Bildrate gleich schnell und
+ * trotzdem flüssig, und das Ergebnis eines Takts hängt nie von der Bildrate
+ * ab. Der HeadlessRunner ruft step() direkt auf (ohne Uhr).
+ *
+ * Wichtig: Level überschreiben act() nicht. Eigene Logik pro Takt gehört in
+ * einen Actor (tick()), sonst liefe sie mit der Bildrate statt im Takt.
+ *
+ * Die Level selbst ändern sich dadurch kaum: Statt von World erben sie
+ * von GameWorld und implementieren wie bisher das LabeledWorld-Interface
+ * (showHUD und levelName). Den Aufbau (Wände, Gegner, Spieler) erledigt
+ * build(), aufgerufen über buildLevel(). Dieselbe Methode baut das Level
+ * bei reset() neu auf, sodass die LevelRegistry eine Welt mehrmals
+ * verwenden kann.
+ *
+ * <pre>
+ * public class Level1 extends GameWorld {
+ *     public Level1() {
+ *         super(600, 400, 1);
+ *         buildLevel();
+ *     }
+ *
+ *     protected void build() {
+ *         // Wände, Gegner, Ziel und Spieler hinzufügen
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public abstract class GameWorld extends World implements LabeledWorld {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Takte pro Sekunde im normalen Spiel */
+    public static final int TICKS_PER_SECOND = 60;
+
+    /** Dauer eines Takts in Nanosekunden */
+    private static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+
+    /** Höchstens so viele Takte werden pro Bild nachgeholt */
+    private static final int MAX_TICKS_PER_FRAME = 10;
+
+    /** Längere Pausen zwischen zwei Bildern (z.B. Debugger) zählen nur so lange */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Raster für Kollisionsabfragen */
+    private final SpatialGrid grid;
+    
+    /** Belegungskarte aller Wände */
+    private final WallMap wallMap;
+    
+    /** Muss die WallMap aus den Wall-Actors neu aufgebaut werden? */
+    private boolean wallsChanged;
+    
+    /** Alle Projektile der Welt */
+    private final BulletSystem bullets = new BulletSystem();
+    
+    /** Ebene zum Zeichnen der Projektile (wird beim ersten Schuss angelegt) */
+    private BulletLayer bulletLayer;
+    
+    /** Alle horizontal pendelnden Gegner (BlueDots) */
+    private final OscillatorBatch horizontalOscillators = new OscillatorBatch(false);
+    
+    /** Alle vertikal pendelnden Gegner (GreenDots) */
+    private final OscillatorBatch verticalOscillators = new OscillatorBatch(true);
+    
+    /** Anzeige von Level und Leben (wird beim ersten Gebrauch angelegt) */
+    private Hud hud;
+    
+    /** Der Spieler dieser Welt (oder null) */
+    private Player player;
+    
+    /** Wegkarte zum Spieler (wird beim ersten Follower angelegt) */
+    private FlowField flowField;
+    
+    /** Seed dieser Welt (bleibt bei reset erhalten, nur ein Neuaufbau zieht einen neuen) */
+    private long seed;
+    
+    /** Zufallsgenerator der Welt (liefert die Ströme der Actors) */
+    private Rng random;
+    
+    /** Positionen aller angezeigten Texte (x, y abwechselnd, für reset) */
+    private int[] textPositions = new int[8];
+    
+    /** Aktueller Text an jeder Position (Index = Position in textPositions / 2) */
+    private String[] textValues = new String[4];
+    
+    /** Anzahl belegter Einträge in textPositions */
+    private int textCount;
+    
+    /** Wird bei jedem Hinzufügen oder Entfernen eines GameActors erhöht */
+    private int actorVersion;
+    
+    /** Zustand vor dem ersten Takt (oder null, solange noch kein Takt lief) */
+    private WorldSnapshot start;
+    
+    /** Alle GameActors in Takt-Reihenfolge (neu gelesen, wenn sich actorVersion ändert) */
+    private GameActor[] tickOrder = new GameActor[0];
+    
+    /** Anzahl Einträge in tickOrder */
+    private int tickOrderCount;
+    
+    /** actorVersion beim Lesen von tickOrder */
+    private int tickOrderVersion = -1;
+    
+    /** Werden Actors zwischen zwei Takten gezeichnet (nur im normalen Spiel)? */
+    private final boolean interpolate;
+    
+    /** Stehen gerade Actors an einer Zwischenposition (siehe settle)? */
+    private boolean drawnBetween;
+    
+    /** Zeitpunkt des letzten Bildes (0 = Uhr läuft noch nicht) */
+    private long lastFrame;
+    
+    /** Noch nicht abgearbeitete Zeit in Nanosekunden */
+    private long accumulator;
+    
+    /** Anzahl ausgeführter Takte */
+    private long ticks;
+    
+    /** Anzahl verworfener Takte (mehr fällig als MAX_TICKS_PER_FRAME) */
+    private long droppedTicks;
+    
+    /** Profiler des laufenden Takts (null, wenn nicht gemessen wird) */
+    private Profiler profiler;
+    
+    /** Anzeige des Profilers (wird beim ersten Einschalten angelegt) */
+    private ProfilerOverlay profilerOverlay;
+    
+    /** Kollisionsabfragen mit Treffer seit der letzten Meldung an GameMetrics */
+    private int collisionHits;
+    
+    /** JFR-Ereignis des Aufbaus, begonnen im Konstruktor (oder null) */
+    private GameEvents.WorldBuild constructEvent;
+    
+    /** Wurde der Aufbau aus dem Konstruktor schon gemeldet? */
+    private boolean constructed;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt eine Spielwelt mit der angegebenen Größe.
+     * Im normalen Spiel werden dabei die Sounds im Hintergrund vorgeladen;
+     * die erste Welt wärmt vorher JVM, Bilder und Sounds auf (WarmUp).
+     *
+     * @param width    Breite der Welt in Zellen
+     * @param height   Höhe der Welt in Zellen
+     * @param cellSize Größe einer Zelle in Pixeln
+     */
+    public GameWorld(int width, int height, int cellSize) {
+        super(width, height, cellSize);
+        if (!Game.isHeadless()) {
+            WarmUp.runOnce();
+        }
+        constructEvent = GameEvents.beginWorldBuild();
+        grid = new SpatialGrid(width * cellSize, height * cellSize, SpatialGrid.DEFAULT_CELL_SIZE);
+        wallMap = new WallMap(width * cellSize, height * cellSize);
+        seed = Game.nextWorldSeed();
+        random = new Rng(seed);
+        interpolate = !Game.isHeadless();
+        if (interpolate) {
+            SoundManager.preload();
+        }
+    }
+
+    // ==================== AUFBAU ====================
+
+    /**
+     * Baut das Level auf: Wände, Gegner, Ziel, Spieler und HUD.
+     * Wird über buildLevel() vom Konstruktor des Levels und von reset()
+     * aufgerufen.
+     */
+    protected abstract void build();
+    
+    /**
+     * Ruft build() auf und meldet den Aufbau als JFR-Ereignis. Im
+     * Konstruktor des Levels zählt dazu auch der Konstruktor der GameWorld.
+     */
+    protected final void buildLevel() {
+        GameEvents.WorldBuild event = constructEvent;
+        String reason = GameEvents.CONSTRUCTOR;
+        if (constructed) {
+            event = GameEvents.beginWorldBuild();
+            reason = GameEvents.RESET;
+        }
+        constructEvent = null;
+        constructed = true;
+        build();
+        if (GameEvents.end(event)) {
+            event.world = GameEvents.worldName(this);
+            event.reason = reason;
+            event.actors = numberOfObjects();
+            event.commit();
+        }
+    }
+
+    /**
+     * Setzt die Welt in den Zustand direkt nach dem Konstruktor zurück.
+     *
+     * Normalerweise wird dazu nur der Snapshot vom Beginn des ersten Takts
+     * wiederhergestellt: Alle Actors behalten ihre Objekte und bekommen
+     * ihre Startwerte zurück, Seed und Zufallsgeneratoren eingeschlossen.
+     * Der Versuch beginnt damit genau wie der erste. Passiert das mitten
+     * in einem Takt (z.B. Game Over), endet der Takt (Game.interrupt): Die
+     * übrigen Actors handeln nicht mehr, der nächste Takt beginnt genau im
+     * Startzustand.
+     *
+     * Gibt es keinen passenden Snapshot (die Welt hat noch keinen Takt
+     * gespielt oder es wurden Actors hinzugefügt/entfernt), wird das Level
+     * neu aufgebaut: Alle Actors, Projektile und Texte werden entfernt, die
+     * Welt bekommt einen neuen Seed und build() baut das Level wieder auf.
+     * Auch dabei werden die Welt selbst und ihre Strukturen (Hintergrund,
+     * Raster, WallMap, Batches, Wegkarte) wiederverwendet.
+     */
+    public void reset() {
+        settle();
+        lastFrame = 0;
+        Game.interrupt();
+        if (start != null && start.matches(this)) {
+            start.restore(this);
+            return;
+        }
+        start = null;
+        if (hud != null) {
+            hud.clear();
+        }
+        removeObjects(getObjects(null));
+        bullets.clear();
+        for (int i = 0; i < textCount; i += 2) {
+            super.showText("", textPositions[i], textPositions[i + 1]);
+        }
+        textCount = 0;
+        seed = Game.nextWorldSeed();
+        random = new Rng(seed);
+        buildLevel();
+    }
+
+    // ==================== TAKT ====================
+    
+    /**
+     * Wird von Greenfoot einmal pro Bild aufgerufen (vor den Actors).
+     * 
+     * Addiert die seit dem letzten Bild vergangene Zeit und führt für jede
+     * volle Taktdauer einen Takt aus (step). Sind mehr als
+     * MAX_TICKS_PER_FRAME Takte fällig, wird der Rest verworfen: Das Spiel
+     * läuft dann kurz langsamer, statt sich mit immer mehr nachzuholenden
+     * Takten selbst auszubremsen. Danach werden Actors und Projektile
+     * zwischen den letzten beiden Takten gezeichnet.
+     */
+    @Override
+    public void act() {
+        settle();
+        long now = System.nanoTime();
+        if (lastFrame == 0) {
+            // Erstes Bild (oder nach Start/Reset): genau ein Takt
+            lastFrame = now - TICK_NANOS;
+            accumulator = 0;
+        }
+        accumulator += Math.min(now - lastFrame, MAX_FRAME_NANOS);
+        lastFrame = now;
+
+        HeadlessRunner runner = HeadlessRunner.current();
+        int interruptions = Game.getInterruptions(runner);
+        int done = 0;
+        while (accumulator >= TICK_NANOS) {
+            if (done == MAX_TICKS_PER_FRAME) {
+                droppedTicks += accumulator / TICK_NANOS;
+                accumulator %= TICK_NANOS;
+                break;
+            }
+            step();
+            accumulator -= TICK_NANOS;
+            done++;
+            if (Game.getInterruptions(runner) != interruptions) {
+                // Welt gewechselt, zurückgesetzt oder angehalten: keine weiteren Takte in diesem Bild
+                return;
+            }
+        }
+        if (interpolate) {
+            Profiler live = Profiler.current();
+            live.pollToggle();
+            HitchDetector.live().pollToggle();
+            long renderStart = System.nanoTime();
+            float alpha = accumulator / (float) TICK_NANOS;
+            drawBetween(alpha);
+            renderBullets(alpha);
+            if (live.isEnabled()) {
+                live.recordRender(System.nanoTime() - renderStart);
+            }
+            renderProfiler(live);
+        }
+    }
+    
+    /**
+     * Wird von Greenfoot aufgerufen, wenn das Spiel (wieder) gestartet wird.
+     * Die Uhr beginnt neu, damit die Pause nicht nachgeholt wird.
+     */
+    @Override
+    public void started() {
+        lastFrame = 0;
+    }
+    
+    /**
+     * Führt genau einen Takt aus: zuerst die Welt selbst (update), danach
+     * tick() aller GameActors in der Reihenfolge der Welt.
+     * 
+     * Actors, die während des Takts entfernt wurden, werden übersprungen.
+     * Wechselt ein Actor die Welt, setzt sie zurück oder hält das Spiel an
+     * (Level geschafft, Game Over), endet der Takt sofort, damit die
+     * übrigen Actors der alten Welt bzw. des alten Versuchs nicht mehr
+     * handeln.
+     */
+    public void step() {
+        settle();
+        HeadlessRunner runner = HeadlessRunner.current();
+        int interruptions = Game.getInterruptions(runner);
+        Profiler current = Profiler.current();
+        profiler = current.isEnabled() ? current : null;
+        AllocationTracker tracker = AllocationTracker.current();
+        AllocationTracker allocations = tracker.isEnabled() ? tracker : null;
+        GameEvents.Tick event = GameEvents.beginTick();
+        long start = System.nanoTime();
+        long startBytes = allocations != null ? AllocationTracker.allocatedBytes() : 0;
+        GameActor[] actors = tickOrder();
+        int count = tickOrderCount;
+        if (interpolate) {
+            for (int i = 0; i < count; i++) {
+                actors[i].tickStartX = actors[i].getX();
+                actors[i].tickStartY = actors[i].getY();
+            }
+        }
+        update();
+        if (allocations != null) {
+            allocations.addWorld(AllocationTracker.allocatedBytes() - startBytes);
+        }
+        ticks++;
+        for (int i = 0; i < count; i++) {
+            GameActor actor = actors[i];
+            if (actor.getWorld() == this) {
+                if (profiler == null && allocations == null) {
+                    actor.tick();
+                } else {
+                    tickMeasured(actor, allocations);
+                }
+                if (Game.getInterruptions(runner) != interruptions) {
+                    break;
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = allocations != null ? AllocationTracker.allocatedBytes() - startBytes : 0;
+        if (GameEvents.end(event)) {
+            event.world = GameEvents.worldName(this);
+            event.tick = ticks;
+            event.actors = count;
+            event.bullets = bullets.size();
+            event.commit();
+        }
+        if (profiler != null) {
+            profiler.endTick(nanos, count);
+            profiler = null;
+        }
+        GameMetrics.Source metrics = GameMetrics.source();
+        metrics.endTick(nanos, collisionHits, bullets.size());
+        collisionHits = 0;
+        if (!metrics.hasEnemies(this, actorVersion)) {
+            metrics.reportEnemies(this, actorVersion, tickOrder(), tickOrderCount);
+        }
+        if (allocations != null) {
+            allocations.endTick(bytes);
+        }
+    }
+    
+    /**
+     * Führt tick() eines Actors aus und misst dabei Zeit (Profiler) und
+     * angelegte Bytes (AllocationTracker), soweit eingeschaltet.
+     */
+    private void tickMeasured(GameActor actor, AllocationTracker allocations) {
+        long t = System.nanoTime();
+        long b = allocations != null ? AllocationTracker.allocatedBytes() : 0;
+        actor.tick();
+        if (allocations != null) {
+            allocations.addActor(actor.getClass(), AllocationTracker.allocatedBytes() - b);
+        }
+        if (profiler != null) {
+            profiler.addActor(actor.getClass(), System.nanoTime() - t);
+        }
+    }
+    
+    /**
+     * Der Anteil der Welt an einem Takt (vor den Actors).
+     * 
+     * Beim ersten Takt wird der Startzustand gespeichert (für reset()).
+     * 
+     * Liest zuerst den Tastenzustand des Takts ein (Input). Bewegt danach
+     * alle pendelnden Gegner und alle Projektile in je einem Durchgang.
+     */
+    private void update() {
+        if (start == null) {
+            start = snapshot();
+        }
+        Input.current().poll();
+        WallMap walls = getWallMap();
+        if (profiler == null) {
+            horizontalOscillators.update(walls, getWidth(), getHeight());
+            verticalOscillators.update(walls, getWidth(), getHeight());
+            bullets.update(walls, getWidth(), getHeight());
+            return;
+        }
+        long t0 = System.nanoTime();
+        horizontalOscillators.update(walls, getWidth(), getHeight());
+        verticalOscillators.update(walls, getWidth(), getHeight());
+        long t1 = System.nanoTime();
+        bullets.update(walls, getWidth(), getHeight());
+        profiler.addOscillators(t1 - t0);
+        profiler.addBullets(System.nanoTime() - t1);
+    }
+    
+    /**
+     * Gibt alle GameActors in Takt-Reihenfolge zurück. Die Liste wird nur
+     * neu gelesen, wenn seit dem letzten Mal Actors dazugekommen oder
+     * entfernt worden sind (gültig sind die ersten tickOrderCount Einträge).
+     */
+    private GameActor[] tickOrder() {
+        if (tickOrderVersion != actorVersion) {
+            List<GameActor> list = getObjects(GameActor.class);
+            if (tickOrder.length < list.size()) {
+                tickOrder = new GameActor[list.size()];
+            }
+            list.toArray(tickOrder);
+            tickOrderCount = list.size();
+            tickOrderVersion = actorVersion;
+        }
+        return tickOrder;
+    }
+    
+    /**
+     * Stellt alle bewegten Actors zwischen ihre Position vor und nach dem
+     * letzten Takt (nur für das Zeichnen, siehe GameActor.drawBetween).
+     */
+    private void drawBetween(float alpha) {
+        GameActor[] actors = tickOrder();
+        for (int i = 0; i < tickOrderCount; i++) {
+            if (actors[i].getWorld() == this) {
+                actors[i].drawBetween(alpha);
+            }
+        }
+        drawnBetween = true;
+    }
+    
+    /**
+     * Setzt alle Actors nach dem Zeichnen wieder auf ihre Spielposition.
+     * Wird vor jedem Takt, Snapshot und Reset aufgerufen.
+     */
+    private void settle() {
+        if (drawnBetween) {
+            drawnBetween = false;
+            for (int i = 0; i < tickOrderCount; i++) {
+                tickOrder[i].settle();
+            }
+        }
+    }
+    
+    /**
+     * Zeichnet die Projektile zwischen ihrer Position vor und nach dem
+     * letzten Takt. Die Zeichenebene wird erst angelegt, wenn es zum
+     * ersten Mal Projektile gibt.
+     */
+    private void renderBullets(float alpha) {
+        if (bulletLayer == null || bulletLayer.getWorld() != this) {
+            if (bullets.size() == 0) {
+                return;
+            }
+            if (bulletLayer == null) {
+                bulletLayer = new BulletLayer(getWidth(), getHeight());
+            }
+            addObject(bulletLayer, getWidth() / 2, getHeight() / 2);
+        }
+        bulletLayer.render(bullets, alpha);
+    }
+    
+    /**
+     * Blendet die Anzeige des Profilers ein, solange er misst, und sonst aus.
+     */
+    private void renderProfiler(Profiler live) {
+        if (live.isEnabled()) {
+            if (profilerOverlay == null) {
+                profilerOverlay = new ProfilerOverlay();
+            }
+            if (profilerOverlay.getWorld() != this) {
+                addObject(profilerOverlay, getWidth() - 130, 40);
+            }
+            profilerOverlay.refresh(live);
+        } else if (profilerOverlay != null && profilerOverlay.getWorld() == this) {
+            removeObject(profilerOverlay);
+        }
+    }
+    
+    /**
+     * Beginnt eine Kollisionsabfrage eines GameActors.
+     * 
+     * @return Startzeit für endQuery (0, wenn der Profiler nicht misst)
+     */
+    long startQuery() {
+        return profiler != null ? System.nanoTime() : 0;
+    }
+    
+    /**
+     * Beendet eine Kollisionsabfrage: Treffer werden für GameMetrics
+     * gezählt, die Dauer für den Profiler.
+     * 
+     * @param start Rückgabewert von startQuery
+     * @param hit   Hat die Abfrage etwas gefunden?
+     */
+    void endQuery(long start, boolean hit) {
+        if (hit) {
+            collisionHits++;
+        }
+        if (profiler != null) {
+            profiler.addCollision(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Gibt die Anzahl der bisher ausgeführten Takte zurück.
+     * 
+     * @return Anzahl Takte dieser Welt
+     */
+    public long getTicks() {
+        return ticks;
+    }
+    
+    /**
+     * Gibt die Anzahl verworfener Takte zurück (das Spiel konnte nicht
+     * mithalten und ist dafür kurz langsamer gelaufen).
+     * 
+     * @return Anzahl verworfener Takte
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+    
+    // ==================== ACTORS VERWALTEN ====================
+
+    /**
+     * Fügt einen Actor hinzu und trägt ihn im Raster ein.
+     *
+     * @param object Der neue Actor
+     * @param x      X-Koordinate
+     * @param y      Y-Koordinate
+     */
+    @Override
+    public void addObject(Actor object, int x, int y) {
+        super.addObject(object, x, y);
+        if (object instanceof GameActor && object.getWorld() == this) {
+            GameActor actor = (GameActor) object;
+            grid.update(actor);
+            actor.tickStartX = actor.getX();
+            actor.tickStartY = actor.getY();
+            actorVersion++;
+        }
+        if (object instanceof Wall) {
+            wallsChanged();
+        }
+        if (object instanceof Player && object.getWorld() == this) {
+            player = (Player) object;
+        }
+    }
+
+    /**
+     * Entfernt einen Actor und trägt ihn aus dem Raster
+     * (und gegebenenfalls aus dem OscillatorBatch) aus.
+     *
+     * @param object Der zu entfernende Actor
+     */
+    @Override
+    public void removeObject(Actor object) {
+        if (object instanceof GameActor && object.getWorld() == this) {
+            grid.remove((GameActor) object);
+            actorVersion++;
+        }
+        if (object instanceof Enemy && ((Enemy) object).oscillatorIndex >= 0) {
+            horizontalOscillators.remove((Enemy) object);
+            verticalOscillators.remove((Enemy) object);
+        }
+        if (object instanceof Wall) {
+            wallsChanged();
+        }
+        if (object == player) {
+            player = null;
+        }
+        super.removeObject(object);
+    }
+
+    /**
+     * Entfernt mehrere Actors und trägt sie aus dem Raster aus.
+     *
+     * @param objects Die zu entfernenden Actors
+     */
+    @Override
+    public void removeObjects(Collection<? extends Actor> objects) {
+        for (Actor object : new ArrayList<Actor>(objects)) {
+            removeObject(object);
+        }
+    }
+
+    /**
+     * Zeigt einen Text an und merkt sich die Position, damit reset()
+     * den Text wieder entfernen kann.
+     *
+     * @param text Der Text (leer = Text an dieser Position entfernen)
+     * @param x    X-Koordinate der Textmitte
+     * @param y    Y-Koordinate der Textmitte
+     */
+    @Override
+    public void showText(String text, int x, int y) {
+        super.showText(text, x, y);
+        for (int i = 0; i < textCount; i += 2) {
+            if (textPositions[i] == x && textPositions[i + 1] == y) {
+                textValues[i / 2] = text == null ? "" : text;
+                return;
+            }
+        }
+        if (textCount == textPositions.length) {
+            textPositions = Arrays.copyOf(textPositions, textCount * 2);
+            textValues = Arrays.copyOf(textValues, textCount);
+        }
+        textValues[textCount / 2] = text == null ? "" : text;
+        textPositions[textCount++] = x;
+        textPositions[textCount++] = y;
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    /**
+     * Speichert den aktuellen Zustand der Welt in einem neuen Snapshot.
+     *
+     * @return Der Snapshot
+     */
+    public WorldSnapshot snapshot() {
+        WorldSnapshot snapshot = new WorldSnapshot();
+        snapshot.capture(this);
+        return snapshot;
+    }
+
+    /**
+     * Stellt einen mit snapshot() gespeicherten Zustand wieder her.
+     *
+     * @param snapshot Zustand dieser Welt
+     * @throws IllegalStateException wenn der Snapshot nicht zu dieser Welt passt
+     */
+    public void restore(WorldSnapshot snapshot) {
+        snapshot.restore(this);
+    }
+
+    /**
+     * Schreibt den Zustand der Welt selbst (ohne Actors) in einen Snapshot.
+     */
+    void saveState(WorldSnapshot out) {
+        settle();
+        out.writeLong(seed);
+        out.writeLong(random.getState());
+        bullets.save(out);
+        horizontalOscillators.save(out);
+        verticalOscillators.save(out);
+        out.writeInt(textCount);
+        out.writeTexts(textValues, textCount / 2);
+    }
+
+    /**
+     * Liest den Zustand der Welt selbst aus einem Snapshot.
+     * Texte, die erst danach dazugekommen sind, werden entfernt.
+     */
+    void loadState(WorldSnapshot in) {
+        settle();
+        seed = in.readLong();
+        random.setState(in.readLong());
+        bullets.load(in);
+        horizontalOscillators.load(in);
+        verticalOscillators.load(in);
+        int savedCount = in.readInt();
+        String[] saved = in.readTexts();
+        for (int i = 0; i < textCount; i += 2) {
+            String text = i < savedCount ? saved[i / 2] : "";
+            if (!text.equals(textValues[i / 2])) {
+                showText(text, textPositions[i], textPositions[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Gibt an, wie oft bisher ein GameActor hinzugefügt oder entfernt wurde
+     * (ein Snapshot passt nur bei gleichem Wert, siehe WorldSnapshot.matches).
+     *
+     * @return Zähler der Actor-Änderungen
+     */
+    int getActorVersion() {
+        return actorVersion;
+    }
+
+    // ==================== ZUGRIFF ====================
+
+    /**
+     * Markiert die WallMap als veraltet. Wird aufgerufen, wenn eine Wand
+     * hinzugefügt, entfernt, verschoben oder skaliert wird.
+     */
+    public void wallsChanged() {
+        wallsChanged = true;
+    }
+    
+    /**
+     * Gibt die Belegungskarte der Wände zurück.
+     * 
+     * Hat sich seit dem letzten Aufruf eine Wand geändert, wird die Karte
+     * vorher aus allen Wall-Actors der Welt neu aufgebaut. Nach dem Aufbau
+     * eines Levels passiert das genau einmal.
+     * 
+     * @return Die aktuelle WallMap
+     */
+    public WallMap getWallMap() {
+        if (wallsChanged) {
+            wallMap.clear();
+            for (Wall wall : getObjects(Wall.class)) {
+                wallMap.add(wall.left(), wall.top(), wall.right(), wall.bottom());
+            }
+            wallsChanged = false;
+        }
+        return wallMap;
+    }
+    
+    /**
+     * Gibt die Anzeige (HUD) dieser Welt zurück.
+     * 
+     * @return Der Hud der Welt
+     */
+    public Hud getHud() {
+        if (hud == null) {
+            hud = new Hud(this);
+        }
+        return hud;
+    }
+    
+    /**
+     * Gibt das BulletSystem mit allen Projektilen dieser Welt zurück.
+     * 
+     * @return Das BulletSystem der Welt
+     */
+    public BulletSystem getBullets() {
+        return bullets;
+    }
+    
+    /**
+     * Gibt den OscillatorBatch für eine Bewegungsrichtung zurück.
+     * 
+     * @param vertical true für vertikale Pendler (GreenDot), false für horizontale (BlueDot)
+     * @return Der Batch der Welt für diese Richtung
+     */
+    public OscillatorBatch getOscillators(boolean vertical) {
+        return vertical ? verticalOscillators : horizontalOscillators;
+    }
+    
+    /**
+     * Gibt den Seed dieser Welt zurück.
+     * 
+     * @return Seed, aus dem alle Zufallszahlen der Welt abgeleitet werden
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Erzeugt einen neuen, unabhängigen Zufallsstrom für einen Actor.
+     * 
+     * @return Eigener Generator des Actors
+     */
+    public Rng newRandom() {
+        return random.split();
+    }
+    
+    /**
+     * Gibt den Spieler dieser Welt zurück.
+     * 
+     * @return Der Spieler oder null, wenn es (gerade) keinen gibt
+     */
+    public Player getPlayer() {
+        return player;
+    }
+    
+    /**
+     * Gibt die Wegkarte zum Spieler für eine Actor-Größe zurück.
+     * 
+     * Alle Follower gleicher Größe teilen sich dieselbe Karte. Fragt ein
+     * Actor mit anderer Größe, wird die Karte für diese Größe neu angelegt.
+     * 
+     * @param agentWidth  Breite des Actors in Pixeln
+     * @param agentHeight Höhe des Actors in Pixeln
+     * @return Die Wegkarte (muss vor der Abfrage mit update() aktualisiert werden)
+     */
+    public FlowField getFlowField(int agentWidth, int agentHeight) {
+        if (flowField == null || !flowField.fits(agentWidth, agentHeight)) {
+            flowField = new FlowField(getWidth(), getHeight(), agentWidth, agentHeight);
+        }
+        return flowField;
+    }
+    
+    /**
+     * Gibt das Kollisionsraster dieser Welt zurück.
+     *
+     * @return Das SpatialGrid der Welt
+     */
+    public SpatialGrid getGrid() {
+        return grid;
+    }
+}
@@ -96,23 +96,22 @@ public class GreenDot extends Enemy {
     
     /**
      * Wird einmalig aufgerufen, wenn der GreenDot zur Welt hinzugefügt wird.
-     * Skaliert das Bild auf die im Konstruktor angegebene Größe.
+     * Setzt das Bild in der im Konstruktor angegebenen Größe.
      * 
-     * Wichtig: Das Bild wird von einer Kopie aus skaliert, um Qualitätsverlust
-     * zu vermeiden. Dies ist besonders wichtig bei mehrfachem Skalieren.
+     * Das skalierte Bild kommt aus dem SpriteCache: Alle GreenDots gleicher
+     * Größe teilen sich dasselbe Bild, statt jeweils eine eigene Kopie
+     * zu skalieren.
+     * 
+     * In einer GameWorld trägt sich der GreenDot danach in den vertikalen
+     * OscillatorBatch ein, der alle GreenDots gemeinsam bewegt.
      * 
      * @param w Die Welt, zu der der GreenDot hinzugefügt wurde
      */
     @Override
     protected void addedToWorld(World w) {
-        GreenfootImage img = getImage();
-        if (img != null) {
-            // Neue Kopie des Bildes erstellen (wichtig für Qualität!)
-            GreenfootImage scaled = new GreenfootImage(img);
-            // Auf gewünschte Größe skalieren
-            scaled.scale(size, size);
-            // Skaliertes Bild setzen
-            setImage(scaled);
+        setImage(SpriteCache.get(this, size, size));
+        if (w instanceof GameWorld) {
+            ((GameWorld) w).getOscillators(true).add(this, minY, maxY, speed);
         }
     }
     
@@ -121,6 +120,9 @@ public class GreenDot extends Enemy {
     /**
      * Wird in jedem Spieltakt aufgerufen und steuert die Bewegung des GreenDots.
      * 
+     * Ist der GreenDot in einem OscillatorBatch eingetragen, übernimmt die
+     * GameWorld die Bewegung und diese Methode kehrt sofort zurück.
+     * 
      * Ablauf:
      * 1. Bewege den GreenDot um 'speed' Pixel nach oben oder unten
      * 2. Prüfe, ob die Bewegungsgrenzen (minY/maxY) erreicht wurden
@@ -129,7 +131,11 @@ public class GreenDot extends Enemy {
      * 5. Wenn Wand berührt: Position zurücksetzen und Richtung umkehren
      */
     @Override
-    public void act() {
+    public void tick() {
+        if (oscillatorIndex >= 0) {
+            return;
+        }
+        
         // === SCHRITT 1: Bewegung ausführen ===
         // dy speichert die aktuelle Bewegung für spätere Korrektur
         int dy = speed;
@@ -155,11 +161,34 @@ public class GreenDot extends Enemy {
         
         // === SCHRITT 3: Wandkollision prüfen ===
         // Wenn der GreenDot eine Wand berührt, muss er zurückprallen
-        if (!getIntersectingObjects(Wall.class).isEmpty()) {
+        if (isTouchingWall()) {
             // Bewegung rückgängig machen (zurück zur Position vor der Kollision)
             bounceBack(0, dy);
             // Richtung umkehren
             speed = -speed;
         }
     }
+    
+    // ==================== SNAPSHOT ====================
+    
+    /**
+     * Speichert Geschwindigkeit und Richtung (siehe WorldSnapshot).
+     * Im OscillatorBatch speichert der Batch diese Werte selbst.
+     * 
+     * @param out Ziel-Snapshot
+     */
+    @Override
+    protected void saveState(WorldSnapshot out) {
+        out.writeInt(speed);
+    }
+    
+    /**
+     * Stellt Geschwindigkeit und Richtung wieder her.
+     * 
+     * @param in Quell-Snapshot
+     */
+    @Override
+    protected void loadState(WorldSnapshot in) {
+        speed = in.readInt();
+    }
 }
@@ -0,0 +1,511 @@
+import greenfoot.*;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * HeadlessRunner - Führt das Spiel ohne Fenster in einer festen Taktschleife aus.
+ *
+ * Im normalen Spiel bestimmt Greenfoot das Tempo: Jeder Takt wird gezeichnet
+ * und die Geschwindigkeit hängt vom Regler ab. Für Experimente, Regressions-
+ * tests und Schwierigkeitsmessungen ist das viel zu langsam. Der HeadlessRunner
+ * ruft die act()-Methoden deshalb selbst auf, so schnell wie möglich, ohne
+ * Neuzeichnen und ohne Sound.
+ *
+ * Ablauf eines Takts (wie GameWorld.step im normalen Spiel):
+ * 1. Die Welt selbst (Eingabe, Pendler, Projektile)
+ * 2. tick() aller Actors der Welt (in der Reihenfolge der Welt)
+ * 3. Wurde dabei die Welt gewechselt, endet der Takt sofort
+ *
+ * Die Uhr der GameWorld (fester Zeittakt, Zeichnen zwischen den Takten)
+ * wird dabei nicht verwendet: Jeder Aufruf ist genau ein Takt.
+ *
+ * Die Level (Level1 bis Level5) und alle Actor-Klassen laufen unverändert.
+ * Tastatur, Sound und Weltwechsel gehen über die Klasse Game, die im
+ * Headless-Betrieb an diesen Runner weiterleitet:
+ * - Tastendrücke kommen aus einem KeyScript
+ * - Sounds werden nicht abgespielt
+ * - Game.setWorld wechselt die Welt des Runners
+ * - Game.stop beendet die Schleife
+ * - Game.nextWorldSeed liefert Seeds aus dem Runner-Seed
+ * - Levelwechsel verwenden die Welten einer eigenen LevelRegistry
+ *
+ * Alle Zufallszahlen der Gegner werden aus dem Seed ihrer Welt abgeleitet.
+ * Zwei Läufe mit demselben Seed und demselben KeyScript verlaufen deshalb
+ * Takt für Takt gleich.
+ *
+ * Verwendungsbeispiel:
+ * <pre>
+ * HeadlessRunner runner = new HeadlessRunner(KeyScript.NONE);
+ * long ticks = runner.run(Level1::new, 100000);
+ * System.out.println(ticks + " Takte, Welt: " + runner.getWorld());
+ * </pre>
+ *
+ * Start von der Kommandozeile (greenfoot.jar muss im Klassenpfad liegen):
+ * <pre>
+ * java -Djava.awt.headless=true -cp greenfoot.jar:. HeadlessRunner 3 100000
+ * </pre>
+ *
+ * Jeder Runner gehört zu genau einem Thread. Mehrere Runner auf verschiedenen
+ * Threads beeinflussen sich nicht gegenseitig.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class HeadlessRunner {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Standard-Anzahl Takte für den Start von der Kommandozeile */
+    private static final long DEFAULT_TICKS = 100000;
+
+    /** runUntil prüft die Uhr nur alle so viele Takte */
+    private static final long DEADLINE_CHECK_TICKS = 64;
+
+    /** Standard-Seed (damit Messungen ohne Angabe vergleichbar bleiben) */
+    public static final long DEFAULT_SEED = 1;
+
+    /** Runner, der auf dem aktuellen Thread gerade läuft (oder null) */
+    private static final ThreadLocal<HeadlessRunner> CURRENT = new ThreadLocal<>();
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Quelle für die Tastendrücke */
+    private final KeyScript script;
+
+    /** Aktuelle Welt der Simulation */
+    private World world;
+
+    /** Nummer des aktuellen Takts (beginnt bei 0) */
+    private long tick;
+
+    /** Wird durch Game.stop() auf false gesetzt */
+    private boolean running;
+
+    /** Anzahl der Weltwechsel seit dem Start */
+    private int worldChanges;
+
+    /** Anzahl abgebrochener Takte ohne Weltwechsel seit dem Start (siehe interrupt) */
+    private int interruptions;
+
+    /** Seed des Laufs */
+    private long seed = DEFAULT_SEED;
+
+    /** Verliert der Spieler bei Treffern keine Leben (siehe setInvulnerable)? */
+    private boolean invulnerable;
+
+    /** Liefert die Seeds der Welten, die während des Laufs entstehen */
+    private Rng worldSeeds;
+
+    /** Tastenzustand dieses Runners (siehe Input) */
+    private final Input input = new Input();
+
+    /** Aufbewahrte Level-Welten dieses Runners (siehe LevelRegistry) */
+    private final LevelRegistry levels = new LevelRegistry();
+
+    /** Profiler dieses Runners (ausgeschaltet, bis setEnabled(true)) */
+    private final Profiler profiler = new Profiler();
+
+    /** Zählt die angelegten Bytes der Takte dieses Runners */
+    private final AllocationTracker allocations = new AllocationTracker();
+
+    /** Meldet die Kennzahlen dieses Runners an GameMetrics */
+    private final GameMetrics.Source metrics = new GameMetrics.Source();
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt einen Runner mit vorgegebenen Tastatureingaben.
+     *
+     * @param script Liefert für jeden Takt die gedrückten Tasten
+     */
+    public HeadlessRunner(KeyScript script) {
+        this.script = script;
+    }
+
+    // ==================== SIMULATION ====================
+
+    /**
+     * Baut die Startwelt und führt höchstens maxTicks Takte aus.
+     *
+     * Die Welt wird erst innerhalb des Runners erzeugt, damit schon der
+     * Konstruktor des Levels im Headless-Betrieb läuft.
+     *
+     * @param start    Erzeugt die Startwelt (z.B. Level1::new)
+     * @param maxTicks Maximale Anzahl Takte
+     * @return Anzahl der tatsächlich ausgeführten Takte
+     */
+    public long run(Supplier<? extends World> start, long maxTicks) {
+        return call(() -> {
+            begin(start);
+            while (running && tick < maxTicks) {
+                step();
+            }
+            return tick;
+        });
+    }
+
+    /**
+     * Wie run(), bricht aber zusätzlich ab, sobald System.nanoTime() den
+     * angegebenen Zeitpunkt erreicht (geprüft alle DEADLINE_CHECK_TICKS
+     * Takte). Für zeitlich begrenzte Läufe wie WarmUp.
+     *
+     * @param start    Erzeugt die Startwelt (z.B. Level1::new)
+     * @param maxTicks Maximale Anzahl Takte
+     * @param deadline Zeitpunkt im Maß von System.nanoTime()
+     * @return Anzahl der tatsächlich ausgeführten Takte
+     */
+    public long runUntil(Supplier<? extends World> start, long maxTicks, long deadline) {
+        return call(() -> {
+            begin(start);
+            while (running && tick < maxTicks) {
+                step();
+                if (tick % DEADLINE_CHECK_TICKS == 0 && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+            return tick;
+        });
+    }
+
+    /**
+     * Setzt den Lauf zurück und baut die Startwelt.
+     */
+    private void begin(Supplier<? extends World> start) {
+        tick = 0;
+        worldChanges = 0;
+        interruptions = 0;
+        running = true;
+        worldSeeds = new Rng(seed);
+        world = start.get();
+    }
+
+    /**
+     * Führt beliebigen Code im Headless-Betrieb dieses Runners aus.
+     *
+     * Während der Ausführung gehen alle Aufrufe über Game (Tastatur, Sound,
+     * Weltwechsel, Seeds) an diesen Runner. So lassen sich z.B. einzelne
+     * act()-Methoden messen, ohne die ganze Taktschleife zu starten
+     * (siehe Benchmark).
+     *
+     * @param task Auszuführender Code
+     * @return Ergebnis des Codes
+     */
+    public <T> T call(Supplier<T> task) {
+        HeadlessRunner previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous != this) {
+                metrics.close();
+            }
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Führt genau einen Takt aus (bei einer GameWorld über deren step()).
+     *
+     * Actors, die während des Takts entfernt wurden, werden übersprungen.
+     * Wechselt ein Actor die Welt (Level geschafft, Game Over), endet der
+     * Takt sofort, damit die übrigen Actors der alten Welt nicht mehr handeln.
+     */
+    private void step() {
+        World w = world;
+        if (w instanceof GameWorld) {
+            ((GameWorld) w).step();
+            tick++;
+            return;
+        }
+        w.act();
+        List<Actor> actors = w.getObjects(null);
+        for (Actor actor : actors) {
+            if (world != w || !running) {
+                break;
+            }
+            if (actor.getWorld() == w) {
+                actor.act();
+            }
+        }
+        tick++;
+    }
+
+    // ==================== AUFRUFE AUS GAME ====================
+
+    /**
+     * Beantwortet Game.isKeyDown im Headless-Betrieb.
+     *
+     * @param key Name der Taste
+     * @return true, wenn das Skript die Taste im aktuellen Takt drückt
+     */
+    public boolean isKeyDown(String key) {
+        return script.isKeyDown(key, tick);
+    }
+
+    /**
+     * Liefert den Seed für eine neue Welt (wird von Game.nextWorldSeed aufgerufen).
+     *
+     * @return Seed für die nächste Welt
+     */
+    public long nextWorldSeed() {
+        if (worldSeeds == null) {
+            worldSeeds = new Rng(seed);
+        }
+        return worldSeeds.nextLong();
+    }
+
+    /**
+     * Wechselt die Welt (wird von Game.setWorld aufgerufen).
+     *
+     * @param world Die neue Welt
+     */
+    public void setWorld(World world) {
+        this.world = world;
+        worldChanges++;
+    }
+
+    /**
+     * Beendet den aktuellen Takt, ohne die Welt zu wechseln (wird von
+     * Game.interrupt aufgerufen).
+     */
+    public void interrupt() {
+        interruptions++;
+    }
+
+    /**
+     * Beendet die Simulation nach dem aktuellen Takt (wird von Game.stop aufgerufen).
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * Erstellt einen Runner, der eine Aufnahme wiedergibt.
+     * Tasten und Seed kommen aus der Aufnahme.
+     *
+     * @param replay Die Aufnahme
+     * @return Runner für die Wiedergabe
+     */
+    public static HeadlessRunner forReplay(InputReplay replay) {
+        HeadlessRunner runner = new HeadlessRunner(replay);
+        runner.setSeed(replay.getSeed());
+        return runner;
+    }
+
+    // ==================== EINSTELLUNGEN ====================
+
+    /**
+     * Legt den Seed für die folgenden Läufe fest.
+     *
+     * @param seed Startwert (Standard: DEFAULT_SEED)
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.worldSeeds = null;
+    }
+
+    /**
+     * Schaltet Schaden aus oder ein. Ohne Schaden geht der Spieler bei einem
+     * Treffer nur auf die Startposition zurück, verliert aber kein Leben;
+     * ein Game Over (und damit der Wechsel zu Level 1) bleibt aus. Für
+     * Messungen, die lange in einem Level bleiben müssen (AllocationTracker).
+     *
+     * @param value true = kein Schaden (Standard: false)
+     */
+    public void setInvulnerable(boolean value) {
+        this.invulnerable = value;
+    }
+
+    /**
+     * Gibt an, ob der Spieler in diesem Runner unverwundbar ist.
+     *
+     * @return true, wenn Treffer kein Leben kosten
+     */
+    public boolean isInvulnerable() {
+        return invulnerable;
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Gibt den Runner zurück, der auf dem aktuellen Thread läuft.
+     *
+     * @return Der aktive Runner oder null im normalen Spiel
+     */
+    public static HeadlessRunner current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gibt den Tastenzustand dieses Runners zurück (z.B. zum Aufnehmen).
+     *
+     * @return Input des Runners
+     */
+    public Input getInput() {
+        return input;
+    }
+
+    /**
+     * Gibt die Level-Registry dieses Runners zurück.
+     *
+     * @return Registry mit den aufbewahrten Welten des Runners
+     */
+    public LevelRegistry getLevels() {
+        return levels;
+    }
+
+    /**
+     * Gibt den Profiler dieses Runners zurück.
+     *
+     * @return Profiler des Runners
+     */
+    public Profiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Gibt den AllocationTracker dieses Runners zurück.
+     *
+     * @return AllocationTracker des Runners
+     */
+    public AllocationTracker getAllocations() {
+        return allocations;
+    }
+
+    /**
+     * Gibt die Source zurück, über die dieser Runner an GameMetrics meldet.
+     *
+     * @return Source des Runners
+     */
+    GameMetrics.Source getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gibt die aktuelle Welt zurück.
+     *
+     * @return Aktuelle Welt der Simulation
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Gibt die Nummer des aktuellen Takts zurück.
+     *
+     * @return Anzahl der bisher ausgeführten Takte
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gibt an, ob die Simulation noch läuft.
+     *
+     * @return false, nachdem Game.stop() aufgerufen wurde
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gibt die Anzahl der Weltwechsel zurück (Level geschafft, Game Over, Cheats).
+     *
+     * @return Anzahl der Weltwechsel seit dem Start
+     */
+    public int getWorldChanges() {
+        return worldChanges;
+    }
+
+    /**
+     * Gibt einen Zähler zurück, der bei jedem Weltwechsel, jedem Abbruch
+     * (interrupt) und beim Anhalten wächst (siehe Game.getInterruptions).
+     *
+     * @return Weltwechsel, Abbrüche und Stopp zusammen
+     */
+    int getInterruptions() {
+        return worldChanges + interruptions + (running ? 0 : 1);
+    }
+
+    // ==================== KOMMANDOZEILE ====================
+
+    /**
+     * Startet ein Level ohne Fenster und misst die Takte pro Sekunde.
+     *
+     * Argumente:
+     * - args[0]: Level-Nummer 1 bis 5 (Standard: 1)
+     * - args[1]: Anzahl Takte (Standard: 100000)
+     * - args[2]: Zusätzliche Pendler ohne Actor für Lasttests (Standard: 0)
+     * - args[3]: Seed (Standard: DEFAULT_SEED)
+     *
+     * @param args Kommandozeilen-Argumente
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int level = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        long ticks = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_TICKS;
+        int oscillators = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+
+        Supplier<World> factory = levelFactory(level);
+        if (oscillators > 0) {
+            factory = withOscillators(factory, oscillators);
+        }
+        HeadlessRunner runner = new HeadlessRunner(KeyScript.NONE);
+        runner.setSeed(seed);
+        long start = System.nanoTime();
+        long done = runner.run(factory, ticks);
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("Level %d: %d Takte in %.1f ms (%.0f Takte/s), Weltwechsel: %d, "
+                + "Welten gebaut: %d, zurückgesetzt: %d%n",
+                level, done, nanos / 1e6, done * 1e9 / nanos, runner.getWorldChanges(),
+                runner.getLevels().getBuilds(), runner.getLevels().getResets());
+    }
+
+    /**
+     * Liefert den Konstruktor für eine Level-Nummer.
+     *
+     * @param level Level-Nummer 1 bis 5
+     * @return Erzeugt eine neue Welt des Levels
+     */
+    public static Supplier<World> levelFactory(int level) {
+        Supplier<? extends GameWorld> factory = LevelRegistry.factory(level);
+        return factory::get;
+    }
+
+    /**
+     * Ergänzt ein Level um viele Pendler ohne Actor (Lasttest für den OscillatorBatch).
+     * Die Pendler sind abwechselnd horizontal und vertikal und über die ganze
+     * Welt verteilt.
+     *
+     * @param level Erzeugt die eigentliche Welt
+     * @param count Anzahl zusätzlicher Pendler
+     * @return Erzeugt die Welt mit den zusätzlichen Pendlern
+     */
+    static Supplier<World> withOscillators(Supplier<World> level, int count) {
+        return () -> {
+            World world = level.get();
+            if (world instanceof GameWorld) {
+                GameWorld gw = (GameWorld) world;
+                int w = gw.getWidth();
+                int h = gw.getHeight();
+                for (int i = 0; i < count; i++) {
+                    int x = (i * 7919) % w;
+                    int y = (i * 104729) % h;
+                    int speed = 1 + i % 5;
+                    if (i % 2 == 0) {
+                        gw.getOscillators(false).add(x, y, 0, w - 1, speed, 20);
+                    } else {
+                        gw.getOscillators(true).add(y, x, 0, h - 1, speed, 36);
+                    }
+                }
+            }
+            return world;
+        };
+    }
+}
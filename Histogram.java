@@ -0,0 +1,153 @@
+import java.util.Arrays;
+
+/**
+ * Histogram - Verteilung von Messwerten (z.B. Nanosekunden) mit festem Speicher.
+ *
+ * Für Perzentile wie p50 oder p99 müsste man eigentlich alle Messwerte
+ * aufheben und sortieren. Das Histogramm zählt stattdessen nur, wie viele
+ * Werte in welchen Bereich fallen. Die Bereiche wachsen mit dem Wert:
+ * Jede Zweierpotenz ist in SUB_BUCKETS gleich breite Bereiche geteilt.
+ * Damit ist jedes Perzentil auf etwa 1/16 (6 %) genau, egal ob der Wert
+ * 50 Nanosekunden oder 5 Sekunden beträgt.
+ *
+ * Ein Messwert kostet nur eine Bit-Operation und ein Hochzählen im Array,
+ * es wird nichts angelegt. Der Speicher ist immer gleich (ca. 4 KB).
+ *
+ * Verwendung:
+ * <pre>
+ * Histogram times = new Histogram();
+ * long start = System.nanoTime();
+ * // ... messen ...
+ * times.record(System.nanoTime() - start);
+ * long p99 = times.percentile(0.99);
+ * </pre>
+ *
+ * Ein Histogramm ist nicht threadsicher. Wer aus mehreren Threads zählt,
+ * verwendet dieselbe Einteilung (index, middle) mit eigenen Zählern
+ * (siehe GameMetrics).
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class Histogram {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Bits für die Unterteilung einer Zweierpotenz */
+    private static final int SUB_BITS = 3;
+
+    /** Bereiche pro Zweierpotenz */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /** Anzahl Bereiche (reicht für alle positiven long-Werte) */
+    static final int BUCKETS = (64 - SUB_BITS) << SUB_BITS;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Anzahl Werte pro Bereich */
+    private final long[] counts = new long[BUCKETS];
+
+    /** Anzahl aller Werte */
+    private long total;
+
+    /** Größter Wert */
+    private long max;
+
+    // ==================== MESSEN ====================
+
+    /**
+     * Zählt einen Messwert. Negative Werte zählen als 0.
+     *
+     * @param value Der Wert
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[index(value)]++;
+        total++;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Vergisst alle Messwerte.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0L);
+        total = 0;
+        max = 0;
+    }
+
+    // ==================== AUSWERTEN ====================
+
+    /**
+     * Gibt ein Perzentil zurück (Mitte des Bereichs, in den es fällt).
+     *
+     * @param fraction Anteil zwischen 0 und 1 (z.B. 0.99 für p99)
+     * @return Ungefährer Wert, unter dem dieser Anteil der Werte liegt
+     *         (0, wenn es keine Werte gibt)
+     */
+    public long percentile(double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(middle(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Gibt die Anzahl der Messwerte zurück.
+     *
+     * @return Anzahl Werte seit dem letzten clear()
+     */
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Gibt den größten Messwert zurück.
+     *
+     * @return Größter Wert (genau, nicht gerundet)
+     */
+    public long max() {
+        return max;
+    }
+
+    // ==================== BEREICHE ====================
+
+    /**
+     * Gibt den Bereich eines Werts zurück. Kleine Werte (unter SUB_BUCKETS)
+     * haben je einen eigenen Bereich, danach wird pro Zweierpotenz in
+     * SUB_BUCKETS Bereiche geteilt.
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return ((exp - SUB_BITS + 1) << SUB_BITS) + sub;
+    }
+
+    /**
+     * Gibt die Mitte eines Bereichs zurück (Umkehrung von index).
+     */
+    static long middle(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exp = (index >> SUB_BITS) + SUB_BITS - 1;
+        int sub = index & (SUB_BUCKETS - 1);
+        long width = 1L << (exp - SUB_BITS);
+        return (SUB_BUCKETS + sub) * width + width / 2;
+    }
+}
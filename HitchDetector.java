@@ -0,0 +1,617 @@
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * HitchDetector - Findet Ruckler und sucht ihre Ursache.
+ *
+ * Der Profiler zeigt, wie lange die Takte im Mittel dauern, aber nicht,
+ * warum einzelne Takte plötzlich lang sind. Meist liegt es nicht am Spiel
+ * selbst, sondern an etwas, das gleichzeitig passiert ist: Garbage
+ * Collection, der JIT-Compiler, das Nachladen von Klassen, der Aufbau des
+ * nächsten Levels, ein Sound oder ein Bild, das erst geladen werden muss.
+ *
+ * Der HitchDetector liest dazu die Ereignisse des Java Flight Recorders
+ * laufend mit (RecordingStream):
+ * - HardestGameEver.Tick nur für Takte über der Schwelle (Ruckler)
+ * - jdk.GarbageCollection, jdk.Compilation, jdk.ClassLoad, jdk.FileRead
+ * - HardestGameEver.WorldBuild, SoundLoad und ImageScale (GameEvents)
+ *
+ * Jeder Ruckler wird mit allen Ereignissen verglichen, die sich zeitlich
+ * mit ihm überschneiden, und als eine kurze Zeile gemeldet, z.B.:
+ * <pre>
+ * Ruckler Level3 Takt 1234: 48.2 ms | GC 31.0 ms (G1 Young Generation), Klassen 12x 2.1 ms (Pulsar)
+ * </pre>
+ * Klassen, Aufbau, Bild und Datei zählen nur auf dem Thread des Takts,
+ * GC, JIT und Sound auf allen Threads (der Sound wird auf dem Audio-Thread
+ * geladen).
+ *
+ * Die JVM liefert die Ereignisse etwa einmal pro Sekunde. Ein Ruckler
+ * wird erst eine Lieferung später ausgewertet, damit auch Ereignisse
+ * dabei sind, die über das Ende des Takts hinaus liefen. Beim Ausschalten
+ * wartet deshalb ein eigener Thread noch auf zwei weitere Lieferungen
+ * (höchstens STOP_WAIT_MILLIS); das Spiel läuft währenddessen weiter.
+ *
+ * Im normalen Spiel schaltet die Taste TOGGLE_KEY den gemeinsamen
+ * HitchDetector ein und aus; er meldet auf System.out. Ohne Fenster:
+ * <pre>
+ * java -Djava.awt.headless=true -cp greenfoot.jar:. HitchDetector 3 200000 5
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class HitchDetector {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Standard-Schwelle für einen Ruckler: länger als ein Bild bei 50 Hz */
+    public static final long DEFAULT_THRESHOLD_MILLIS = 20;
+
+    /** Taste zum Ein- und Ausschalten im normalen Spiel */
+    public static final String TOGGLE_KEY = "h";
+
+    /** Anzahl gemeldeter Ruckler, die für getHitches() aufgehoben werden */
+    public static final int MAX_RECORDS = 100;
+
+    /** So lange werden Ursachen für spätere Ruckler aufgehoben */
+    private static final Duration RETAIN = Duration.ofSeconds(5);
+
+    /** So lange wartet setEnabled(false) höchstens auf die letzten Lieferungen */
+    public static final long STOP_WAIT_MILLIS = 3000;
+
+    /** Kürzere Übersetzungen des JIT werden nicht betrachtet */
+    private static final Duration COMPILATION_THRESHOLD = Duration.ofMillis(1);
+
+    /** Namen der Ereignisse des Spiels */
+    private static final String TICK = "HardestGameEver.Tick";
+    private static final String WORLD_BUILD = "HardestGameEver.WorldBuild";
+    private static final String SOUND_LOAD = "HardestGameEver.SoundLoad";
+    private static final String IMAGE_SCALE = "HardestGameEver.ImageScale";
+
+    /** HitchDetector des normalen Spiels */
+    private static final HitchDetector LIVE = new HitchDetector(
+            Duration.ofMillis(DEFAULT_THRESHOLD_MILLIS), System.out::println);
+
+    // ==================== RUCKLER UND URSACHEN ====================
+
+    /**
+     * Ein Takt über der Schwelle. Die Werte werden aus dem Ereignis
+     * kopiert, weil der RecordingStream seine Ereignis-Objekte
+     * wiederverwendet.
+     */
+    private static final class Hitch {
+
+        final String world;
+        final long tick;
+        final Instant start;
+        final Instant end;
+        final long thread;
+
+        Hitch(RecordedEvent event) {
+            world = event.getString("world");
+            tick = event.getLong("tick");
+            start = event.getStartTime();
+            end = event.getEndTime();
+            thread = threadId(event);
+        }
+    }
+
+    /**
+     * Ein Ereignis, das einen Ruckler verursacht haben kann.
+     */
+    private static final class Cause {
+
+        /** Art der Ursache (z.B. "GC") */
+        final String kind;
+
+        /** Genauere Angabe (z.B. Name des Collectors) */
+        final String detail;
+
+        final Instant start;
+        final Instant end;
+
+        /** Dauer, die gemeldet wird (bei GC nur die Pausen) */
+        final Duration duration;
+
+        /** Thread des Ereignisses oder -1, wenn jeder Thread zählt */
+        final long thread;
+
+        Cause(String kind, String detail, RecordedEvent event, Duration duration, boolean anyThread) {
+            this.kind = kind;
+            this.detail = detail;
+            this.start = event.getStartTime();
+            this.end = event.getEndTime();
+            this.duration = duration;
+            this.thread = anyThread ? -1 : threadId(event);
+        }
+
+        /**
+         * Prüft, ob die Ursache zu einem Ruckler passt.
+         */
+        boolean overlaps(Hitch hitch) {
+            return (thread == -1 || thread == hitch.thread)
+                && start.isBefore(hitch.end) && end.isAfter(hitch.start);
+        }
+    }
+
+    /**
+     * Alle Ursachen einer Art in einem Ruckler.
+     */
+    private static final class Summary {
+
+        int count;
+        Duration total = Duration.ZERO;
+
+        /** Längste Ursache dieser Art */
+        Cause longest;
+
+        void add(Cause cause) {
+            count++;
+            total = total.plus(cause.duration);
+            if (longest == null || cause.duration.compareTo(longest.duration) > 0) {
+                longest = cause;
+            }
+        }
+    }
+
+    // ==================== AUFNAHME ====================
+
+    /**
+     * Ein Stream mit allen Rucklern und Ursachen, die er geliefert hat.
+     *
+     * Jedes Einschalten legt eine neue Session an. Beim Ausschalten wird
+     * die alte auf einem eigenen Thread beendet (stop), damit weder das
+     * Spiel wartet noch ein erneutes Einschalten mit ihr vermischt wird.
+     * Listen, Ursachen und Zähler sind durch lock geschützt: Läuft der
+     * Stream-Thread nach dem Schließen noch kurz weiter, darf er nicht
+     * gleichzeitig mit stop() auswerten.
+     */
+    private final class Session {
+
+        /** Der Stream dieser Session */
+        final RecordingStream stream;
+
+        /** Ruckler der laufenden Lieferung */
+        final List<Hitch> pending = new ArrayList<>();
+
+        /** Ruckler der vorigen Lieferung, werden als nächste ausgewertet */
+        final List<Hitch> ready = new ArrayList<>();
+
+        /** Aufgehobene Ursachen */
+        final ArrayDeque<Cause> causes = new ArrayDeque<>();
+
+        /** Spätestes Ende aller bisher gelieferten Ereignisse */
+        Instant newest = Instant.EPOCH;
+
+        /** Sperre für alle Felder der Session außer stream */
+        final Object lock = new Object();
+
+        /** Anzahl ausgewerteter Lieferungen */
+        long flushes;
+
+        /** Wurde stop() schon ausgewertet? Spätere Lieferungen entfallen. */
+        boolean stopped;
+
+        Session() {
+            stream = open();
+        }
+
+        /**
+         * Legt den Stream mit allen benötigten Ereignissen an.
+         */
+        private RecordingStream open() {
+            RecordingStream rs = new RecordingStream();
+            rs.setReuse(true);
+            rs.setOrdered(true);
+            rs.enable(TICK).withThreshold(threshold);
+            rs.enable(WORLD_BUILD).withThreshold(Duration.ZERO);
+            rs.enable(SOUND_LOAD).withThreshold(Duration.ZERO);
+            rs.enable(IMAGE_SCALE).withThreshold(Duration.ZERO);
+            rs.enable("jdk.GarbageCollection").withThreshold(Duration.ZERO);
+            rs.enable("jdk.Compilation").withThreshold(COMPILATION_THRESHOLD);
+            rs.enable("jdk.ClassLoad").withThreshold(Duration.ZERO).withoutStackTrace();
+            rs.enable("jdk.FileRead").withThreshold(Duration.ZERO).withoutStackTrace();
+
+            rs.onEvent(TICK, e -> addHitch(new Hitch(e)));
+            rs.onEvent(WORLD_BUILD, e -> add(new Cause("Aufbau",
+                    e.getString("world") + " " + e.getString("reason"), e, e.getDuration(), false)));
+            rs.onEvent(SOUND_LOAD, e -> add(new Cause("Sound",
+                    e.getString("file"), e, e.getDuration(), true)));
+            rs.onEvent(IMAGE_SCALE, e -> add(new Cause("Bild",
+                    e.getString("actor") + " " + e.getInt("width") + "x" + e.getInt("height"),
+                    e, e.getDuration(), false)));
+            rs.onEvent("jdk.GarbageCollection", e -> add(new Cause("GC",
+                    e.getString("name"), e, e.getDuration("sumOfPauses"), true)));
+            rs.onEvent("jdk.Compilation", e -> add(new Cause("JIT",
+                    methodName(e.getValue("method")), e, e.getDuration(), true)));
+            rs.onEvent("jdk.ClassLoad", e -> add(new Cause("Klassen",
+                    simpleName(e.getClass("loadedClass").getName()), e, e.getDuration(), false)));
+            rs.onEvent("jdk.FileRead", e -> add(new Cause("Datei",
+                    String.valueOf(e.getString("path")), e, e.getDuration(), false)));
+            rs.onFlush(this::flush);
+            return rs;
+        }
+
+        /**
+         * Beendet die Session (nicht auf dem Spiel-Thread aufrufen): Wartet
+         * auf zwei weitere Lieferungen, schließt den Stream und meldet die
+         * noch wartenden Ruckler mit den bis dahin gelieferten Ursachen.
+         */
+        void stop() {
+            awaitFlushes(2);
+            stream.close();
+            try {
+                stream.awaitTermination();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (lock) {
+                stopped = true;
+                ready.addAll(pending);
+                pending.clear();
+                evaluate();
+                causes.clear();
+            }
+        }
+
+        /**
+         * Wartet, bis der Stream noch count Lieferungen ausgewertet hat, aber
+         * höchstens STOP_WAIT_MILLIS.
+         */
+        private void awaitFlushes(int count) {
+            long deadline = System.nanoTime() + STOP_WAIT_MILLIS * 1_000_000L;
+            synchronized (lock) {
+                long target = flushes + count;
+                long left = deadline - System.nanoTime();
+                while (flushes < target && left > 0) {
+                    try {
+                        lock.wait(Math.max(1, left / 1_000_000L));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    left = deadline - System.nanoTime();
+                }
+            }
+        }
+
+        // ==================== AUSWERTEN (Stream-Thread) ====================
+
+        /**
+         * Stellt einen Ruckler bis zur nächsten Lieferung zurück.
+         */
+        private void addHitch(Hitch hitch) {
+            synchronized (lock) {
+                if (!stopped) {
+                    pending.add(hitch);
+                }
+            }
+        }
+
+        /**
+         * Hebt eine Ursache auf.
+         */
+        private void add(Cause cause) {
+            synchronized (lock) {
+                if (stopped) {
+                    return;
+                }
+                causes.addLast(cause);
+                if (cause.end.isAfter(newest)) {
+                    newest = cause.end;
+                }
+            }
+        }
+
+        /**
+         * Nach jeder Lieferung: Wertet die Ruckler der vorigen Lieferung aus,
+         * stellt die neuen zurück und vergisst alte Ursachen.
+         */
+        private void flush() {
+            synchronized (lock) {
+                if (stopped) {
+                    return;
+                }
+                evaluate();
+                ready.addAll(pending);
+                pending.clear();
+                for (Hitch hitch : ready) {
+                    if (hitch.end.isAfter(newest)) {
+                        newest = hitch.end;
+                    }
+                }
+                Instant cutoff = newest.minus(RETAIN);
+                for (Hitch hitch : ready) {
+                    if (hitch.start.isBefore(cutoff)) {
+                        cutoff = hitch.start;
+                    }
+                }
+                Iterator<Cause> it = causes.iterator();
+                while (it.hasNext()) {
+                    if (it.next().end.isBefore(cutoff)) {
+                        it.remove();
+                    }
+                }
+                flushes++;
+                lock.notifyAll();
+            }
+        }
+
+        /**
+         * Meldet alle zurückgestellten Ruckler (nur mit lock).
+         */
+        private void evaluate() {
+            for (Hitch hitch : ready) {
+                report(describe(hitch));
+            }
+            ready.clear();
+        }
+
+        /**
+         * Beschreibt einen Ruckler mit seinen Ursachen in einer Zeile.
+         */
+        private String describe(Hitch hitch) {
+            Map<String, Summary> kinds = new LinkedHashMap<>();
+            for (Cause cause : causes) {
+                if (cause.overlaps(hitch)) {
+                    kinds.computeIfAbsent(cause.kind, k -> new Summary()).add(cause);
+                }
+            }
+            StringBuilder line = new StringBuilder();
+            line.append("Ruckler ").append(hitch.world).append(" Takt ").append(hitch.tick).append(": ")
+                .append(millis(Duration.between(hitch.start, hitch.end))).append(" | ");
+            if (kinds.isEmpty()) {
+                line.append("Ursache unbekannt");
+            }
+            String separator = "";
+            for (Map.Entry<String, Summary> entry : kinds.entrySet()) {
+                Summary summary = entry.getValue();
+                line.append(separator).append(entry.getKey()).append(' ');
+                if (summary.count > 1) {
+                    line.append(summary.count).append("x ");
+                }
+                line.append(millis(summary.total)).append(" (").append(summary.longest.detail).append(')');
+                separator = ", ";
+            }
+            return line.toString();
+        }
+    }
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Takte ab dieser Dauer sind Ruckler */
+    private final Duration threshold;
+
+    /** Empfänger der Meldungen */
+    private final Consumer<String> log;
+
+    /** Laufende Session (null, wenn ausgeschaltet) */
+    private Session session;
+
+    /** Thread, der die zuletzt ausgeschaltete Session beendet (oder null) */
+    private Thread stopper;
+
+    /** Zuletzt gemeldete Ruckler (neueste zuletzt) */
+    private final ArrayDeque<String> records = new ArrayDeque<>();
+
+    /** Anzahl gemeldeter Ruckler seit dem Einschalten */
+    private long hitches;
+
+    /** War TOGGLE_KEY beim letzten Bild gedrückt? */
+    private boolean toggleDown;
+
+    /**
+     * Erzeugt einen ausgeschalteten HitchDetector.
+     *
+     * @param threshold Takte ab dieser Dauer sind Ruckler
+     * @param log       Empfänger für jede Meldung (eine Zeile pro Ruckler)
+     */
+    public HitchDetector(Duration threshold, Consumer<String> log) {
+        if (threshold.isNegative()) {
+            throw new IllegalArgumentException("Schwelle darf nicht negativ sein: " + threshold);
+        }
+        this.threshold = threshold;
+        this.log = log;
+    }
+
+    // ==================== EIN- UND AUSSCHALTEN ====================
+
+    /**
+     * Gibt den HitchDetector des normalen Spiels zurück. Er meldet auf
+     * System.out.
+     *
+     * @return Gemeinsamer HitchDetector
+     */
+    public static HitchDetector live() {
+        return LIVE;
+    }
+
+    /**
+     * Schaltet den HitchDetector ein oder aus. Beim Einschalten beginnt
+     * die Zählung neu.
+     *
+     * Das Ausschalten kehrt sofort zurück: Ein eigener Thread wartet noch
+     * auf die letzten Lieferungen, schließt den Stream und meldet die noch
+     * wartenden Ruckler (siehe awaitStopped).
+     *
+     * Das Einschalten startet den Flight Recorder und kann selbst einen
+     * Ruckler von einigen hundert Millisekunden verursachen.
+     *
+     * @param enabled true zum Einschalten
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        if (enabled == (session != null)) {
+            return;
+        }
+        if (enabled) {
+            synchronized (records) {
+                records.clear();
+                hitches = 0;
+            }
+            session = new Session();
+            session.stream.startAsync();
+        } else {
+            Thread thread = new Thread(session::stop, "HitchDetector-Stopp");
+            thread.setDaemon(true);
+            session = null;
+            stopper = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Gibt an, ob der HitchDetector läuft.
+     *
+     * @return true, wenn eingeschaltet
+     */
+    public synchronized boolean isEnabled() {
+        return session != null;
+    }
+
+    /**
+     * Wartet, bis die zuletzt ausgeschaltete Session alle Ruckler gemeldet
+     * hat (höchstens etwa STOP_WAIT_MILLIS). Kehrt sofort zurück, wenn
+     * nichts mehr aussteht.
+     */
+    public void awaitStopped() {
+        Thread thread;
+        synchronized (this) {
+            thread = stopper;
+        }
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Schaltet den HitchDetector um, wenn TOGGLE_KEY neu gedrückt wurde
+     * (wird von der GameWorld einmal pro Bild aufgerufen).
+     */
+    void pollToggle() {
+        boolean down = Game.readKey(TOGGLE_KEY);
+        if (down && !toggleDown) {
+            setEnabled(!isEnabled());
+        }
+        toggleDown = down;
+    }
+
+    // ==================== MELDEN ====================
+
+    /**
+     * Gibt eine Meldung aus und hebt sie auf.
+     */
+    private void report(String line) {
+        synchronized (records) {
+            if (records.size() == MAX_RECORDS) {
+                records.removeFirst();
+            }
+            records.addLast(line);
+            hitches++;
+        }
+        log.accept(line);
+    }
+
+    // ==================== ERGEBNIS ====================
+
+    /**
+     * Gibt die zuletzt gemeldeten Ruckler zurück (höchstens MAX_RECORDS).
+     *
+     * @return Meldungen, die älteste zuerst
+     */
+    public List<String> getHitches() {
+        synchronized (records) {
+            return new ArrayList<>(records);
+        }
+    }
+
+    /**
+     * Gibt die Anzahl gemeldeter Ruckler seit dem Einschalten zurück.
+     *
+     * @return Anzahl gemeldeter Ruckler
+     */
+    public long getHitchCount() {
+        synchronized (records) {
+            return hitches;
+        }
+    }
+
+    // ==================== HILFSMETHODEN ====================
+
+    /**
+     * Gibt die Java-Thread-ID eines Ereignisses zurück (-1, wenn unbekannt).
+     */
+    private static long threadId(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        return thread != null ? thread.getJavaThreadId() : -1;
+    }
+
+    /**
+     * Gibt eine Methode als "Klasse::methode" zurück.
+     */
+    private static String methodName(RecordedMethod method) {
+        if (method == null) {
+            return "?";
+        }
+        return simpleName(method.getType().getName()) + "::" + method.getName();
+    }
+
+    /**
+     * Kürzt einen Klassennamen auf den Teil nach dem letzten Punkt.
+     */
+    private static String simpleName(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Formatiert eine Dauer in Millisekunden.
+     */
+    private static String millis(Duration duration) {
+        return String.format(Locale.ROOT, "%.1f ms", duration.toNanos() / 1e6);
+    }
+
+    // ==================== KOMMANDOZEILE ====================
+
+    /**
+     * Lässt ein Level ohne Fenster laufen und meldet alle Ruckler.
+     *
+     * Argumente: [Level] [Takte] [Schwelle in ms]
+     * (Standard: Level 1, 100000 Takte, DEFAULT_THRESHOLD_MILLIS)
+     *
+     * @param args Kommandozeilenargumente
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int level = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        long ticks = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+        long threshold = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_THRESHOLD_MILLIS;
+        HitchDetector detector = new HitchDetector(Duration.ofMillis(threshold), System.out::println);
+        Supplier<? extends GameWorld> factory = LevelRegistry.factory(level);
+        detector.setEnabled(true);
+        try {
+            new HeadlessRunner(KeyScript.NONE).run(factory, ticks);
+        } finally {
+            detector.setEnabled(false);
+            detector.awaitStopped();
+        }
+        System.out.printf("Level %d: %d Ruckler über %d ms in %d Takten%n",
+                level, detector.getHitchCount(), threshold, ticks);
+    }
+}
@@ -0,0 +1,295 @@
+import greenfoot.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hud - Anzeige von Level, Leben und weiteren Werten ohne ständiges Neuzeichnen.
+ *
+ * Früher hat jedes Level seine Anzeige mit showText() geschrieben. Jeder
+ * Aufruf erzeugt in Greenfoot ein neues Textbild, auch wenn sich der Text
+ * gar nicht geändert hat. Der Hud zeichnet stattdessen:
+ * - feste Texte (z.B. "Leben: " oder den Level-Namen) genau einmal und
+ *   hebt das Bild für alle Welten auf,
+ * - Zahlen aus einzeln vorgezeichneten Ziffern (0-9 und Minus),
+ * - ein Feld nur dann neu, wenn sich sein Wert wirklich geändert hat.
+ *
+ * Ändert sich nichts, kostet der Hud pro Takt also nichts. Damit eignen
+ * sich Felder auch für Werte, die sich laufend ändern (Zeit, Tode, FPS).
+ *
+ * Jedes Feld ist ein eigener kleiner Actor mit festem Bild. Wie bei
+ * showText() wird ein Feld über seine Position angesprochen: Ein zweiter
+ * Aufruf an derselben Position ersetzt den Inhalt.
+ *
+ * Verwendung (in einem Level):
+ * <pre>
+ * getHud().show(levelName(), 70, 380);       // fester Text
+ * getHud().show("Leben: ", lives, 170, 20);  // Text mit Zahl
+ * </pre>
+ *
+ * Im Headless-Betrieb merkt sich der Hud nur die Werte und zeichnet nichts.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class Hud {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Schriftgröße (wie bei showText) */
+    private static final int FONT_SIZE = 24;
+
+    /** Platz für so viele Ziffern wird im Feld vorab reserviert */
+    private static final int RESERVED_DIGITS = 3;
+
+    /** Zeichen mit vorgezeichnetem Bild */
+    private static final String GLYPH_CHARS = "0123456789-";
+
+    /** Vorgezeichnete Ziffern (Index wie in GLYPH_CHARS, beim ersten Gebrauch angelegt) */
+    private static GreenfootImage[] glyphs;
+
+    /** Vorgezeichnete feste Texte */
+    private static final Map<String, GreenfootImage> labels = new HashMap<>();
+
+    // ==================== FELD ====================
+
+    /**
+     * Ein Feld des Hud: fester Text, optional gefolgt von einer Zahl.
+     */
+    private static final class Field extends Actor {
+
+        /** Position der Feldmitte */
+        final int x, y;
+
+        /** Fester Text */
+        String text;
+
+        /** Zahl hinter dem Text */
+        int value;
+
+        /** Wird eine Zahl angezeigt? */
+        boolean hasValue;
+
+        /** Bild des Felds (wird wiederverwendet, solange der Inhalt hineinpasst) */
+        GreenfootImage canvas;
+
+        Field(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Welt, in der die Felder angezeigt werden */
+    private final World world;
+
+    /** Alle Felder */
+    private Field[] fields = new Field[4];
+
+    /** Anzahl Felder */
+    private int count;
+
+    /** Anzahl Neuzeichnungen seit dem Start (für Messungen) */
+    private int redraws;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt einen leeren Hud für eine Welt.
+     *
+     * @param world Die Welt
+     */
+    public Hud(World world) {
+        this.world = world;
+    }
+
+    // ==================== ANZEIGEN ====================
+
+    /**
+     * Zeigt einen festen Text an.
+     *
+     * @param text Der Text
+     * @param x    X-Koordinate der Textmitte
+     * @param y    Y-Koordinate der Textmitte
+     */
+    public void show(String text, int x, int y) {
+        Field field = field(x, y);
+        if (field.hasValue || !text.equals(field.text)) {
+            field.text = text;
+            field.hasValue = false;
+            redraw(field);
+        }
+    }
+
+    /**
+     * Zeigt einen Text mit einer Zahl dahinter an (z.B. "Leben: " und 4).
+     * Ist der Inhalt unverändert, passiert nichts.
+     *
+     * @param text  Fester Text vor der Zahl
+     * @param value Die Zahl
+     * @param x     X-Koordinate der Feldmitte
+     * @param y     Y-Koordinate der Feldmitte
+     */
+    public void show(String text, int value, int x, int y) {
+        Field field = field(x, y);
+        if (field.hasValue && field.value == value
+                && (field.text == text || text.equals(field.text))) {
+            return;
+        }
+        field.text = text;
+        field.value = value;
+        field.hasValue = true;
+        redraw(field);
+    }
+
+    /**
+     * Entfernt alle Felder (z.B. beim Neuaufbau eines Levels).
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            if (fields[i].getWorld() == world) {
+                world.removeObject(fields[i]);
+            }
+            fields[i] = null;
+        }
+        count = 0;
+    }
+
+    /**
+     * Gibt die Anzahl der Neuzeichnungen zurück.
+     *
+     * @return Anzahl gezeichneter Feldinhalte seit dem Start
+     */
+    public int getRedraws() {
+        return redraws;
+    }
+
+    // ==================== ZEICHNEN ====================
+
+    /**
+     * Gibt das Feld an einer Position zurück (legt es bei Bedarf an).
+     */
+    private Field field(int x, int y) {
+        for (int i = 0; i < count; i++) {
+            if (fields[i].x == x && fields[i].y == y) {
+                return fields[i];
+            }
+        }
+        if (count == fields.length) {
+            Field[] larger = new Field[count * 2];
+            System.arraycopy(fields, 0, larger, 0, count);
+            fields = larger;
+        }
+        Field field = new Field(x, y);
+        fields[count++] = field;
+        return field;
+    }
+
+    /**
+     * Zeichnet den Inhalt eines Felds neu. Im Headless-Betrieb passiert nichts.
+     */
+    private void redraw(Field field) {
+        if (Game.isHeadless()) {
+            return;
+        }
+        redraws++;
+        GreenfootImage label = label(field.text);
+        int width = label.getWidth();
+        int height = label.getHeight();
+        int digits = 0;
+        if (field.hasValue) {
+            digits = digitCount(field.value);
+            width += digits * glyph(0).getWidth();
+            height = Math.max(height, glyph(0).getHeight());
+        }
+
+        int reserved = field.hasValue ? label.getWidth() + RESERVED_DIGITS * glyph(0).getWidth() : width;
+        if (field.canvas == null || field.canvas.getWidth() < width || field.canvas.getHeight() < height) {
+            field.canvas = new GreenfootImage(Math.max(width, reserved), height);
+            field.setImage(field.canvas);
+        } else {
+            field.canvas.clear();
+        }
+
+        // Inhalt in der Mitte des Felds (wie bei showText)
+        int left = (field.canvas.getWidth() - width) / 2;
+        field.canvas.drawImage(label, left, (height - label.getHeight()) / 2);
+        if (field.hasValue) {
+            drawNumber(field.canvas, field.value, digits, left + label.getWidth(), height);
+        }
+        if (field.getWorld() != world) {
+            world.addObject(field, field.x, field.y);
+        }
+    }
+
+    /**
+     * Zeichnet eine Zahl aus den vorgezeichneten Ziffern.
+     */
+    private static void drawNumber(GreenfootImage canvas, int value, int digits, int left, int height) {
+        int w = glyph(0).getWidth();
+        long v = value;
+        if (v < 0) {
+            canvas.drawImage(glyph(10), left, (height - glyph(10).getHeight()) / 2);
+            v = -v;
+        }
+        int x = left + (digits - 1) * w;
+        do {
+            GreenfootImage g = glyph((int) (v % 10));
+            canvas.drawImage(g, x, (height - g.getHeight()) / 2);
+            x -= w;
+            v /= 10;
+        } while (v > 0);
+    }
+
+    /**
+     * Gibt die Anzahl Zeichen einer Zahl zurück (mit Minus).
+     */
+    private static int digitCount(int value) {
+        long v = Math.abs((long) value);
+        int n = value < 0 ? 2 : 1;
+        while (v >= 10) {
+            v /= 10;
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Gibt das Bild eines festen Texts zurück (wird einmal gezeichnet).
+     */
+    private static GreenfootImage label(String text) {
+        synchronized (labels) {
+            GreenfootImage image = labels.get(text);
+            if (image == null) {
+                image = new GreenfootImage(text, FONT_SIZE, Color.WHITE, null, Color.BLACK);
+                labels.put(text, image);
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Gibt das Bild eines Zeichens aus GLYPH_CHARS zurück.
+     * Alle Ziffern werden beim ersten Aufruf auf dieselbe Breite gezeichnet.
+     */
+    private static synchronized GreenfootImage glyph(int index) {
+        if (glyphs == null) {
+            GreenfootImage[] raw = new GreenfootImage[GLYPH_CHARS.length()];
+            int width = 0;
+            int height = 0;
+            for (int i = 0; i < raw.length; i++) {
+                raw[i] = new GreenfootImage(GLYPH_CHARS.substring(i, i + 1), FONT_SIZE, Color.WHITE, null, Color.BLACK);
+                width = Math.max(width, raw[i].getWidth());
+                height = Math.max(height, raw[i].getHeight());
+            }
+            // Einheitliche Breite, damit eine Zahl beim Hochzählen nicht springt
+            GreenfootImage[] fixed = new GreenfootImage[raw.length];
+            for (int i = 0; i < raw.length; i++) {
+                fixed[i] = new GreenfootImage(width, height);
+                fixed[i].drawImage(raw[i], (width - raw[i].getWidth()) / 2, (height - raw[i].getHeight()) / 2);
+            }
+            glyphs = fixed;
+        }
+        return glyphs[index];
+    }
+}
@@ -0,0 +1,218 @@
+import greenfoot.*;
+
+/**
+ * Input - Tastenzustand eines Takts als Bitmaske.
+ *
+ * Früher hat der Player in jedem Takt jede Taste einzeln bei Greenfoot
+ * abgefragt. Jetzt liest die GameWorld zu Beginn jedes Takts alle
+ * Spieltasten einmal ein (poll) und speichert sie als Bitmaske. Alle
+ * Abfragen im selben Takt (Game.isKeyDown) lesen nur noch diese Maske.
+ *
+ * Dadurch lässt sich die Eingabe an einer Stelle umleiten:
+ * - Aufnahme: Jede Maske wird an einen InputRecorder weitergegeben,
+ *   der sie kompakt speichert.
+ * - Wiedergabe: Statt der Tastatur liefert ein InputReplay die Masken
+ *   einer früheren Aufnahme.
+ *
+ * Zusammen mit einem festen Seed (siehe Game.setSeed und HeadlessRunner)
+ * läuft eine Wiedergabe Takt für Takt genau wie die Aufnahme ab.
+ *
+ * Verwendung:
+ * <pre>
+ * // Aufnahme im normalen Spiel (vor dem Start von Level 1)
+ * Game.setSeed(42);
+ * Input.current().startRecording(new InputRecorder(42));
+ * // ... spielen ...
+ * Input.current().stopRecording().save(new File("lauf.gfir"));
+ *
+ * // Wiedergabe im HeadlessRunner
+ * InputReplay replay = InputReplay.load(new File("lauf.gfir"));
+ * HeadlessRunner.forReplay(replay).run(Level1::new, replay.getLength());
+ * </pre>
+ *
+ * Im normalen Spiel gibt es eine gemeinsame Instanz. Jeder HeadlessRunner
+ * hat seine eigene, damit sich Läufe auf verschiedenen Threads nicht
+ * gegenseitig stören.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class Input {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Bits der Spieltasten */
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int KEY_1 = 1 << 4;
+    public static final int KEY_2 = 1 << 5;
+    public static final int KEY_3 = 1 << 6;
+    public static final int KEY_4 = 1 << 7;
+    public static final int KEY_5 = 1 << 8;
+
+    /** Tastennamen (wie bei Greenfoot.isKeyDown), Index = Bitnummer */
+    private static final String[] KEYS = {"left", "right", "up", "down", "1", "2", "3", "4", "5"};
+
+    /** Eingabe des normalen Spiels */
+    private static final Input LIVE = new Input();
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Tastenzustand des aktuellen Takts */
+    private int mask;
+
+    /** Tastenzustand des vorherigen Takts (für isPressed) */
+    private int previousMask;
+
+    /** Anzahl bisher eingelesener Takte */
+    private long tick;
+
+    /** Laufende Aufnahme (oder null) */
+    private InputRecorder recorder;
+
+    /** Laufende Wiedergabe (oder null = Tastatur) */
+    private InputReplay replay;
+
+    // ==================== ZUGRIFF ====================
+
+    /**
+     * Gibt die Eingabe zurück, die auf dem aktuellen Thread gilt.
+     *
+     * @return Eingabe des HeadlessRunners oder des normalen Spiels
+     */
+    public static Input current() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        return runner != null ? runner.getInput() : LIVE;
+    }
+
+    /**
+     * Gibt das Bit einer Taste zurück.
+     *
+     * @param key Name der Taste (z.B. "left", "1")
+     * @return Bit der Taste oder 0, wenn es keine Spieltaste ist
+     */
+    public static int bit(String key) {
+        for (int i = 0; i < KEYS.length; i++) {
+            if (KEYS[i].equals(key)) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    // ==================== TAKT ====================
+
+    /**
+     * Liest den Tastenzustand für einen neuen Takt ein.
+     * Wird von der GameWorld einmal zu Beginn jedes Takts aufgerufen.
+     */
+    public void poll() {
+        previousMask = mask;
+        if (replay != null) {
+            mask = replay.maskAt(tick);
+        } else {
+            int m = 0;
+            for (int i = 0; i < KEYS.length; i++) {
+                if (Game.readKey(KEYS[i])) {
+                    m |= 1 << i;
+                }
+            }
+            mask = m;
+        }
+        if (recorder != null) {
+            recorder.record(mask);
+        }
+        tick++;
+    }
+
+    /**
+     * Prüft, ob eine Taste im aktuellen Takt gedrückt ist.
+     * Tasten, die keine Spieltasten sind, werden direkt abgefragt.
+     *
+     * @param key Name der Taste
+     * @return true, wenn die Taste gedrückt ist
+     */
+    public boolean isDown(String key) {
+        int b = bit(key);
+        if (b == 0) {
+            return Game.readKey(key);
+        }
+        return (mask & b) != 0;
+    }
+
+    /**
+     * Prüft, ob eine Spieltaste in diesem Takt neu gedrückt wurde
+     * (im vorherigen Takt war sie noch nicht gedrückt).
+     *
+     * Damit löst eine gehaltene Taste eine Aktion nur einmal aus,
+     * z.B. einen Levelwechsel per Cheat.
+     *
+     * @param key Name der Taste
+     * @return true nur im ersten Takt, in dem die Taste gedrückt ist;
+     *         für Tasten, die keine Spieltasten sind, immer false
+     */
+    public boolean isPressed(String key) {
+        int b = bit(key);
+        return (mask & b) != 0 && (previousMask & b) == 0;
+    }
+
+    /**
+     * Gibt den Tastenzustand des aktuellen Takts zurück.
+     *
+     * @return Bitmaske (LEFT, RIGHT, UP, ...)
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Gibt die Anzahl der bisher eingelesenen Takte zurück.
+     *
+     * @return Anzahl Takte
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    // ==================== AUFNAHME UND WIEDERGABE ====================
+
+    /**
+     * Startet eine Aufnahme. Ab dem nächsten Takt wird jede Maske aufgezeichnet.
+     *
+     * @param recorder Ziel der Aufnahme
+     */
+    public void startRecording(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Beendet die Aufnahme.
+     *
+     * @return Die beendete Aufnahme (oder null, wenn keine lief)
+     */
+    public InputRecorder stopRecording() {
+        InputRecorder done = recorder;
+        recorder = null;
+        return done;
+    }
+
+    /**
+     * Startet eine Wiedergabe. Ab dem nächsten Takt kommen die Tasten aus
+     * der Aufnahme statt von der Tastatur.
+     *
+     * @param replay Die Aufnahme
+     */
+    public void startReplay(InputReplay replay) {
+        this.replay = replay;
+        this.tick = 0;
+    }
+
+    /**
+     * Beendet die Wiedergabe; danach gilt wieder die Tastatur.
+     */
+    public void stopReplay() {
+        replay = null;
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * InputRecorder - Zeichnet die Tastenmasken eines Laufs platzsparend auf.
+ *
+ * Beim Spielen ändert sich der Tastenzustand nur selten: Eine Taste wird
+ * meist viele Takte lang gehalten. Der Recorder speichert deshalb nicht jede
+ * Maske einzeln, sondern Läufe: "Maske M, N Takte lang" (Lauflängen-
+ * kodierung). Beide Zahlen werden als Varint geschrieben (7 Bit pro Byte,
+ * kleine Zahlen brauchen nur ein Byte). Eine Sekunde Spiel kostet damit
+ * typischerweise nur wenige Bytes.
+ *
+ * Dateiformat:
+ * <pre>
+ * "GFIR"              Kennung (4 Bytes)
+ * 1                   Formatversion (1 Byte)
+ * seed                Seed des Laufs (Varint, ZigZag-kodiert)
+ * (maske, länge)*     Läufe bis zum Dateiende (je zwei Varints)
+ * </pre>
+ *
+ * Verwendung siehe Input und InputReplay.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class InputRecorder {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Kennung am Dateianfang */
+    static final byte[] MAGIC = {'G', 'F', 'I', 'R'};
+
+    /** Aktuelle Formatversion */
+    static final int VERSION = 1;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Seed, mit dem der aufgezeichnete Lauf gestartet wurde */
+    private final long seed;
+
+    /** Bereits abgeschlossene Läufe */
+    private final ByteArrayOutputStream runs = new ByteArrayOutputStream();
+
+    /** Maske des laufenden (noch nicht geschriebenen) Laufs */
+    private int currentMask;
+
+    /** Länge des laufenden Laufs in Takten */
+    private long currentLength;
+
+    /** Anzahl aller aufgezeichneten Takte */
+    private long ticks;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt eine leere Aufnahme.
+     *
+     * @param seed Seed, mit dem die Welten des Laufs erzeugt werden
+     */
+    public InputRecorder(long seed) {
+        this.seed = seed;
+    }
+
+    // ==================== AUFZEICHNEN ====================
+
+    /**
+     * Zeichnet die Maske eines Takts auf (wird von Input.poll aufgerufen).
+     *
+     * @param mask Tastenzustand des Takts
+     */
+    public void record(int mask) {
+        if (currentLength > 0 && mask != currentMask) {
+            writeVarLong(runs, currentMask);
+            writeVarLong(runs, currentLength);
+            currentLength = 0;
+        }
+        currentMask = mask;
+        currentLength++;
+        ticks++;
+    }
+
+    // ==================== AUSGABE ====================
+
+    /**
+     * Gibt die Aufnahme im Dateiformat zurück. Der laufende Lauf wird
+     * mitgeschrieben; danach kann weiter aufgezeichnet werden.
+     *
+     * @return Aufnahme als Bytes
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(runs.size() + 16);
+        out.write(MAGIC, 0, MAGIC.length);
+        out.write(VERSION);
+        writeVarLong(out, (seed << 1) ^ (seed >> 63));
+        byte[] done = runs.toByteArray();
+        out.write(done, 0, done.length);
+        if (currentLength > 0) {
+            writeVarLong(out, currentMask);
+            writeVarLong(out, currentLength);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Speichert die Aufnahme in einer Datei.
+     *
+     * @param file Zieldatei
+     * @throws IOException wenn die Datei nicht geschrieben werden kann
+     */
+    public void save(File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(toByteArray());
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der aufgezeichneten Takte zurück.
+     *
+     * @return Anzahl Takte
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gibt den Seed des aufgezeichneten Laufs zurück.
+     *
+     * @return Seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    // ==================== HILFSMETHODEN ====================
+
+    /**
+     * Schreibt eine nicht-negative Zahl als Varint (7 Bit pro Byte,
+     * oberstes Bit = es folgt noch ein Byte).
+     */
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
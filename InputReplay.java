@@ -0,0 +1,168 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * InputReplay - Spielt eine Aufnahme des InputRecorders wieder ab.
+ *
+ * Die Aufnahme wird beim Laden in zwei Arrays entpackt: die Maske jedes
+ * Laufs und der Takt, an dem der Lauf endet. Die Abfrage für einen Takt
+ * geht normalerweise nur einen Lauf weiter (Takte werden der Reihe nach
+ * abgefragt); bei einem Sprung wird binär gesucht.
+ *
+ * Ein InputReplay ist gleichzeitig ein KeyScript und kann deshalb direkt
+ * an einen HeadlessRunner übergeben werden (siehe HeadlessRunner.forReplay).
+ * Im normalen Spiel wird es mit Input.startReplay() aktiviert.
+ *
+ * Nach dem letzten aufgezeichneten Takt ist keine Taste mehr gedrückt.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class InputReplay implements KeyScript {
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Seed des aufgezeichneten Laufs */
+    private final long seed;
+
+    /** Maske jedes Laufs */
+    private final int[] masks;
+
+    /** Erster Takt nach dem Ende jedes Laufs (aufsteigend) */
+    private final long[] ends;
+
+    /** Index des zuletzt abgefragten Laufs */
+    private int cursor;
+
+    // ==================== LADEN ====================
+
+    /**
+     * Entpackt eine Aufnahme.
+     *
+     * @param data Aufnahme im Format des InputRecorders
+     * @throws IllegalArgumentException wenn die Daten keine gültige Aufnahme sind
+     */
+    public InputReplay(byte[] data) {
+        for (int i = 0; i < InputRecorder.MAGIC.length; i++) {
+            if (data.length <= i || data[i] != InputRecorder.MAGIC[i]) {
+                throw new IllegalArgumentException("Keine Eingabe-Aufnahme");
+            }
+        }
+        int[] pos = {InputRecorder.MAGIC.length};
+        int version = data.length > pos[0] ? data[pos[0]++] : -1;
+        if (version != InputRecorder.VERSION) {
+            throw new IllegalArgumentException("Unbekannte Formatversion: " + version);
+        }
+        long zigzag = readVarLong(data, pos);
+        seed = (zigzag >>> 1) ^ -(zigzag & 1);
+
+        int[] m = new int[16];
+        long[] e = new long[16];
+        int count = 0;
+        long total = 0;
+        while (pos[0] < data.length) {
+            if (count == m.length) {
+                m = Arrays.copyOf(m, count * 2);
+                e = Arrays.copyOf(e, count * 2);
+            }
+            m[count] = (int) readVarLong(data, pos);
+            total += readVarLong(data, pos);
+            e[count] = total;
+            count++;
+        }
+        masks = Arrays.copyOf(m, count);
+        ends = Arrays.copyOf(e, count);
+    }
+
+    /**
+     * Lädt eine Aufnahme aus einer Datei.
+     *
+     * @param file Datei des InputRecorders
+     * @return Die entpackte Aufnahme
+     * @throws IOException wenn die Datei nicht gelesen werden kann
+     */
+    public static InputReplay load(File file) throws IOException {
+        return new InputReplay(Files.readAllBytes(file.toPath()));
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Gibt die aufgezeichnete Maske eines Takts zurück.
+     *
+     * @param tick Nummer des Takts (beginnt bei 0)
+     * @return Bitmaske (siehe Input) oder 0 nach dem Ende der Aufnahme
+     */
+    public int maskAt(long tick) {
+        if (tick < 0 || masks.length == 0 || tick >= ends[ends.length - 1]) {
+            return 0;
+        }
+        int i = cursor;
+        boolean inRun = tick < ends[i] && (i == 0 || tick >= ends[i - 1]);
+        if (!inRun) {
+            if (i + 1 < ends.length && tick >= ends[i] && tick < ends[i + 1]) {
+                i++;
+            } else {
+                i = Arrays.binarySearch(ends, tick + 1);
+                if (i < 0) {
+                    i = -i - 1;
+                }
+            }
+            cursor = i;
+        }
+        return masks[i];
+    }
+
+    /**
+     * Beantwortet eine Tastenabfrage (für den HeadlessRunner).
+     *
+     * @param key  Name der Taste
+     * @param tick Nummer des Takts
+     * @return true, wenn die Taste in diesem Takt aufgezeichnet wurde
+     */
+    @Override
+    public boolean isKeyDown(String key, long tick) {
+        return (maskAt(tick) & Input.bit(key)) != 0;
+    }
+
+    /**
+     * Gibt den Seed des aufgezeichneten Laufs zurück.
+     *
+     * @return Seed (für Game.setSeed bzw. HeadlessRunner.setSeed)
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gibt die Länge der Aufnahme zurück.
+     *
+     * @return Anzahl aufgezeichneter Takte
+     */
+    public long getLength() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    // ==================== HILFSMETHODEN ====================
+
+    /**
+     * Liest einen Varint und rückt die Position weiter.
+     */
+    private static long readVarLong(byte[] data, int[] pos) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            if (pos[0] >= data.length || shift > 63) {
+                throw new IllegalArgumentException("Aufnahme ist unvollständig");
+            }
+            int b = data[pos[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
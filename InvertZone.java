@@ -16,10 +16,10 @@ import greenfoot.*;
  * - Unten-Taste → Bewegung nach oben
  * 
  * Interaktion:
- * - Player prüft in act() auf Kollision mit InvertZone
+ * - Player prüft in tick() auf Kollision mit InvertZone
  * - Player setzt invert-Flag auf true
  * - Player berechnet Bewegung mit invertierten Vorzeichen
- * - InvertZone selbst ist passiv (tut nichts in act())
+ * - InvertZone selbst ist passiv (tut nichts in tick())
  * 
  * Verwendungsbeispiel:
  * 
@@ -49,7 +49,7 @@ import greenfoot.*;
  * @author Felix Krusch
  * @version 2.0
  */
-public class InvertZone extends Actor {
+public class InvertZone extends GameActor {
     
     // ==================== KONSTRUKTOR ====================
     
@@ -94,11 +94,8 @@ public class InvertZone extends Actor {
      * 
      * Implementierung im Player:
      * <pre>
-     * // Im Player.act():
-     * boolean invert = false;
-     * if (!getIntersectingObjects(InvertZone.class).isEmpty()) {
-     *     invert = true;
-     * }
+     * // Im Player.tick() (die InvertZone meldet sich über addContactTo):
+     * boolean invert = contacts.has(Contacts.INVERT);
      * 
      * // Steuerung berechnen:
      * int sL = invert ? step : -step;   // Links
@@ -108,8 +105,20 @@ public class InvertZone extends Actor {
      * </pre>
      */
     @Override
-    public void act() {
+    public void tick() {
         // Die Zone selbst tut nichts
         // Player prüft Kollision und invertiert Steuerung
     }
+    
+    // ==================== KONTAKTE ====================
+    
+    /**
+     * Meldet die Invertierung, wenn der Player Kontakte sammelt.
+     * 
+     * @param contacts Kontakte des fragenden Actors
+     */
+    @Override
+    protected void addContactTo(Contacts contacts) {
+        contacts.add(Contacts.INVERT);
+    }
 }
@@ -0,0 +1,39 @@
+/**
+ * KeyScript - Vorgegebene Tastatureingaben für den Headless-Betrieb.
+ *
+ * Im normalen Spiel kommen die Tastendrücke direkt von der Tastatur
+ * (Greenfoot.isKeyDown). Läuft das Spiel ohne Fenster im HeadlessRunner,
+ * gibt es keine Tastatur. Stattdessen beantwortet ein KeyScript für jeden
+ * Takt, welche Tasten gerade gedrückt sind.
+ *
+ * Verwendungsbeispiel:
+ * <pre>
+ * // Die ersten 100 Takte nach rechts laufen, danach nach unten
+ * KeyScript script = (key, tick) -&gt;
+ *     tick &lt; 100 ? key.equals("right") : key.equals("down");
+ *
+ * HeadlessRunner runner = new HeadlessRunner(script);
+ * runner.run(Level1::new, 10000);
+ * </pre>
+ *
+ * Tastennamen:
+ * Es werden dieselben Namen wie bei Greenfoot.isKeyDown verwendet,
+ * also "left", "right", "up", "down" und die Zifferntasten "1" bis "5".
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public interface KeyScript {
+
+    /** Skript, bei dem nie eine Taste gedrückt ist */
+    KeyScript NONE = (key, tick) -> false;
+
+    /**
+     * Gibt an, ob eine Taste im angegebenen Takt gedrückt ist.
+     *
+     * @param key  Name der Taste (wie bei Greenfoot.isKeyDown)
+     * @param tick Nummer des aktuellen Takts (beginnt bei 0)
+     * @return true, wenn die Taste in diesem Takt gedrückt ist
+     */
+    boolean isKeyDown(String key, long tick);
+}
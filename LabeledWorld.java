@@ -69,14 +69,17 @@ public interface LabeledWorld {
      * ändert oder das Level neu geladen wird. Sie sollte alle relevanten
      * Spielinformationen anzeigen.
      * 
-     * Typische Implementierung:
+     * Typische Implementierung (in einer GameWorld, siehe Hud):
      * <pre>
      * public void showHUD(int lives) {
-     *     showText("Level: " + levelNumber, 70, 20);
-     *     showText("Leben: " + lives, 170, 20);
+     *     getHud().show("Level: ", levelNumber, 70, 20);
+     *     getHud().show("Leben: ", lives, 170, 20);
      * }
      * </pre>
      * 
+     * Der Hud zeichnet ein Feld nur neu, wenn sich sein Wert geändert hat.
+     * Die Methode darf deshalb beliebig oft aufgerufen werden.
+     * 
      * Empfohlene HUD-Elemente:
      * - Level-Nummer (z.B. "Level: 1")
      * - Verbleibende Leben (z.B. "Leben: 5")
@@ -37,7 +37,7 @@ import greenfoot.*;
  * @author Felix Krusch
  * @version 2.0
  */
-public class Level2 extends World implements LabeledWorld {
+public class Level2 extends GameWorld {
     
     // ==================== KONSTANTEN ====================
     
@@ -85,19 +85,27 @@ public class Level2 extends World implements LabeledWorld {
      * 
      * Ablauf:
      * 1. Welt mit 600x400 Pixeln erstellen
-     * 2. Wände, Gegner und Ziel platzieren (setup)
-     * 3. Spieler hinzufügen
-     * 4. HUD initialisieren (label)
+     * 2. Level aufbauen (build):
+     *    Wände, Gegner und Ziel platzieren (setup), Spieler hinzufügen,
+     *    HUD initialisieren (label)
      */
     public Level2() {
         super(WORLD_WIDTH, WORLD_HEIGHT, CELL_SIZE);
+        buildLevel();
+    }
+    
+    // ==================== LEVEL-AUFBAU ====================
+    
+    /**
+     * Baut das Level auf (beim Erstellen und bei jedem Neustart über reset()).
+     */
+    @Override
+    protected void build() {
         setup();
         addObject(new Player(), 30, 30);
         label();
     }
     
-    // ==================== LEVEL-AUFBAU ====================
-    
     /**
      * Platziert alle Wände, Gegner und das Ziel im Level.
      * 
@@ -166,7 +174,7 @@ public class Level2 extends World implements LabeledWorld {
      */
     private void label() {
         // Level-Name unten links anzeigen
-        showText(levelName(), 70, 380);
+        getHud().show(levelName(), 70, 380);
         
         // Spieler finden und Leben zurücksetzen
         Player p = getObjects(Player.class).isEmpty() ? null : getObjects(Player.class).get(0);
@@ -185,8 +193,8 @@ public class Level2 extends World implements LabeledWorld {
      */
     @Override
     public void showHUD(int lives) {
-        showText("Level: 2", 70, 20);
-        showText("Leben: " + lives, 170, 20);
+        getHud().show("Level: ", 2, 70, 20);
+        getHud().show("Leben: ", lives, 170, 20);
     }
     
     /**
@@ -34,7 +34,7 @@ import greenfoot.*;
  * @author Felix Krusch
  * @version 3.0 (Redesigned)
  */
-public class Level3 extends World implements LabeledWorld {
+public class Level3 extends GameWorld {
     
     // ==================== KONSTANTEN ====================
     
@@ -70,13 +70,21 @@ public class Level3 extends World implements LabeledWorld {
      */
     public Level3() {
         super(WORLD_WIDTH, WORLD_HEIGHT, CELL_SIZE);
+        buildLevel();
+    }
+    
+    // ==================== LEVEL-AUFBAU ====================
+    
+    /**
+     * Baut das Level auf (beim Erstellen und bei jedem Neustart über reset()).
+     */
+    @Override
+    protected void build() {
         setup();
         addObject(new Player(), 30, 30);
         label();
     }
     
-    // ==================== LEVEL-AUFBAU ====================
-    
     /**
      * Platziert alle Wände, Gegner und das Ziel im Level.
      * 
@@ -186,7 +194,7 @@ public class Level3 extends World implements LabeledWorld {
      * Initialisiert das HUD (Heads-Up Display) für dieses Level.
      */
     private void label() {
-        showText(levelName(), 70, 380);
+        getHud().show(levelName(), 70, 380);
         Player p = getObjects(Player.class).isEmpty() ? null : getObjects(Player.class).get(0);
         if (p != null) {
             p.resetLives();
@@ -201,8 +209,8 @@ public class Level3 extends World implements LabeledWorld {
      */
     @Override
     public void showHUD(int lives) {
-        showText("Level: 3", 70, 20);
-        showText("Leben: " + lives, 170, 20);
+        getHud().show("Level: ", 3, 70, 20);
+        getHud().show("Leben: ", lives, 170, 20);
     }
     
     /**
@@ -39,7 +39,7 @@ import greenfoot.*;
  * @author Felix Krusch
  * @version 3.0 (Redesigned)
  */
-public class Level5 extends World implements LabeledWorld {
+public class Level5 extends GameWorld {
     
     // ==================== KONSTANTEN ====================
     
@@ -77,13 +77,21 @@ public class Level5 extends World implements LabeledWorld {
      */
     public Level5() {
         super(WORLD_WIDTH, WORLD_HEIGHT, CELL_SIZE);
+        buildLevel();
+    }
+    
+    // ==================== LEVEL-AUFBAU ====================
+    
+    /**
+     * Baut das Level auf (beim Erstellen und bei jedem Neustart über reset()).
+     */
+    @Override
+    protected void build() {
         setup();
         addObject(new Player(), 30, 30);
         label();
     }
     
-    // ==================== LEVEL-AUFBAU ====================
-    
     /**
      * Platziert alle Wände, Gegner, Spezialzonen und das Ziel im Level.
      * 
@@ -218,7 +226,7 @@ public class Level5 extends World implements LabeledWorld {
      * Initialisiert das HUD (Heads-Up Display) für dieses Level.
      */
     private void label() {
-        showText(levelName(), 70, 380);
+        getHud().show(levelName(), 70, 380);
         Player p = getObjects(Player.class).isEmpty() ? null : getObjects(Player.class).get(0);
         if (p != null) {
             p.resetLives();
@@ -233,8 +241,8 @@ public class Level5 extends World implements LabeledWorld {
      */
     @Override
     public void showHUD(int lives) {
-        showText("Level: 5", 70, 20);
-        showText("Leben: " + lives, 170, 20);
+        getHud().show("Level: ", 5, 70, 20);
+        getHud().show("Leben: ", lives, 170, 20);
     }
     
     /**
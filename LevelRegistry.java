@@ -0,0 +1,257 @@
+import greenfoot.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * LevelRegistry - Reihenfolge aller Level und Zwischenspeicher ihrer Welten.
+ *
+ * Früher hat der Player bei jedem Levelwechsel eine neue Welt gebaut
+ * (new Level2() usw.) und das nächste Level über eine instanceof-Kette
+ * bestimmt. Bei einem Cheat wurde das Level sogar in jedem Takt neu gebaut,
+ * solange die Taste gedrückt war.
+ *
+ * Jetzt steht die Reihenfolge der Level an genau einer Stelle (LEVELS).
+ * Die Nummer des aktuellen Levels wird über die Klasse der Welt in einer
+ * HashMap nachgeschlagen, das nächste Level ist einfach Nummer + 1.
+ *
+ * Jede Welt wird nur einmal gebaut und danach aufbewahrt. Wird ein Level
+ * erneut betreten (nächstes Level, Game Over, Cheat), setzt die Registry
+ * die aufbewahrte Welt mit GameWorld.reset() in den Anfangszustand zurück.
+ * Dabei wird nur der gespeicherte Startzustand (WorldSnapshot) wieder-
+ * hergestellt; Welt und Actors bleiben dieselben Objekte.
+ *
+ * Verwendung:
+ * <pre>
+ * // Nächstes Level
+ * LevelRegistry.current().next(getWorld());
+ *
+ * // Direkt zu Level 3 (Cheat)
+ * LevelRegistry.current().switchTo(3, getWorld());
+ * </pre>
+ *
+ * Im normalen Spiel gibt es eine gemeinsame Registry. Jeder HeadlessRunner
+ * hat seine eigene, damit sich Läufe auf verschiedenen Threads keine
+ * Welten teilen.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class LevelRegistry {
+
+    // ==================== LEVEL-BESCHREIBUNG ====================
+
+    /**
+     * Beschreibt ein Level: Nummer, Klasse, Cheat-Taste und Konstruktor.
+     */
+    private static final class Entry {
+
+        /** Nummer des Levels (beginnt bei 1) */
+        final int number;
+
+        /** Klasse der Welt */
+        final Class<? extends GameWorld> type;
+
+        /** Taste, mit der man direkt in das Level springt */
+        final String cheatKey;
+
+        /** Baut eine neue Welt des Levels */
+        final Supplier<? extends GameWorld> factory;
+
+        Entry(int number, Class<? extends GameWorld> type, Supplier<? extends GameWorld> factory) {
+            this.number = number;
+            this.type = type;
+            this.cheatKey = String.valueOf(number);
+            this.factory = factory;
+        }
+    }
+
+    // ==================== KONSTANTEN ====================
+
+    /** Alle Level in Spielreihenfolge */
+    private static final Entry[] LEVELS = {
+        new Entry(1, Level1.class, Level1::new),
+        new Entry(2, Level2.class, Level2::new),
+        new Entry(3, Level3.class, Level3::new),
+        new Entry(4, Level4.class, Level4::new),
+        new Entry(5, Level5.class, Level5::new),
+    };
+
+    /** Level-Beschreibung zu jeder Welt-Klasse */
+    private static final Map<Class<?>, Entry> BY_TYPE = new HashMap<>();
+
+    static {
+        for (Entry entry : LEVELS) {
+            BY_TYPE.put(entry.type, entry);
+        }
+    }
+
+    /** Registry des normalen Spiels */
+    private static final LevelRegistry LIVE = new LevelRegistry();
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Aufbewahrte Welten, Index = Level-Nummer - 1 (null = noch nicht gebaut) */
+    private final GameWorld[] worlds = new GameWorld[LEVELS.length];
+
+    /** Anzahl neu gebauter Welten */
+    private int builds;
+
+    /** Anzahl zurückgesetzter Welten */
+    private int resets;
+
+    // ==================== ZUGRIFF ====================
+
+    /**
+     * Gibt die Registry zurück, die auf dem aktuellen Thread gilt.
+     *
+     * @return Registry des HeadlessRunners oder des normalen Spiels
+     */
+    public static LevelRegistry current() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        return runner != null ? runner.getLevels() : LIVE;
+    }
+
+    /**
+     * Gibt die Anzahl der Level zurück.
+     *
+     * @return Anzahl Level
+     */
+    public static int count() {
+        return LEVELS.length;
+    }
+
+    /**
+     * Gibt die Nummer des Levels einer Welt zurück.
+     *
+     * @param world Eine Welt (darf null sein)
+     * @return Level-Nummer 1 bis count() oder 0, wenn die Welt kein Level ist
+     */
+    public static int numberOf(World world) {
+        if (world == null) {
+            return 0;
+        }
+        Entry entry = BY_TYPE.get(world.getClass());
+        return entry != null ? entry.number : 0;
+    }
+
+    /**
+     * Gibt die Cheat-Taste eines Levels zurück.
+     *
+     * @param number Level-Nummer 1 bis count()
+     * @return Name der Taste (z.B. "3")
+     */
+    public static String cheatKey(int number) {
+        return entry(number).cheatKey;
+    }
+
+    /**
+     * Gibt den Konstruktor eines Levels zurück. Die Welt wird dabei
+     * immer neu gebaut und nicht aufbewahrt.
+     *
+     * @param number Level-Nummer 1 bis count()
+     * @return Erzeugt eine neue Welt des Levels
+     */
+    public static Supplier<? extends GameWorld> factory(int number) {
+        return entry(number).factory;
+    }
+
+    // ==================== LEVELWECHSEL ====================
+
+    /**
+     * Gibt die Welt eines Levels im Anfangszustand zurück.
+     * Beim ersten Aufruf wird sie gebaut, danach nur noch zurückgesetzt.
+     *
+     * @param number Level-Nummer 1 bis count()
+     * @return Die Welt des Levels
+     */
+    public GameWorld world(int number) {
+        Entry entry = entry(number);
+        GameWorld world = worlds[number - 1];
+        if (world == null) {
+            world = entry.factory.get();
+            worlds[number - 1] = world;
+            builds++;
+        } else {
+            world.reset();
+            resets++;
+        }
+        return world;
+    }
+
+    /**
+     * Wechselt in ein Level. Ist die Welt des Levels schon die aktuelle
+     * Welt, wird sie nur zurückgesetzt (kein Weltwechsel).
+     *
+     * Achtung: Danach ist der Aufrufer eventuell nicht mehr in seiner Welt
+     * (siehe Player.tick).
+     *
+     * @param number Level-Nummer 1 bis count()
+     * @param from   Die aktuelle Welt
+     */
+    public void switchTo(int number, World from) {
+        GameWorld world = world(number);
+        if (world != from) {
+            Game.setWorld(world);
+        }
+    }
+
+    /**
+     * Wechselt in das Level nach der angegebenen Welt.
+     *
+     * @param from Die aktuelle Welt
+     * @return false, wenn es kein nächstes Level gibt (letztes Level
+     *         geschafft oder die Welt ist kein Level)
+     */
+    public boolean next(World from) {
+        int number = numberOf(from);
+        if (number == 0 || number == LEVELS.length) {
+            return false;
+        }
+        switchTo(number + 1, from);
+        return true;
+    }
+
+    /**
+     * Verwirft alle aufbewahrten Welten.
+     */
+    public void clear() {
+        for (int i = 0; i < worlds.length; i++) {
+            worlds[i] = null;
+        }
+    }
+
+    // ==================== STATISTIK ====================
+
+    /**
+     * Gibt die Anzahl neu gebauter Welten zurück.
+     *
+     * @return Anzahl Neubauten
+     */
+    public int getBuilds() {
+        return builds;
+    }
+
+    /**
+     * Gibt die Anzahl zurückgesetzter Welten zurück.
+     *
+     * @return Anzahl Resets
+     */
+    public int getResets() {
+        return resets;
+    }
+
+    // ==================== HILFSMETHODEN ====================
+
+    /**
+     * Gibt die Beschreibung eines Levels zurück.
+     *
+     * @throws IllegalArgumentException bei einer unbekannten Level-Nummer
+     */
+    private static Entry entry(int number) {
+        if (number < 1 || number > LEVELS.length) {
+            throw new IllegalArgumentException("Unbekanntes Level: " + number);
+        }
+        return LEVELS[number - 1];
+    }
+}
@@ -0,0 +1,380 @@
+import java.util.Arrays;
+
+/**
+ * OscillatorBatch - Bewegt alle pendelnden Gegner einer Richtung in einer Schleife.
+ *
+ * BlueDot und GreenDot machen in jedem Takt dasselbe: Position um speed
+ * verschieben, an den Grenzen min/max umkehren und an Wänden zurückprallen.
+ * Früher hatte jeder Gegner dafür sein eigenes act(). Der OscillatorBatch
+ * speichert stattdessen alle Pendler einer Richtung in parallelen int-Arrays
+ * und bewegt sie in einer einzigen, engen Schleife.
+ *
+ * Die GameWorld besitzt zwei Batches:
+ * - horizontal: alle BlueDots (Position = X, feste Koordinate = Y)
+ * - vertikal: alle GreenDots (Position = Y, feste Koordinate = X)
+ *
+ * Ablauf für jeden Eintrag (genau wie im früheren act()):
+ * 1. Position um speed verschieben (am Weltrand begrenzt wie in Greenfoot)
+ * 2. Position <= min: auf min setzen, speed positiv machen
+ * 3. Position >= max: auf max setzen, speed negativ machen
+ * 4. Wand berührt (WallMap): Verschiebung aus Schritt 1 rückgängig machen,
+ *    speed umkehren
+ *
+ * Einträge mit Actor schreiben ihre neue Position danach in den Actor
+ * zurück, weil der Player seine Gegnerkollision über das SpatialGrid prüft.
+ * Einträge ohne Actor (nur für Lasttests, siehe HeadlessRunner) existieren
+ * ausschließlich in den Arrays.
+ *
+ * Einträge stehen lückenlos an den Indizes 0 bis size()-1. Beim Entfernen
+ * rückt der letzte Eintrag an die freie Stelle.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class OscillatorBatch {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Anfangskapazität der Arrays */
+    private static final int INITIAL_CAPACITY = 32;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Bewegen sich die Einträge vertikal (true) oder horizontal (false)? */
+    private final boolean vertical;
+
+    /** Position in Bewegungsrichtung (X bei horizontal, Y bei vertikal) */
+    private int[] pos;
+
+    /** Feste Koordinate quer zur Bewegungsrichtung */
+    private int[] cross;
+
+    /** Grenzen des Bewegungsbereichs */
+    private int[] min, max;
+
+    /** Geschwindigkeit und Richtung in Pixeln pro Takt */
+    private int[] speed;
+
+    /** Bildgröße in Bewegungsrichtung und deren Hälfte (für die Wandabfrage) */
+    private int[] along, lead;
+
+    /** Bild-Rechteck quer zur Bewegungsrichtung (ändert sich nie) */
+    private int[] crossLo, crossHi;
+
+    /** Zugehöriger Actor oder null bei Einträgen ohne Actor */
+    private Enemy[] actors;
+
+    /** Anzahl Einträge */
+    private int count;
+
+    /** Anzahl Einträge mit Actor (bei 0 entfällt das Rückschreiben) */
+    private int actorCount;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt einen leeren Batch für eine Bewegungsrichtung.
+     *
+     * @param vertical true für vertikale Pendler (GreenDot), false für horizontale (BlueDot)
+     */
+    public OscillatorBatch(boolean vertical) {
+        this.vertical = vertical;
+        pos = new int[INITIAL_CAPACITY];
+        cross = new int[INITIAL_CAPACITY];
+        min = new int[INITIAL_CAPACITY];
+        max = new int[INITIAL_CAPACITY];
+        speed = new int[INITIAL_CAPACITY];
+        along = new int[INITIAL_CAPACITY];
+        lead = new int[INITIAL_CAPACITY];
+        crossLo = new int[INITIAL_CAPACITY];
+        crossHi = new int[INITIAL_CAPACITY];
+        actors = new Enemy[INITIAL_CAPACITY];
+    }
+
+    // ==================== EINTRÄGE VERWALTEN ====================
+
+    /**
+     * Trägt einen Gegner ein. Position und Bildgröße werden vom Actor übernommen.
+     *
+     * @param actor Der Gegner (muss bereits in der Welt sein)
+     * @param min   Untere Grenze des Bewegungsbereichs
+     * @param max   Obere Grenze des Bewegungsbereichs
+     * @param speed Geschwindigkeit in Pixeln pro Takt
+     */
+    public void add(Enemy actor, int min, int max, int speed) {
+        int w = actor.hitWidth();
+        int h = actor.hitHeight();
+        if (vertical) {
+            actor.oscillatorIndex = add(actor.getY(), actor.getX(), min, max, speed, h, w, actor);
+        } else {
+            actor.oscillatorIndex = add(actor.getX(), actor.getY(), min, max, speed, w, h, actor);
+        }
+    }
+
+    /**
+     * Trägt einen Pendler ohne Actor ein (für Lasttests).
+     *
+     * @param position Startposition in Bewegungsrichtung
+     * @param fixed    Feste Koordinate quer zur Bewegungsrichtung
+     * @param min      Untere Grenze des Bewegungsbereichs
+     * @param max      Obere Grenze des Bewegungsbereichs
+     * @param speed    Geschwindigkeit in Pixeln pro Takt
+     * @param size     Kantenlänge des (quadratischen) Bildes
+     */
+    public void add(int position, int fixed, int min, int max, int speed, int size) {
+        add(position, fixed, min, max, speed, size, size, null);
+    }
+
+    /**
+     * Schreibt einen Eintrag an das Ende der Arrays.
+     *
+     * @return Index des neuen Eintrags
+     */
+    private int add(int position, int fixed, int lo, int hi, int v, int sizeAlong, int sizeAcross, Enemy actor) {
+        if (count == pos.length) {
+            grow();
+        }
+        pos[count] = position;
+        cross[count] = fixed;
+        min[count] = lo;
+        max[count] = hi;
+        speed[count] = v;
+        along[count] = sizeAlong;
+        lead[count] = sizeAlong / 2;
+        crossLo[count] = fixed - sizeAcross / 2;
+        crossHi[count] = fixed - sizeAcross / 2 + sizeAcross;
+        actors[count] = actor;
+        if (actor != null) {
+            actorCount++;
+        }
+        return count++;
+    }
+
+    /**
+     * Trägt einen Gegner aus. Der letzte Eintrag rückt an seine Stelle.
+     *
+     * @param actor Der Gegner (wird ignoriert, wenn er nicht eingetragen ist)
+     */
+    public void remove(Enemy actor) {
+        int i = actor.oscillatorIndex;
+        if (i < 0 || i >= count || actors[i] != actor) {
+            return;
+        }
+        int last = --count;
+        pos[i] = pos[last];
+        cross[i] = cross[last];
+        min[i] = min[last];
+        max[i] = max[last];
+        speed[i] = speed[last];
+        along[i] = along[last];
+        lead[i] = lead[last];
+        crossLo[i] = crossLo[last];
+        crossHi[i] = crossHi[last];
+        actors[i] = actors[last];
+        if (actors[i] != null) {
+            actors[i].oscillatorIndex = i;
+        }
+        actors[last] = null;
+        actor.oscillatorIndex = -1;
+        actorCount--;
+    }
+
+    /**
+     * Entfernt alle Einträge.
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            if (actors[i] != null) {
+                actors[i].oscillatorIndex = -1;
+            }
+            actors[i] = null;
+        }
+        count = 0;
+        actorCount = 0;
+    }
+
+    /**
+     * Schreibt Position und Geschwindigkeit aller Einträge in einen Snapshot.
+     * Alles andere (Grenzen, Größen, Actors) ändert sich im Spiel nicht.
+     *
+     * @param out Ziel-Snapshot
+     */
+    void save(WorldSnapshot out) {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(pos[i]);
+            out.writeInt(speed[i]);
+        }
+    }
+
+    /**
+     * Liest Position und Geschwindigkeit aller Einträge aus einem Snapshot.
+     *
+     * @param in Quell-Snapshot
+     * @throws IllegalStateException wenn sich die Anzahl der Einträge geändert hat
+     */
+    void load(WorldSnapshot in) {
+        int n = in.readInt();
+        if (n != count) {
+            throw new IllegalStateException("Anzahl Pendler hat sich geändert: " + n + " statt " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            pos[i] = in.readInt();
+            speed[i] = in.readInt();
+        }
+    }
+
+    /**
+     * Verdoppelt die Kapazität aller Arrays.
+     */
+    private void grow() {
+        int capacity = pos.length * 2;
+        pos = Arrays.copyOf(pos, capacity);
+        cross = Arrays.copyOf(cross, capacity);
+        min = Arrays.copyOf(min, capacity);
+        max = Arrays.copyOf(max, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        along = Arrays.copyOf(along, capacity);
+        lead = Arrays.copyOf(lead, capacity);
+        crossLo = Arrays.copyOf(crossLo, capacity);
+        crossHi = Arrays.copyOf(crossHi, capacity);
+        actors = Arrays.copyOf(actors, capacity);
+    }
+
+    // ==================== TAKT ====================
+
+    /**
+     * Bewegt alle Einträge um einen Takt weiter und schreibt die Positionen
+     * in die zugehörigen Actors zurück.
+     *
+     * Große Batches werden über ParallelTick auf mehrere Kerne verteilt:
+     * Jeder Eintrag hängt nur von sich selbst und der (nur gelesenen)
+     * WallMap ab. Das Rückschreiben in die Actors läuft danach immer
+     * sequenziell in Index-Reihenfolge.
+     *
+     * @param walls  WallMap der Welt
+     * @param width  Breite der Welt in Pixeln
+     * @param height Höhe der Welt in Pixeln
+     */
+    public void update(WallMap walls, int width, int height) {
+        // Summentabelle vor dem Aufteilen aufbauen, danach wird sie nur noch gelesen
+        walls.isEmpty();
+        if (ParallelTick.isParallel(count)) {
+            ParallelTick.forRange(count, (from, to) -> step(walls, from, to, width, height));
+        } else {
+            // Direkt statt über forRange: Das Lambda würde in jedem Takt angelegt
+            step(walls, 0, count, width, height);
+        }
+        if (actorCount > 0) {
+            writeBack(0, count);
+        }
+    }
+
+    /**
+     * Bewegt die Einträge from bis to-1 um einen Takt weiter (ohne Rückschreiben).
+     *
+     * Die Schleife liest und schreibt nur die primitiven Arrays. Grenzen und
+     * Weltrand werden mit Math.min/Math.max und bedingten Zuweisungen
+     * berechnet, die die JVM ohne Sprünge übersetzen kann. Nur die
+     * Wandabfrage greift auf die WallMap zu; enthält die Karte keine
+     * einzige Wand, entfällt sie ganz.
+     *
+     * @param walls  WallMap der Welt
+     * @param from   Erster Index (einschließlich)
+     * @param to     Letzter Index (ausschließlich)
+     * @param width  Breite der Welt in Pixeln
+     * @param height Höhe der Welt in Pixeln
+     */
+    void step(WallMap walls, int from, int to, int width, int height) {
+        int limit = (vertical ? height : width) - 1;
+        WallMap test = walls.isEmpty() ? null : walls;
+        int[] pos = this.pos, min = this.min, max = this.max, speed = this.speed;
+        int[] along = this.along, lead = this.lead, crossLo = this.crossLo, crossHi = this.crossHi;
+        for (int i = from; i < to; i++) {
+            int d = speed[i];
+            int v = d;
+            int lo = min[i];
+            int hi = max[i];
+
+            // Schritt 1: Bewegen (Greenfoot begrenzt auf die Welt)
+            int p = Math.max(0, Math.min(limit, pos[i] + d));
+
+            // Schritt 2 und 3: Grenzen
+            int abs = Math.abs(v);
+            boolean atMin = p <= lo;
+            p = atMin ? Math.max(0, Math.min(limit, lo)) : p;
+            v = atMin ? abs : v;
+            boolean atMax = p >= hi;
+            p = atMax ? Math.max(0, Math.min(limit, hi)) : p;
+            v = atMax ? -abs : v;
+
+            // Schritt 4: Wand
+            if (test != null && touchesWall(test, p - lead[i], along[i], crossLo[i], crossHi[i])) {
+                p = Math.max(0, Math.min(limit, p - d));
+                v = -v;
+            }
+
+            pos[i] = p;
+            speed[i] = v;
+        }
+    }
+
+    /**
+     * Prüft ein Bild-Rechteck gegen die WallMap.
+     *
+     * @param walls WallMap der Welt
+     * @param a     Kante in Bewegungsrichtung (links bzw. oben)
+     * @param size  Bildgröße in Bewegungsrichtung
+     * @param lo    Kante quer zur Bewegungsrichtung (oben bzw. links)
+     * @param hi    Gegenüberliegende Kante quer zur Bewegungsrichtung (ausschließlich)
+     * @return true, wenn das Rechteck eine Wand berührt
+     */
+    private boolean touchesWall(WallMap walls, int a, int size, int lo, int hi) {
+        return vertical
+            ? walls.intersects(lo, a, hi, a + size)
+            : walls.intersects(a, lo, a + size, hi);
+    }
+
+    /**
+     * Schreibt die Positionen der Einträge from bis to-1 in ihre Actors zurück.
+     * Actors, deren Position sich nicht geändert hat, werden übersprungen.
+     *
+     * @param from Erster Index (einschließlich)
+     * @param to   Letzter Index (ausschließlich)
+     */
+    void writeBack(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Enemy actor = actors[i];
+            if (actor == null) {
+                continue;
+            }
+            if (vertical) {
+                if (actor.getY() != pos[i]) {
+                    actor.setLocation(cross[i], pos[i]);
+                }
+            } else if (actor.getX() != pos[i]) {
+                actor.setLocation(pos[i], cross[i]);
+            }
+        }
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Gibt die Anzahl der Einträge zurück.
+     *
+     * @return Anzahl Pendler in diesem Batch
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gibt an, ob die Einträge sich vertikal bewegen.
+     *
+     * @return true bei GreenDots, false bei BlueDots
+     */
+    public boolean isVertical() {
+        return vertical;
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelTick - Verteilt gleichartige Berechnungen eines Takts auf alle Kerne.
+ *
+ * Ein Takt läuft in zwei Phasen ab:
+ * 1. Planen (parallel): Jeder Eintrag eines Batches berechnet seine neue
+ *    Position. Dabei werden nur die eigenen Array-Plätze geschrieben und
+ *    gemeinsame Daten (z.B. die WallMap) nur gelesen.
+ * 2. Übernehmen (sequenziell): Die Ergebnisse werden in fester Reihenfolge
+ *    übernommen, z.B. Actors zurückschreiben oder entfernte Projektile
+ *    aus den Arrays löschen.
+ *
+ * Weil in Phase 1 kein Eintrag von einem anderen abhängt und Phase 2 immer
+ * in Index-Reihenfolge läuft, ist das Ergebnis Bit für Bit gleich wie bei
+ * der rein sequenziellen Berechnung, egal wie viele Kerne mitrechnen.
+ *
+ * Kleine Batches (unter der Schwelle) werden direkt auf dem aufrufenden
+ * Thread berechnet, weil sich das Aufteilen dort nicht lohnt. In den
+ * normalen Leveln ist das immer der Fall.
+ *
+ * Verwendung:
+ * <pre>
+ * ParallelTick.forRange(count, (from, to) -> step(walls, from, to));
+ * </pre>
+ *
+ * Wichtig: Greenfoot-Methoden (setLocation, getObjects, ...) sind nicht
+ * threadsicher und dürfen nur in Phase 2 aufgerufen werden.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class ParallelTick {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Ab dieser Anzahl Einträge wird parallel gerechnet */
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    /** Größe eines Teilstücks, das nicht weiter aufgeteilt wird */
+    private static final int CHUNK = 4096;
+
+    // ==================== EINSTELLUNGEN ====================
+
+    /** Aktuelle Schwelle für die parallele Berechnung */
+    private static volatile int threshold = DEFAULT_THRESHOLD;
+
+    /** Ist die parallele Berechnung eingeschaltet? */
+    private static volatile boolean enabled = true;
+
+    /**
+     * Berechnet einen Teilbereich eines Batches.
+     */
+    public interface Range {
+
+        /**
+         * Berechnet die Einträge from bis to-1.
+         *
+         * @param from Erster Index (einschließlich)
+         * @param to   Letzter Index (ausschließlich)
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * Keine Instanzen: Alle Methoden sind statisch.
+     */
+    private ParallelTick() {
+    }
+
+    // ==================== BERECHNEN ====================
+
+    /**
+     * Berechnet die Einträge 0 bis count-1, bei großen Batches parallel.
+     * Die Methode kehrt erst zurück, wenn alle Teilbereiche fertig sind.
+     *
+     * @param count Anzahl Einträge
+     * @param body  Berechnung für einen Teilbereich
+     */
+    public static void forRange(int count, Range body) {
+        if (!isParallel(count)) {
+            body.run(0, count);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new Split(body, 0, count));
+    }
+
+    /**
+     * Prüft, ob ein Batch dieser Größe parallel berechnet wird.
+     *
+     * @param count Anzahl Einträge
+     * @return true, wenn forRange() den Batch aufteilt
+     */
+    public static boolean isParallel(int count) {
+        return enabled && count >= threshold && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Teilt einen Bereich so lange in zwei Hälften, bis die Teile klein genug sind.
+     */
+    private static final class Split extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Range body;
+        private final int from, to;
+
+        Split(Range body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Split(body, from, mid), new Split(body, mid, to));
+        }
+    }
+
+    // ==================== EINSTELLUNGEN ÄNDERN ====================
+
+    /**
+     * Schaltet die parallele Berechnung ein oder aus (z.B. zum Vergleichen).
+     *
+     * @param on false = immer sequenziell rechnen
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Setzt die Anzahl Einträge, ab der parallel gerechnet wird.
+     *
+     * @param min Mindestanzahl Einträge (mindestens 1)
+     */
+    public static void setThreshold(int min) {
+        threshold = Math.max(1, min);
+    }
+}
@@ -1,5 +1,4 @@
 import greenfoot.*;
-import java.util.List;
 
 /**
  * Player - Die Spielfigur, die vom Benutzer gesteuert wird.
@@ -10,7 +9,8 @@ import java.util.List;
  * 
  * Hauptfunktionen:
  * - Steuerung mit Pfeiltasten (kann durch InvertZone invertiert werden)
- * - Kollisionserkennung mit Wänden, Gegnern und Projektilen
+ * - Kollisionserkennung mit Wänden, Gegnern und Projektilen (ein Durchgang
+ *   pro Position über GameActor.findContacts)
  * - Leben-System (5 Leben pro Level)
  * - Level-Wechsel beim Erreichen der TargetArea
  * - Cheat-System für direkten Level-Zugriff
@@ -19,7 +19,7 @@ import java.util.List;
  * @author Felix Krusch
  * @version 2.0
  */
-public class Player extends Actor {
+public class Player extends GameActor {
     // ==================== KONSTANTEN ====================
     
     /** Schrittweite pro Tastendruck in Pixeln */
@@ -34,6 +34,9 @@ public class Player extends Actor {
     /** Maximale Anzahl Leben pro Level */
     private static final int MAX_LIVES = 5;
     
+    /** Kontaktarten, an denen eine Bewegung endet (siehe sweepContacts) */
+    private static final int HAZARDS = Contacts.WALL | Contacts.ENEMY | Contacts.BULLET | Contacts.TARGET;
+    
     // ==================== ATTRIBUTE ====================
     
     /** Aktuelle Schrittweite (kann durch Powerups verändert werden) */
@@ -48,6 +51,9 @@ public class Player extends Actor {
     /** Verbleibende Leben des Spielers */
     private int lives = MAX_LIVES;
     
+    /** Kontakte des letzten Durchgangs (wird in jedem Takt wiederverwendet) */
+    private final Contacts contacts = new Contacts();
+    
     // ==================== LIFECYCLE-METHODEN ====================
     
     /**
@@ -73,27 +79,22 @@ public class Player extends Actor {
      * 6. Ziel-Erreichung prüfen
      * 7. Cheat-Codes prüfen
      */
-    public void act() {
+    @Override
+    public void tick() {
         // === SCHRITT 1: Alte Position speichern ===
         // Diese wird benötigt, um bei Wandkollision zurückzusetzen
         int xOld = getX();
         int yOld = getY();
         
         // === SCHRITT 2: Spezialzonen-Effekte sammeln ===
-        int dxMod = 0;  // Zusätzliche X-Verschiebung durch WindZone
-        int dyMod = 0;  // Zusätzliche Y-Verschiebung durch WindZone
-        boolean invert = false;  // Flag für invertierte Steuerung
-        
-        // WindZone-Effekte akkumulieren (mehrere WindZones können sich addieren)
-        for (WindZone wz : getIntersectingObjects(WindZone.class)) {
-            dxMod += wz.windDx; 
-            dyMod += wz.windDy;
-        }
-        
-        // InvertZone prüfen (Steuerung wird umgekehrt)
-        if (!getIntersectingObjects(InvertZone.class).isEmpty()) {
-            invert = true;
+        // Die Kontakte vom Ende des letzten Takts gelten noch, solange der
+        // Spieler seitdem nicht bewegt wurde (Zonen bewegen sich nicht)
+        if (!contacts.isAt(this)) {
+            findContacts(contacts);
         }
+        int dxMod = contacts.getWindDx();  // Summe aller WindZones in X-Richtung
+        int dyMod = contacts.getWindDy();  // Summe aller WindZones in Y-Richtung
+        boolean invert = contacts.has(Contacts.INVERT);  // Steuerung umgekehrt?
         
         // === SCHRITT 3: Steuerung berechnen ===
         // Bei normaler Steuerung: links = -step, rechts = +step
@@ -105,16 +106,16 @@ public class Player extends Actor {
         
         // === SCHRITT 4: Tastatureingaben verarbeiten ===
         // Jede Pfeiltaste bewegt den Spieler in die entsprechende Richtung
-        if (Greenfoot.isKeyDown("left")) {
+        if (Game.isKeyDown("left")) {
             setLocation(getX() + sL, getY());
         }
-        if (Greenfoot.isKeyDown("right")) {
+        if (Game.isKeyDown("right")) {
             setLocation(getX() + sR, getY());
         }
-        if (Greenfoot.isKeyDown("up")) {
+        if (Game.isKeyDown("up")) {
             setLocation(getX(), getY() + sU);
         }
-        if (Greenfoot.isKeyDown("down")) {
+        if (Game.isKeyDown("down")) {
             setLocation(getX(), getY() + sD);
         }
         
@@ -125,34 +126,71 @@ public class Player extends Actor {
         }
         
         // === SCHRITT 6: Kollisionen prüfen ===
+        // Alle Kontakte an der neuen Position in einem Durchgang sammeln.
+        // Bei großen Schritten (mehr als die eigene Größe) wird der Weg in
+        // Teilschritten abgegangen und am ersten Hindernis angehalten
+        sweepContacts(contacts, xOld, yOld, HAZARDS);
         
         // Wandkollision: Spieler wird auf alte Position zurückgesetzt
-        if (!getIntersectingObjects(Wall.class).isEmpty()) {
-            setLocation(xOld, yOld);
-            Greenfoot.playSound("hit_wall.mp3");
+        if (contacts.has(Contacts.WALL)) {
+            onWall(xOld, yOld);
         }
         
-        // Gegnerkollision: Leben verlieren
-        if (!getIntersectingObjects(Enemy.class).isEmpty()) {
-            loseLife();
+        // Gegner- und Projektilkollision: Leben verlieren
+        // Nach einem Game Over wurde das Level gewechselt oder zurückgesetzt,
+        // der Rest dieses Takts entfällt
+        if (contacts.has(Contacts.ENEMY) && onHit(GameEvents.ENEMY)) {
+            return;
         }
-        
-        // Projektilkollision: Leben verlieren
-        if (!getIntersectingObjects(Bullet.class).isEmpty()) {
-            loseLife();
+        if (contacts.has(Contacts.BULLET) && onHit(GameEvents.BULLET)) {
+            return;
         }
         
         // === SCHRITT 7: Ziel erreicht ===
         // Wenn der Spieler die TargetArea berührt, geht es ins nächste Level
-        if (!getIntersectingObjects(TargetArea.class).isEmpty()) {
-            Greenfoot.playSound("level_up.mp3");
+        if (contacts.has(Contacts.TARGET)) {
+            GameEvents.playerContact(this, GameEvents.TARGET);
+            Game.playSound("level_up.mp3");
             nextLevel();
+            return;
         }
         
         // === SCHRITT 8: Cheat-Codes prüfen ===
         checkCheats();
     }
     
+    /**
+     * Reaktion auf eine Wand: Der Spieler geht auf die alte Position zurück.
+     * Dort werden die Kontakte neu gesammelt, damit Gegner und Ziel an der
+     * tatsächlichen Position geprüft werden.
+     * 
+     * @param xOld X-Koordinate vor der Bewegung
+     * @param yOld Y-Koordinate vor der Bewegung
+     */
+    private void onWall(int xOld, int yOld) {
+        GameEvents.playerContact(this, GameEvents.WALL);
+        setLocation(xOld, yOld);
+        Game.playSound("hit_wall.mp3");
+        findContacts(contacts);
+    }
+    
+    /**
+     * Reaktion auf einen Gegner oder ein Projektil: Der Spieler verliert ein
+     * Leben und steht danach auf der Startposition. Dort werden die Kontakte
+     * neu gesammelt.
+     * 
+     * @param outcome Art des Kontakts für das JFR-Ereignis (GameEvents.ENEMY oder BULLET)
+     * @return true bei Game Over (der Takt muss dann abgebrochen werden)
+     */
+    private boolean onHit(String outcome) {
+        GameEvents.playerContact(this, outcome);
+        if (loseLife()) {
+            return true;
+        }
+        findContacts(contacts);
+        return false;
+    }
+    
     // ==================== CHEAT-SYSTEM ====================
     
     /**
@@ -165,13 +203,17 @@ public class Player extends Actor {
      * - Taste 3: Level 3
      * - Taste 4: Level 4
      * - Taste 5: Level 5
+     * 
+     * Es zählt nur der Moment des Drückens: Eine gehaltene Taste wechselt
+     * das Level genau einmal und nicht in jedem Takt.
      */
     private void checkCheats() {
-        if (Greenfoot.isKeyDown("1")) Greenfoot.setWorld(new Level1());
-        if (Greenfoot.isKeyDown("2")) Greenfoot.setWorld(new Level2());
-        if (Greenfoot.isKeyDown("3")) Greenfoot.setWorld(new Level3());
-        if (Greenfoot.isKeyDown("4")) Greenfoot.setWorld(new Level4());
-        if (Greenfoot.isKeyDown("5")) Greenfoot.setWorld(new Level5());
+        for (int level = 1; level <= LevelRegistry.count(); level++) {
+            if (Game.isKeyPressed(LevelRegistry.cheatKey(level))) {
+                LevelRegistry.current().switchTo(level, getWorld());
+                return;
+            }
+        }
     }
     
     // ==================== LEBEN-SYSTEM ====================
@@ -185,13 +227,25 @@ public class Player extends Actor {
      * 3. HUD aktualisieren
      * 4. Bei 0 Leben: Zurück zu Level 1
      * 5. Sonst: Zurück zur Startposition
+     * 
+     * Ohne Schaden (Game.isInvulnerable) geht der Spieler nur zurück zur
+     * Startposition.
+     * 
+     * @return true bei Game Over (das Spiel ist zu Level 1 zurückgekehrt)
      */
-    private void loseLife() {
+    private boolean loseLife() {
         // Schaden-Sound abspielen
-        Greenfoot.playSound("hit_enemy.mp3");
+        Game.playSound("hit_enemy.mp3");
+        
+        // Ohne Schaden (nur im HeadlessRunner): kein Leben verlieren
+        if (Game.isInvulnerable()) {
+            startPosition();
+            return false;
+        }
         
         // Leben reduzieren
         lives--;
+        GameMetrics.source().death();
         
         // HUD aktualisieren (zeigt neue Leben-Anzahl)
         updateHUD();
@@ -199,11 +253,12 @@ public class Player extends Actor {
         // Prüfen, ob Game Over
         if (lives <= 0) {
             // Keine Leben mehr: Zurück zum Anfang (Level 1)
-            Greenfoot.setWorld(new Level1());
-        } else {
-            // Noch Leben übrig: Zurück zur Startposition
-            startPosition();
+            LevelRegistry.current().switchTo(1, getWorld());
+            return true;
         }
+        // Noch Leben übrig: Zurück zur Startposition
+        startPosition();
+        return false;
     }
     
     /**
@@ -249,36 +304,48 @@ public class Player extends Actor {
     /**
      * Wechselt zum nächsten Level, basierend auf der aktuellen Welt.
      * 
-     * Level-Reihenfolge:
+     * Level-Reihenfolge (siehe LevelRegistry):
      * Level 1 → Level 2 → Level 3 → Level 4 → Level 5 → Sieg
      * 
      * Nach Level 5 wird der Gratulationstext angezeigt und das Spiel gestoppt.
      */
     public void nextLevel() {
         World cw = getWorld();
+        GameMetrics.source().levelTransition();
         
-        if (cw instanceof Level1) {
-            // Von Level 1 zu Level 2
-            Greenfoot.setWorld(new Level2());
-        } 
-        else if (cw instanceof Level2) {
-            // Von Level 2 zu Level 3
-            Greenfoot.setWorld(new Level3());
-        } 
-        else if (cw instanceof Level3) {
-            // Von Level 3 zu Level 4
-            Greenfoot.setWorld(new Level4());
-        } 
-        else if (cw instanceof Level4) {
-            // Von Level 4 zu Level 5
-            Greenfoot.setWorld(new Level5());
-        } 
-        else if (cw instanceof Level5) {
-            // Level 5 abgeschlossen: Spiel gewonnen!
-            Greenfoot.playSound("victory.mp3");
-            getWorld().showText("YEAH, YOU WON!", 300, 180);
-            getWorld().showText("Congratulations!", 300, 220);
-            Greenfoot.stop();
+        if (LevelRegistry.numberOf(cw) == LevelRegistry.count()) {
+            // Letztes Level abgeschlossen: Spiel gewonnen!
+            Game.playSound("victory.mp3");
+            cw.showText("YEAH, YOU WON!", 300, 180);
+            cw.showText("Congratulations!", 300, 220);
+            Game.stop();
+        } else {
+            LevelRegistry.current().next(cw);
         }
     }
+    
+    // ==================== SNAPSHOT ====================
+    
+    /**
+     * Speichert Leben und Schrittweite (siehe WorldSnapshot).
+     * 
+     * @param out Ziel-Snapshot
+     */
+    @Override
+    protected void saveState(WorldSnapshot out) {
+        out.writeInt(lives);
+        out.writeInt(step);
+    }
+    
+    /**
+     * Stellt Leben und Schrittweite wieder her und aktualisiert das HUD.
+     * 
+     * @param in Quell-Snapshot
+     */
+    @Override
+    protected void loadState(WorldSnapshot in) {
+        lives = in.readInt();
+        step = in.readInt();
+        updateHUD();
+    }
 }
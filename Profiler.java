@@ -0,0 +1,296 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Profiler - Misst, wofür die Zeit eines Takts verbraucht wird.
+ *
+ * Der Benchmark misst einzelne Abläufe in einer künstlichen Umgebung. Der
+ * Profiler misst dagegen das laufende Spiel: Während er eingeschaltet ist,
+ * nimmt die GameWorld in jedem Takt die Zeit für
+ * - tick() jeder Actor-Klasse (Summe über alle Actors der Klasse),
+ * - die Pendler (OscillatorBatch) und die Projektile (BulletSystem),
+ * - alle Kollisionsabfragen (findContacts, isIntersecting, isTouchingWall,
+ *   collectIntersecting; diese Zeit steckt auch schon in der Zeit der
+ *   fragenden Klasse),
+ * - den ganzen Takt
+ * und pro Bild die Zeit für das Zeichnen zwischen den Takten. Jeder Wert
+ * landet in einem Histogram, aus dem p50 und p99 abgelesen werden.
+ *
+ * Im normalen Spiel schaltet die Taste TOGGLE_KEY den Profiler ein und aus;
+ * dann zeigt ein ProfilerOverlay die Werte oben rechts im HUD-Bereich an.
+ * Ausgeschaltet kostet der Profiler pro Actor und Abfrage nur einen
+ * Vergleich mit null (kein System.nanoTime()).
+ *
+ * Verwendung (z.B. im HeadlessRunner):
+ * <pre>
+ * Profiler profiler = runner.getProfiler();
+ * profiler.setEnabled(true);
+ * runner.run(Level3::new, 10000);
+ * for (String line : profiler.report()) {
+ *     System.out.println(line);
+ * }
+ * </pre>
+ *
+ * Im normalen Spiel gibt es einen gemeinsamen Profiler. Jeder HeadlessRunner
+ * hat seinen eigenen. Ein Profiler ist nicht threadsicher.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class Profiler {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Taste zum Ein- und Ausschalten im normalen Spiel */
+    public static final String TOGGLE_KEY = "p";
+
+    /** Profiler des normalen Spiels */
+    private static final Profiler LIVE = new Profiler();
+
+    // ==================== MESSREIHE ====================
+
+    /**
+     * Eine Zeile der Auswertung: Name, Histogramm und die Summe des
+     * laufenden Takts.
+     */
+    private static final class Row {
+
+        /** Angezeigter Name */
+        final String name;
+
+        /** Zeiten pro Takt (bzw. pro Bild beim Zeichnen) */
+        final Histogram times = new Histogram();
+
+        /** Summe im laufenden Takt */
+        long pending;
+
+        /** Wurde im laufenden Takt gemessen? */
+        boolean touched;
+
+        /** Anzahl Actors im laufenden bzw. letzten Takt (nur Actor-Klassen) */
+        int actors, lastActors;
+
+        Row(String name) {
+            this.name = name;
+        }
+
+        /** Übernimmt die Summe des Takts in das Histogramm */
+        void flush() {
+            if (touched) {
+                times.record(pending);
+                pending = 0;
+                touched = false;
+            }
+            lastActors = actors;
+            actors = 0;
+        }
+    }
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Ist der Profiler eingeschaltet? */
+    private volatile boolean enabled;
+
+    /** War TOGGLE_KEY beim letzten Bild gedrückt? */
+    private boolean toggleDown;
+
+    /** Feste Zeilen */
+    private final Row tick = new Row("Takt");
+    private final Row oscillators = new Row("Pendler");
+    private final Row bullets = new Row("Projektile");
+    private final Row collisions = new Row("Kollision");
+    private final Row render = new Row("Zeichnen");
+
+    /** Eine Zeile pro Actor-Klasse (in der Reihenfolge des ersten Auftretens) */
+    private final Map<Class<?>, Row> classes = new LinkedHashMap<>();
+
+    /** Anzahl lebender GameActors im letzten Takt */
+    private int liveActors;
+
+    // ==================== ZUGRIFF ====================
+
+    /**
+     * Gibt den Profiler zurück, der auf dem aktuellen Thread gilt.
+     *
+     * @return Profiler des HeadlessRunners oder des normalen Spiels
+     */
+    public static Profiler current() {
+        HeadlessRunner runner = HeadlessRunner.current();
+        return runner != null ? runner.getProfiler() : LIVE;
+    }
+
+    /**
+     * Schaltet den Profiler ein oder aus. Beim Einschalten beginnen alle
+     * Messreihen von vorn.
+     *
+     * @param value true = messen
+     */
+    public void setEnabled(boolean value) {
+        if (value && !enabled) {
+            clear();
+        }
+        enabled = value;
+    }
+
+    /**
+     * Gibt an, ob der Profiler misst.
+     *
+     * @return true, wenn eingeschaltet
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Schaltet den Profiler um, wenn TOGGLE_KEY neu gedrückt wurde
+     * (wird von der GameWorld einmal pro Bild aufgerufen).
+     */
+    void pollToggle() {
+        boolean down = Game.readKey(TOGGLE_KEY);
+        if (down && !toggleDown) {
+            setEnabled(!enabled);
+        }
+        toggleDown = down;
+    }
+
+    /**
+     * Vergisst alle Messwerte.
+     */
+    public void clear() {
+        for (Row row : fixedRows()) {
+            row.times.clear();
+            row.pending = 0;
+            row.touched = false;
+        }
+        classes.clear();
+        liveActors = 0;
+    }
+
+    // ==================== MESSEN (von GameWorld und GameActor) ====================
+
+    /**
+     * Addiert die Zeit für tick() eines Actors zu seiner Klasse.
+     */
+    void addActor(Class<?> type, long nanos) {
+        Row row = classes.get(type);
+        if (row == null) {
+            row = new Row(type.getSimpleName());
+            classes.put(type, row);
+        }
+        row.pending += nanos;
+        row.touched = true;
+        row.actors++;
+    }
+
+    /**
+     * Addiert die Zeit einer Kollisionsabfrage.
+     */
+    void addCollision(long nanos) {
+        collisions.pending += nanos;
+        collisions.touched = true;
+    }
+
+    /**
+     * Addiert die Zeit der Pendler (OscillatorBatch) im laufenden Takt.
+     */
+    void addOscillators(long nanos) {
+        oscillators.pending += nanos;
+        oscillators.touched = true;
+    }
+
+    /**
+     * Addiert die Zeit der Projektile (BulletSystem) im laufenden Takt.
+     */
+    void addBullets(long nanos) {
+        bullets.pending += nanos;
+        bullets.touched = true;
+    }
+
+    /**
+     * Schließt einen Takt ab: Alle Summen wandern in ihre Histogramme.
+     *
+     * @param nanos      Dauer des ganzen Takts
+     * @param actorCount Anzahl GameActors in der Welt
+     */
+    void endTick(long nanos, int actorCount) {
+        tick.pending = nanos;
+        tick.touched = true;
+        tick.flush();
+        oscillators.flush();
+        bullets.flush();
+        collisions.flush();
+        for (Row row : classes.values()) {
+            row.flush();
+        }
+        liveActors = actorCount;
+    }
+
+    /**
+     * Zählt die Zeit für das Zeichnen eines Bildes.
+     */
+    void recordRender(long nanos) {
+        render.times.record(nanos);
+    }
+
+    // ==================== AUSWERTEN ====================
+
+    /**
+     * Gibt die Auswertung als Textzeilen zurück: eine Kopfzeile und pro
+     * Messreihe Anzahl Actors (bei Actor-Klassen), p50 und p99.
+     *
+     * @return Zeilen für die Anzeige oder die Konsole
+     */
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-12s %4s %9s %9s", "Actors: " + liveActors, "n", "p50", "p99"));
+        lines.add(line(tick, ""));
+        for (Row row : classes.values()) {
+            lines.add(line(row, String.valueOf(row.lastActors)));
+        }
+        lines.add(line(oscillators, ""));
+        lines.add(line(bullets, ""));
+        lines.add(line(collisions, ""));
+        lines.add(line(render, ""));
+        return lines;
+    }
+
+    /**
+     * Gibt die Anzahl der gemessenen Takte zurück.
+     *
+     * @return Anzahl Takte seit dem Einschalten
+     */
+    public long getTicks() {
+        return tick.times.count();
+    }
+
+    /**
+     * Formatiert eine Zeile der Auswertung.
+     */
+    private static String line(Row row, String count) {
+        return String.format(Locale.ROOT, "%-12s %4s %9s %9s", row.name, count,
+                time(row.times.percentile(0.50)), time(row.times.percentile(0.99)));
+    }
+
+    /**
+     * Formatiert eine Zeit in ns, µs oder ms.
+     */
+    private static String time(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + " ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1f µs", nanos / 1e3);
+        }
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1e6);
+    }
+
+    /**
+     * Gibt die festen Zeilen zurück.
+     */
+    private Row[] fixedRows() {
+        return new Row[] {tick, oscillators, bullets, collisions, render};
+    }
+}
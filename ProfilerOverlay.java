@@ -0,0 +1,88 @@
+import greenfoot.*;
+import java.util.List;
+
+/**
+ * ProfilerOverlay - Zeigt die Auswertung des Profilers oben rechts an.
+ *
+ * Die Anzeige ist ein durchsichtiges Feld mit einer Zeile pro Messreihe
+ * (siehe Profiler.report). Neu gezeichnet wird höchstens alle
+ * REFRESH_NANOS, damit die Anzeige selbst die Messung kaum beeinflusst
+ * und die Zahlen lesbar bleiben.
+ *
+ * Wie der BulletLayer ist die Anzeige kein GameActor: Sie steht nicht im
+ * SpatialGrid, nimmt an keinem Takt teil und gehört nicht zum Snapshot.
+ * Die GameWorld fügt sie hinzu, solange der Profiler eingeschaltet ist.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class ProfilerOverlay extends Actor {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Abstand zwischen zwei Neuzeichnungen (0,5 Sekunden) */
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    /** Schriftgröße */
+    private static final int FONT_SIZE = 12;
+
+    /** Zeilenhöhe in Pixeln */
+    private static final int LINE_HEIGHT = 14;
+
+    /** Breite des Felds in Pixeln */
+    private static final int WIDTH = 250;
+
+    /** Abstand zum Rand und zur Schrift */
+    private static final int MARGIN = 4;
+
+    /** Schriftfarbe und Hintergrund (halb durchsichtig) */
+    private static final Color TEXT = Color.WHITE;
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Zeitpunkt der letzten Neuzeichnung */
+    private long lastRefresh;
+
+    /** Schrift der Zeilen (beim ersten Zeichnen angelegt) */
+    private Font font;
+
+    // ==================== ZEICHNEN ====================
+
+    /**
+     * Zeichnet die Auswertung neu, wenn seit dem letzten Mal mindestens
+     * REFRESH_NANOS vergangen sind. Passt die Höhe nicht mehr (neue
+     * Actor-Klasse), wird das Feld vergrößert und neu ausgerichtet.
+     *
+     * @param profiler Der Profiler
+     */
+    public void refresh(Profiler profiler) {
+        long now = System.nanoTime();
+        if (getImage() != null && now - lastRefresh < REFRESH_NANOS) {
+            return;
+        }
+        lastRefresh = now;
+        List<String> lines = profiler.report();
+        int height = lines.size() * LINE_HEIGHT + 2 * MARGIN;
+        GreenfootImage image = getImage();
+        if (image == null || image.getHeight() != height) {
+            image = new GreenfootImage(WIDTH, height);
+            setImage(image);
+            World world = getWorld();
+            if (world != null) {
+                setLocation(world.getWidth() - WIDTH / 2 - MARGIN, 40 + height / 2);
+            }
+        }
+        if (font == null) {
+            font = new Font("Monospaced", false, false, FONT_SIZE);
+        }
+        image.clear();
+        image.setColor(BACKGROUND);
+        image.fill();
+        image.setColor(TEXT);
+        image.setFont(font);
+        for (int i = 0; i < lines.size(); i++) {
+            image.drawString(lines.get(i), MARGIN, MARGIN + (i + 1) * LINE_HEIGHT - 3);
+        }
+    }
+}
@@ -20,8 +20,10 @@ import greenfoot.*;
  * - Kombiniert mit anderen Gegnern für erhöhte Schwierigkeit
  * 
  * Technische Details:
- * - Verwendet eine Basis-Bildkopie, um Qualitätsverlust zu vermeiden
- * - Skaliert das Bild in jedem Takt neu
+ * - Alle Größen werden einmal vorberechnet (PulsarFrames) und von allen
+ *   Pulsaren mit gleichem Bild und gleichen Grenzen gemeinsam genutzt
+ * - In tick() wird nur noch das passende fertige Bild gesetzt
+ * - Das Kollisions-Rechteck kommt aus der aktuellen Größe, nicht aus dem Bild
  * - Delta-Wert bestimmt die Pulsationsgeschwindigkeit
  * 
  * Verwendung in Leveln:
@@ -33,6 +35,8 @@ import greenfoot.*;
  */
 public class Pulsar extends Enemy {
     
+    // ==================== KONSTANTEN ====================
+    
     // ==================== ATTRIBUTE ====================
     
     /** Minimale Größe des Pulsars in Pixeln */
@@ -52,10 +56,13 @@ public class Pulsar extends Enemy {
     private int current;
     
     /** 
-     * Basis-Bild in Originalqualität.
-     * Wichtig: Immer von dieser Kopie aus skalieren, um Qualitätsverlust zu vermeiden!
+     * Vorberechnete Bilder für alle Größen von minSize bis maxSize.
+     * Werden mit allen anderen Pulsaren geteilt und nie verändert.
      */
-    private GreenfootImage base;
+    private PulsarFrames frames;
+    
+    /** Größe, deren Bild gerade gesetzt ist (-1 = noch keines) */
+    private int shownSize = -1;
     
     // ==================== KONSTRUKTOR ====================
     
@@ -85,19 +92,15 @@ public class Pulsar extends Enemy {
     /**
      * Wird einmalig aufgerufen, wenn der Pulsar zur Welt hinzugefügt wird.
      * 
-     * Wichtig: Hier wird eine Kopie des Original-Bildes gespeichert.
-     * Diese Kopie wird als Basis für alle Skalierungen verwendet, um
-     * Qualitätsverlust durch wiederholtes Skalieren zu vermeiden.
-     * 
-     * Ohne diese Basis-Kopie würde das Bild bei jedem Takt vom bereits
-     * skalierten Bild aus neu skaliert werden, was zu zunehmender Unschärfe führt.
+     * Holt die vorberechneten Bilder für diesen Größenbereich. Beim ersten
+     * Pulsar mit diesen Werten werden sie einmal erzeugt (jeweils direkt vom
+     * Originalbild aus skaliert), alle weiteren Pulsare verwenden sie nur noch.
      * 
      * @param w Die Welt, zu der der Pulsar hinzugefügt wurde
      */
     @Override
     protected void addedToWorld(World w) {
-        // Original-Bild als Basis speichern (wichtig für Bildqualität!)
-        base = new GreenfootImage(getImage());
+        frames = PulsarFrames.get(this, minSize, maxSize);
         // Initiale Größe setzen
         updateSize();
     }
@@ -116,7 +119,7 @@ public class Pulsar extends Enemy {
      * 4. Bild auf neue Größe skalieren
      */
     @Override
-    public void act() {
+    public void tick() {
         // === SCHRITT 1: Größe ändern ===
         current += delta;
         
@@ -143,25 +146,63 @@ public class Pulsar extends Enemy {
     /**
      * Aktualisiert das Bild des Pulsars basierend auf der aktuellen Größe.
      * 
-     * Diese Methode erstellt eine neue Kopie vom Basis-Bild und skaliert sie
-     * auf die aktuelle Größe. Dies ist entscheidend für die Bildqualität:
-     * 
-     * RICHTIG (wie hier):
-     *   Basis-Bild → Kopie erstellen → Skalieren → Setzen
-     *   (Jede Skalierung erfolgt vom Original aus)
-     * 
-     * FALSCH:
-     *   Aktuelles Bild → Skalieren → Setzen
-     *   (Wiederholtes Skalieren führt zu Qualitätsverlust)
+     * Es wird kein Bild mehr erzeugt oder skaliert: Das passende Bild liegt
+     * bereits fertig in den PulsarFrames und wird nur noch gesetzt, wenn
+     * sich die Größe geändert hat.
      */
     private void updateSize() {
-        if (base != null) {
-            // Neue Kopie vom Basis-Bild erstellen
-            GreenfootImage scaled = new GreenfootImage(base);
-            // Auf aktuelle Größe skalieren
-            scaled.scale(current, current);
-            // Skaliertes Bild setzen
-            setImage(scaled);
+        if (frames != null && current != shownSize) {
+            shownSize = current;
+            setImage(frames.image(current));
         }
     }
+    
+    // ==================== KOLLISION ====================
+    
+    /**
+     * Breite des Kollisions-Rechtecks: die aktuelle Größe des Pulsars.
+     * Hängt nicht vom gesetzten Bild ab; das Bild dieser Größe aus den
+     * PulsarFrames deckt genau dasselbe Rechteck ab.
+     * 
+     * @return Aktuelle Größe in Pixeln
+     */
+    @Override
+    protected int hitWidth() {
+        return current;
+    }
+    
+    /**
+     * Höhe des Kollisions-Rechtecks: die aktuelle Größe des Pulsars.
+     * 
+     * @return Aktuelle Größe in Pixeln
+     */
+    @Override
+    protected int hitHeight() {
+        return current;
+    }
+    
+    // ==================== SNAPSHOT ====================
+    
+    /**
+     * Speichert die aktuelle Größe und die Pulsationsrichtung (siehe WorldSnapshot).
+     * 
+     * @param out Ziel-Snapshot
+     */
+    @Override
+    protected void saveState(WorldSnapshot out) {
+        out.writeInt(current);
+        out.writeInt(delta);
+    }
+    
+    /**
+     * Stellt Größe und Pulsationsrichtung wieder her und setzt das passende Bild.
+     * 
+     * @param in Quell-Snapshot
+     */
+    @Override
+    protected void loadState(WorldSnapshot in) {
+        current = in.readInt();
+        delta = in.readInt();
+        updateSize();
+    }
 }
@@ -0,0 +1,85 @@
+import greenfoot.*;
+
+/**
+ * PulsarFrames - Vorberechnete Animationsbilder für den Pulsar.
+ *
+ * Der Pulsar ändert in jedem Takt seine Größe. Früher wurde dafür jedes Mal
+ * ein neues Bild kopiert und skaliert. Stattdessen werden hier alle Größen
+ * zwischen minSize und maxSize einmal vorberechnet. Alle Pulsare mit
+ * denselben Grenzen teilen sich diese Bilder (Ausgangsbild ist das
+ * Klassenbild, siehe SpriteCache).
+ *
+ * Gespeichert wird die Bildfolge im SpriteCache (SpriteCache.frames) und
+ * nicht hier: So zählt sie gegen dessen Obergrenze, und es gibt nie zwei
+ * Kopien derselben Bilder. Ein PulsarFrames-Objekt hält die Folge nur,
+ * solange ein Pulsar es benutzt.
+ *
+ * Treffertests verwenden die Bilder nicht: Das Kollisions-Rechteck des
+ * Pulsars ist seine aktuelle Größe (siehe Pulsar.hitWidth), ein Bild
+ * dieser Größe füllt es genau aus.
+ *
+ * Verwendung:
+ * <pre>
+ * PulsarFrames frames = PulsarFrames.get(this, 25, 50);
+ * setImage(frames.image(current));
+ * </pre>
+ *
+ * Wichtig: Die Bilder werden von allen Pulsaren gemeinsam benutzt und
+ * dürfen deshalb nicht verändert (bemalt, skaliert) werden.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class PulsarFrames {
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Kleinste Größe (Index 0 in images) */
+    private final int minSize;
+
+    /** Bilder für jede Größe von minSize bis maxSize */
+    private final GreenfootImage[] images;
+
+    // ==================== ERZEUGEN ====================
+
+    /**
+     * Gibt die Bildfolge für ein Klassenbild und einen Größenbereich zurück.
+     * Beim ersten Aufruf wird sie berechnet, danach kommt sie aus dem
+     * SpriteCache (solange er sie nicht wegen seiner Obergrenze entfernt hat).
+     *
+     * @param actor   Actor, dessen Klassenbild verwendet wird
+     * @param minSize Kleinste Größe in Pixeln
+     * @param maxSize Größte Größe in Pixeln
+     * @return Die gemeinsam genutzte Bildfolge
+     */
+    public static PulsarFrames get(Actor actor, int minSize, int maxSize) {
+        return new PulsarFrames(minSize, SpriteCache.frames(actor, minSize, maxSize));
+    }
+
+    /**
+     * Umhüllt eine Bildfolge aus dem SpriteCache.
+     */
+    private PulsarFrames(int minSize, GreenfootImage[] images) {
+        this.minSize = minSize;
+        this.images = images;
+    }
+
+    // ==================== ZUGRIFF ====================
+
+    /**
+     * Gibt das Bild für eine Größe zurück.
+     *
+     * @param size Größe in Pixeln (wird auf den Bereich begrenzt)
+     * @return Vorberechnetes Bild dieser Größe
+     */
+    public GreenfootImage image(int size) {
+        return images[index(size)];
+    }
+
+    /**
+     * Rechnet eine Größe in einen Array-Index um.
+     */
+    private int index(int size) {
+        return Math.max(0, Math.min(images.length - 1, size - minSize));
+    }
+}
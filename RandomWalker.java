@@ -59,15 +59,15 @@ public class RandomWalker extends Enemy {
      * - 3: Rechts (X erhöhen)
      */
     @Override
-    public void act() {
+    public void tick() {
         // === SCHRITT 1: Alte Position speichern ===
         // Diese wird benötigt, um bei Kollision zurückzusetzen
         int xOld = getX();
         int yOld = getY();
         
         // === SCHRITT 2: Zufällige Richtung wählen ===
-        // Greenfoot.getRandomNumber(4) liefert Werte von 0 bis 3
-        int direction = Greenfoot.getRandomNumber(4);
+        // random().nextInt(4) liefert Werte von 0 bis 3 (eigener Zufallsstrom)
+        int direction = random().nextInt(4);
         
         // === SCHRITT 3: Bewegung ausführen ===
         switch (direction) {
@@ -87,7 +87,7 @@ public class RandomWalker extends Enemy {
         
         // === SCHRITT 4: Wandkollision prüfen ===
         // Wenn der RandomWalker eine Wand berührt, wird er zurückgesetzt
-        if (!getIntersectingObjects(Wall.class).isEmpty()) {
+        if (isTouchingWall()) {
             setLocation(xOld, yOld);
         }
         
@@ -0,0 +1,130 @@
+/**
+ * Rng - Kleiner, schneller Zufallszahlengenerator mit Startwert (Seed).
+ *
+ * Früher haben alle Gegner Greenfoot.getRandomNumber() benutzt. Damit ging
+ * jeder Zufall durch einen einzigen gemeinsamen Generator, und kein Lauf
+ * ließ sich wiederholen. Jetzt hat jede GameWorld einen Seed, und jeder
+ * Actor bekommt davon einen eigenen Zufallsstrom abgeleitet ("split").
+ * Gleicher Seed und gleiche Eingaben ergeben damit genau denselben Ablauf.
+ *
+ * Verfahren: SplitMix64 (wie java.util.SplittableRandom). Der ganze Zustand
+ * ist eine einzige long-Zahl, die über getState()/setState() gelesen und
+ * wiederhergestellt werden kann (z.B. für Spielstände).
+ *
+ * Verwendung:
+ * <pre>
+ * // Im Actor: eigener Zufallsstrom (siehe GameActor.random())
+ * int direction = random().nextInt(4);   // wie Greenfoot.getRandomNumber(4)
+ *
+ * // Neuer, unabhängiger Strom aus einem bestehenden
+ * Rng child = worldRng.split();
+ * </pre>
+ *
+ * Ein Rng ist nicht threadsicher. Jeder Actor hat seinen eigenen, deshalb
+ * müssen sich Threads nie einen Generator teilen.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class Rng {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Schrittweite des Zustands (ungerade, aus dem goldenen Schnitt) */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Aktueller Zustand */
+    private long state;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt einen Generator mit festem Startwert.
+     *
+     * @param seed Startwert (gleicher Seed = gleiche Zahlenfolge)
+     */
+    public Rng(long seed) {
+        this.state = seed;
+    }
+
+    // ==================== ZUFALLSZAHLEN ====================
+
+    /**
+     * Liefert die nächste zufällige long-Zahl.
+     *
+     * @return Zufällige Zahl aus dem ganzen long-Bereich
+     */
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * Liefert eine zufällige Zahl von 0 bis bound-1
+     * (Ersatz für Greenfoot.getRandomNumber(bound)).
+     *
+     * @param bound Obergrenze (ausschließlich), muss größer als 0 sein
+     * @return Zufällige Zahl von 0 bis bound-1
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound muss positiv sein: " + bound);
+        }
+        // Obere 31 Bits auf den Bereich 0..bound-1 abbilden
+        long bits = nextLong() >>> 33;
+        return (int) ((bits * bound) >>> 31);
+    }
+
+    /**
+     * Liefert eine zufällige Kommazahl von 0.0 (einschließlich) bis 1.0 (ausschließlich).
+     *
+     * @return Zufällige Zahl im Bereich [0, 1)
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Erzeugt einen neuen, unabhängigen Generator.
+     * Der neue Startwert wird aus diesem Generator gezogen und noch einmal
+     * durchgemischt, damit sich die beiden Folgen nicht ähneln.
+     *
+     * @return Neuer Generator
+     */
+    public Rng split() {
+        return new Rng(mix(nextLong() ^ GOLDEN_GAMMA));
+    }
+
+    // ==================== ZUSTAND ====================
+
+    /**
+     * Gibt den aktuellen Zustand zurück.
+     *
+     * @return Zustand (mit setState() wiederherstellbar)
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Setzt den Zustand, z.B. beim Laden eines Spielstands.
+     *
+     * @param state Zustand aus getState()
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    // ==================== HILFSMETHODEN ====================
+
+    /**
+     * Mischt die Bits einer Zahl gründlich durch (Finalisierer von SplitMix64).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
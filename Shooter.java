@@ -20,10 +20,15 @@ import greenfoot.*;
  * - Gut für enge Korridore
  * 
  * Besonderheiten:
- * - Projektile werden als separate Bullet-Objekte erstellt
+ * - Projektile werden im BulletSystem der Welt gespeichert (kein Objekt pro Schuss)
  * - Feuerrate hat kleine zufällige Variation (verhindert perfektes Timing)
  * - Kann in alle vier Richtungen schießen
  * 
+ * Schussmuster:
+ * - PATTERN_SINGLE: Ein Projektil in Schussrichtung (Standard)
+ * - PATTERN_SPREAD: Fächer aus mehreren Projektilen um die Schussrichtung
+ * - PATTERN_SPIRAL: Ring aus Projektilen, der sich mit jedem Schuss weiterdreht
+ * 
  * Verwendung in Leveln:
  * - Level 4: Shooter schießt nach rechts durch WindZone
  * - Level 5: Shooter schießt nach links im finalen Gang
@@ -51,6 +56,25 @@ public class Shooter extends Enemy {
     /** Richtung: Rechts */
     public static final int DIRECTION_RIGHT = 3;
     
+    /** X-Anteil der Schussrichtung (Index = Richtungscode) */
+    private static final int[] DIRECTION_DX = {0, 0, -1, 1};
+    /** Y-Anteil der Schussrichtung (Index = Richtungscode) */
+    private static final int[] DIRECTION_DY = {-1, 1, 0, 0};
+    
+    // Schussmuster
+    /** Muster: Ein Projektil in Schussrichtung */
+    public static final int PATTERN_SINGLE = 0;
+    /** Muster: Fächer aus mehreren Projektilen */
+    public static final int PATTERN_SPREAD = 1;
+    /** Muster: Sich drehender Ring aus Projektilen */
+    public static final int PATTERN_SPIRAL = 2;
+    
+    /** Winkel zwischen zwei Projektilen im Fächer (im Bogenmaß, 15 Grad) */
+    private static final double SPREAD_STEP = Math.toRadians(15);
+    
+    /** Drehung der Spirale pro Schuss (im Bogenmaß, 10 Grad) */
+    private static final double SPIRAL_STEP = Math.toRadians(10);
+    
     // ==================== ATTRIBUTE ====================
     
     /** Aktuelle Wartezeit bis zum nächsten Schuss (Countdown) */
@@ -65,7 +89,16 @@ public class Shooter extends Enemy {
      */
     private int direction;
     
-    // ==================== KONSTRUKTOR ====================
+    /** Schussmuster (PATTERN_SINGLE, PATTERN_SPREAD oder PATTERN_SPIRAL) */
+    private int pattern;
+    
+    /** Anzahl Projektile pro Schuss (bei Fächer und Spirale) */
+    private int bulletsPerShot;
+    
+    /** Aktueller Drehwinkel der Spirale (im Bogenmaß) */
+    private double spiralAngle;
+    
+    // ==================== KONSTRUKTOREN ====================
     
     /**
      * Erstellt einen Shooter mit festgelegter Schussrichtung.
@@ -81,7 +114,30 @@ public class Shooter extends Enemy {
      * @param direction Schussrichtung (0-3)
      */
     public Shooter(int direction) {
+        this(direction, PATTERN_SINGLE, 1);
+    }
+    
+    /**
+     * Erstellt einen Shooter mit Schussmuster (für Bullet-Hell-Level).
+     * 
+     * Beispiele:
+     * <pre>
+     * // Fächer aus 5 Projektilen nach unten
+     * new Shooter(Shooter.DIRECTION_DOWN, Shooter.PATTERN_SPREAD, 5);
+     * 
+     * // Spirale aus 12 Projektilen (Richtung ist hier der Startwinkel)
+     * new Shooter(Shooter.DIRECTION_RIGHT, Shooter.PATTERN_SPIRAL, 12);
+     * </pre>
+     * 
+     * @param direction      Schussrichtung (0-3), bei der Spirale die Startrichtung
+     * @param pattern        Schussmuster (PATTERN_SINGLE, PATTERN_SPREAD, PATTERN_SPIRAL)
+     * @param bulletsPerShot Anzahl Projektile pro Schuss (mindestens 1)
+     */
+    public Shooter(int direction, int pattern, int bulletsPerShot) {
         this.direction = direction;
+        this.pattern = pattern;
+        this.bulletsPerShot = Math.max(1, bulletsPerShot);
+        this.spiralAngle = Math.atan2(DIRECTION_DY[direction], DIRECTION_DX[direction]);
     }
     
     // ==================== SCHUSS-LOGIK ====================
@@ -100,7 +156,7 @@ public class Shooter extends Enemy {
      * - Variation sorgt für leicht unvorhersehbares Timing
      */
     @Override
-    public void act() {
+    public void tick() {
         // === Cooldown abgelaufen? ===
         if (cooldown <= 0) {
             // Projektil abfeuern
@@ -108,7 +164,7 @@ public class Shooter extends Enemy {
             
             // Cooldown zurücksetzen mit zufälliger Variation
             // Dies verhindert, dass Spieler perfektes Timing lernen können
-            cooldown = fireRate + Greenfoot.getRandomNumber(FIRE_RATE_VARIATION);
+            cooldown = fireRate + random().nextInt(FIRE_RATE_VARIATION);
         } else {
             // Cooldown verringern (Countdown)
             cooldown--;
@@ -116,16 +172,82 @@ public class Shooter extends Enemy {
     }
     
     /**
-     * Feuert ein Projektil in die festgelegte Richtung ab.
+     * Feuert ein Projektil (oder ein Schussmuster) ab.
      * 
-     * Das Projektil wird an der Position des Shooters erstellt und
-     * bewegt sich dann in die festgelegte Richtung.
+     * Die Projektile starten an der Position des Shooters und werden
+     * im BulletSystem der Welt gespeichert. Es wird kein neues Objekt
+     * angelegt. Außerhalb einer GameWorld gibt es kein BulletSystem;
+     * dann wird nicht geschossen.
      */
     private void fire() {
-        // Neues Projektil mit der Schussrichtung erstellen
-        Bullet bullet = new Bullet(direction);
+        if (!(getWorld() instanceof GameWorld)) {
+            return;
+        }
+        BulletSystem bullets = ((GameWorld) getWorld()).getBullets();
+        int speed = BulletSystem.DEFAULT_SPEED;
+        int before = bullets.size();
         
-        // Projektil an der Position des Shooters zur Welt hinzufügen
-        getWorld().addObject(bullet, getX(), getY());
+        switch (pattern) {
+            case PATTERN_SPREAD: {
+                // Fächer: Projektile gleichmäßig um die Schussrichtung verteilen
+                double base = Math.atan2(DIRECTION_DY[direction], DIRECTION_DX[direction]);
+                double first = base - SPREAD_STEP * (bulletsPerShot - 1) / 2.0;
+                for (int i = 0; i < bulletsPerShot; i++) {
+                    fireAngle(bullets, first + i * SPREAD_STEP, speed);
+                }
+                break;
+            }
+            case PATTERN_SPIRAL: {
+                // Spirale: Ring aus Projektilen, der sich bei jedem Schuss weiterdreht
+                double step = 2 * Math.PI / bulletsPerShot;
+                for (int i = 0; i < bulletsPerShot; i++) {
+                    fireAngle(bullets, spiralAngle + i * step, speed);
+                }
+                spiralAngle += SPIRAL_STEP;
+                break;
+            }
+            default:
+                // Einzelschuss: Genau in eine der vier Richtungen
+                bullets.spawn(getX(), getY(),
+                              DIRECTION_DX[direction] * speed, DIRECTION_DY[direction] * speed);
+                break;
+        }
+        GameEvents.shooterFire(this, bullets.size() - before);
+    }
+    
+    /**
+     * Feuert ein Projektil in einem beliebigen Winkel ab.
+     * 
+     * @param bullets Das BulletSystem der Welt
+     * @param angle   Flugrichtung im Bogenmaß (0 = rechts, PI/2 = unten)
+     * @param speed   Geschwindigkeit in Pixeln pro Takt
+     */
+    private void fireAngle(BulletSystem bullets, double angle, int speed) {
+        bullets.spawn(getX(), getY(),
+                      (float) (Math.cos(angle) * speed), (float) (Math.sin(angle) * speed));
+    }
+    
+    // ==================== SNAPSHOT ====================
+    
+    /**
+     * Speichert Cooldown und Winkel der Spirale (siehe WorldSnapshot).
+     * 
+     * @param out Ziel-Snapshot
+     */
+    @Override
+    protected void saveState(WorldSnapshot out) {
+        out.writeInt(cooldown);
+        out.writeDouble(spiralAngle);
+    }
+    
+    /**
+     * Stellt Cooldown und Winkel der Spirale wieder her.
+     * 
+     * @param in Quell-Snapshot
+     */
+    @Override
+    protected void loadState(WorldSnapshot in) {
+        cooldown = in.readInt();
+        spiralAngle = in.readDouble();
     }
 }
@@ -0,0 +1,291 @@
+import greenfoot.*;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SoundManager - Spielt alle Sounds auf einem eigenen Audio-Thread ab.
+ *
+ * Früher wurde jeder Sound direkt mit Greenfoot.playSound() gestartet.
+ * Das hat zwei Nachteile:
+ * - Die Datei wird beim Abspielen auf dem Spiel-Thread geladen und
+ *   dekodiert; der Takt wartet so lange.
+ * - Läuft der Spieler gegen eine Wand, wird "hit_wall.mp3" in jedem Takt
+ *   neu gestartet (60 Mal pro Sekunde übereinander).
+ *
+ * Der SoundManager löst das so:
+ * - Vorladen: Beim Start legt der Audio-Thread für jeden bekannten Sound
+ *   (CLIPS) seine Stimmen (GreenfootSound-Objekte) an.
+ * - Warteschlange: play() hängt den Sound nur an eine nicht blockierende
+ *   Warteschlange an und weckt den Audio-Thread. Der Spiel-Thread wartet
+ *   nie auf die Audio-Ausgabe.
+ * - Zusammenfassen: Wird derselbe Sound innerhalb von COALESCE_NANOS noch
+ *   einmal angefordert, wird die Anforderung verworfen.
+ * - Stimmenbegrenzung: Pro Sound laufen höchstens MAX_VOICES Stimmen
+ *   gleichzeitig. Sind alle belegt, entfällt der neue Sound.
+ * - Stumm: Mit setSilent(true) wird nichts mehr abgespielt
+ *   (im HeadlessRunner sorgt Game.playSound ohnehin dafür).
+ *
+ * Verwendung (über Game):
+ * <pre>
+ * Game.playSound("hit_wall.mp3");
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class SoundManager {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Alle Sounds des Spiels (werden beim Start vorgeladen) */
+    private static final String[] CLIPS = {
+        "hit_wall.mp3", "hit_enemy.mp3", "level_up.mp3", "victory.mp3"
+    };
+
+    /** Maximale Anzahl gleichzeitig laufender Stimmen pro Sound */
+    public static final int MAX_VOICES = 2;
+
+    /** Zeitfenster, in dem Wiederholungen desselben Sounds verworfen werden (100 ms) */
+    public static final long COALESCE_NANOS = 100_000_000L;
+
+    // ==================== SOUND-EINTRAG ====================
+
+    /**
+     * Ein Sound mit seinen Stimmen.
+     */
+    private static final class Clip {
+
+        /** Dateiname im sounds-Ordner */
+        final String file;
+
+        /** Zeitpunkt der letzten angenommenen Anforderung (nur Spiel-Thread) */
+        long lastRequest;
+
+        /** Stimmen des Sounds (nur Audio-Thread, null bis zum Vorladen) */
+        GreenfootSound[] voices;
+
+        Clip(String file) {
+            this.file = file;
+            this.lastRequest = System.nanoTime() - COALESCE_NANOS;
+        }
+    }
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Alle bekannten Sounds nach Dateiname */
+    private static final Map<String, Clip> clips = new ConcurrentHashMap<>();
+
+    /** Angeforderte, noch nicht gestartete Sounds */
+    private static final Queue<Clip> queue = new ConcurrentLinkedQueue<>();
+
+    /** Wird frei, sobald der Audio-Thread alle Sounds vorgeladen hat */
+    private static final CountDownLatch preloaded = new CountDownLatch(1);
+
+    /** Der Audio-Thread (oder null, solange er nicht läuft) */
+    private static volatile Thread audioThread;
+
+    /** Keine Ausgabe? */
+    private static volatile boolean silent;
+
+    /** Statistik des Spiel-Threads (nur dort geschrieben) */
+    private static volatile long requested, coalesced;
+
+    /** Statistik des Audio-Threads (nur dort geschrieben) */
+    private static volatile long dropped, played;
+
+    /**
+     * Keine Instanzen: Die Klasse bietet nur statische Methoden an.
+     */
+    private SoundManager() {
+    }
+
+    // ==================== START ====================
+
+    /**
+     * Startet den Audio-Thread, der alle bekannten Sounds vorlädt.
+     * Weitere Aufrufe haben keine Wirkung.
+     */
+    public static synchronized void preload() {
+        if (audioThread != null) {
+            return;
+        }
+        for (String file : CLIPS) {
+            clips.computeIfAbsent(file, Clip::new);
+        }
+        Thread thread = new Thread(SoundManager::audioLoop, "Sound");
+        thread.setDaemon(true);
+        audioThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Wartet, bis der Audio-Thread alle bekannten Sounds vorgeladen hat
+     * (siehe WarmUp). Startet das Vorladen, falls es noch nicht läuft.
+     *
+     * @param millis Höchstens so lange wird gewartet
+     * @return true, wenn alle Sounds geladen sind
+     */
+    public static boolean awaitPreload(long millis) {
+        preload();
+        try {
+            return preloaded.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // ==================== ABSPIELEN ====================
+
+    /**
+     * Fordert einen Sound an. Kehrt sofort zurück; abgespielt wird auf dem
+     * Audio-Thread.
+     *
+     * Darf nur vom Spiel-Thread aufgerufen werden (das Zusammenfassen
+     * verwendet keine Sperre).
+     *
+     * @param file Name der Sound-Datei im sounds-Ordner
+     */
+    public static void play(String file) {
+        if (silent) {
+            return;
+        }
+        requested++;
+        Clip clip = clips.get(file);
+        if (clip == null) {
+            clip = clips.computeIfAbsent(file, Clip::new);
+        }
+        long now = System.nanoTime();
+        if (now - clip.lastRequest < COALESCE_NANOS) {
+            coalesced++;
+            return;
+        }
+        clip.lastRequest = now;
+        Thread thread = audioThread;
+        if (thread == null) {
+            preload();
+            thread = audioThread;
+        }
+        queue.offer(clip);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Schleife des Audio-Threads: Lädt zuerst alle Sounds vor und startet
+     * danach die angeforderten Sounds, bis keiner mehr wartet.
+     */
+    private static void audioLoop() {
+        for (Clip clip : clips.values()) {
+            load(clip);
+        }
+        preloaded.countDown();
+        while (true) {
+            Clip clip = queue.poll();
+            if (clip == null) {
+                LockSupport.park();
+                continue;
+            }
+            if (!silent) {
+                start(clip);
+            }
+        }
+    }
+
+    /**
+     * Legt die Stimmen eines Sounds an (nur Audio-Thread).
+     */
+    private static void load(Clip clip) {
+        if (clip.voices == null) {
+            GameEvents.SoundLoad event = GameEvents.beginSoundLoad();
+            GreenfootSound[] voices = new GreenfootSound[MAX_VOICES];
+            for (int i = 0; i < voices.length; i++) {
+                voices[i] = new GreenfootSound(clip.file);
+            }
+            clip.voices = voices;
+            GameEvents.endSoundLoad(event, clip.file, voices.length);
+        }
+    }
+
+    /**
+     * Startet eine freie Stimme eines Sounds (nur Audio-Thread).
+     * Ist keine Stimme frei, entfällt der Sound.
+     */
+    private static void start(Clip clip) {
+        load(clip);
+        for (GreenfootSound voice : clip.voices) {
+            if (!voice.isPlaying()) {
+                voice.play();
+                played++;
+                return;
+            }
+        }
+        dropped++;
+    }
+
+    // ==================== EINSTELLUNGEN ====================
+
+    /**
+     * Schaltet die Ausgabe ab oder wieder an. Im stummen Zustand werden
+     * Anforderungen sofort verworfen.
+     *
+     * @param value true = stumm
+     */
+    public static void setSilent(boolean value) {
+        silent = value;
+        if (value) {
+            queue.clear();
+        }
+    }
+
+    /**
+     * Gibt an, ob die Ausgabe abgeschaltet ist.
+     *
+     * @return true, wenn stumm
+     */
+    public static boolean isSilent() {
+        return silent;
+    }
+
+    // ==================== STATISTIK ====================
+
+    /**
+     * Gibt die Anzahl aller Anforderungen zurück (ohne stumme).
+     *
+     * @return Anzahl play()-Aufrufe
+     */
+    public static long getRequested() {
+        return requested;
+    }
+
+    /**
+     * Gibt die Anzahl zusammengefasster (verworfener) Wiederholungen zurück.
+     *
+     * @return Anzahl Wiederholungen im Zeitfenster
+     */
+    public static long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Gibt die Anzahl Sounds zurück, für die keine Stimme frei war.
+     *
+     * @return Anzahl wegen der Stimmenbegrenzung verworfener Sounds
+     */
+    public static long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Gibt die Anzahl tatsächlich gestarteter Sounds zurück.
+     *
+     * @return Anzahl gestarteter Stimmen
+     */
+    public static long getPlayed() {
+        return played;
+    }
+}
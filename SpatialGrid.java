@@ -0,0 +1,301 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SpatialGrid - Gleichmäßiges Raster für schnelle Kollisionsabfragen.
+ *
+ * Greenfoots getIntersectingObjects() muss bei vielen Actors immer mehr
+ * Objekte prüfen. Der Player fragt aber jeden Takt gleich mehrmals nach
+ * Kollisionen (Wind, Invertierung, Wand, Gegner, Projektil, Ziel) und
+ * fast jeder Gegner prüft zusätzlich auf Wände.
+ *
+ * Das Raster teilt die Welt in gleich große Zellen. Jeder GameActor trägt
+ * sich in alle Zellen ein, die sein Bild überdeckt. Eine Abfrage prüft dann
+ * nur die Actors in den Zellen rund um den fragenden Actor. Die Kosten einer
+ * Abfrage hängen damit nur davon ab, wie viele Actors in der Nähe sind,
+ * nicht davon, wie viele es in der ganzen Welt gibt.
+ *
+ * Funktionsweise:
+ * - Zellgröße 32 Pixel (passend zu den 20-50 Pixel großen Bildern)
+ * - Ein Actor wird bei jedem setLocation() und setImage() neu eingetragen,
+ *   aber nur, wenn sich die überdeckten Zellen wirklich geändert haben
+ * - Große Actors (z.B. Wände) stehen in mehreren Zellen; doppelte Treffer
+ *   werden über eine Abfragenummer (Stempel) herausgefiltert
+ *
+ * Kollisionsregel (wie in Greenfoot):
+ * Zwei Actors berühren sich, wenn sich ihre Bild-Rechtecke überlappen.
+ * Rechtecke, die sich nur an einer Kante berühren, zählen nicht.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class SpatialGrid {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Standard-Zellgröße in Pixeln */
+    public static final int DEFAULT_CELL_SIZE = 32;
+
+    /** Anfangskapazität einer Zelle */
+    private static final int INITIAL_CELL_CAPACITY = 4;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Zellgröße in Pixeln */
+    private final int cellSize;
+
+    /** Anzahl Spalten */
+    private final int cols;
+
+    /** Anzahl Zeilen */
+    private final int rows;
+
+    /** Actors pro Zelle (Index = Zeile * cols + Spalte) */
+    private final GameActor[][] cells;
+
+    /** Anzahl Actors pro Zelle */
+    private final int[] counts;
+
+    /** Laufende Nummer der Abfragen (zum Filtern doppelter Treffer) */
+    private int stamp;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt ein Raster für eine Welt der angegebenen Größe.
+     *
+     * @param width    Breite der Welt in Pixeln
+     * @param height   Höhe der Welt in Pixeln
+     * @param cellSize Zellgröße in Pixeln
+     */
+    public SpatialGrid(int width, int height, int cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (width + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (height + cellSize - 1) / cellSize);
+        this.cells = new GameActor[cols * rows][];
+        this.counts = new int[cols * rows];
+        // Alle Zellen sofort anlegen, damit ein Actor, der zum ersten Mal
+        // eine Zelle betritt, im Takt nichts anlegen muss
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new GameActor[INITIAL_CELL_CAPACITY];
+        }
+    }
+
+    // ==================== EINTRAGEN / AUSTRAGEN ====================
+
+    /**
+     * Trägt einen Actor ein oder aktualisiert seine Zellen.
+     *
+     * Wird nach jeder Positions- oder Bildänderung aufgerufen. Wenn der
+     * Actor noch dieselben Zellen überdeckt, passiert nichts.
+     *
+     * @param actor Der Actor, der sich bewegt oder verändert hat
+     */
+    public void update(GameActor actor) {
+        int minCol = col(actor.left());
+        int maxCol = col(actor.right() - 1);
+        int minRow = row(actor.top());
+        int maxRow = row(actor.bottom() - 1);
+
+        if (actor.gridRegistered
+                && minCol == actor.gridMinCol && maxCol == actor.gridMaxCol
+                && minRow == actor.gridMinRow && maxRow == actor.gridMaxRow) {
+            return;
+        }
+        if (actor.gridRegistered) {
+            removeFromCells(actor);
+        }
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                addToCell(r * cols + c, actor);
+            }
+        }
+        actor.gridMinCol = minCol;
+        actor.gridMaxCol = maxCol;
+        actor.gridMinRow = minRow;
+        actor.gridMaxRow = maxRow;
+        actor.gridRegistered = true;
+    }
+
+    /**
+     * Trägt einen Actor aus allen Zellen aus.
+     * Mehrfaches Austragen ist erlaubt und hat keine Wirkung.
+     *
+     * @param actor Der Actor, der aus der Welt entfernt wird
+     */
+    public void remove(GameActor actor) {
+        if (actor.gridRegistered) {
+            removeFromCells(actor);
+            actor.gridRegistered = false;
+        }
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Prüft, ob der Actor ein Objekt der angegebenen Klasse berührt.
+     *
+     * @param self Der fragende Actor (wird selbst nicht mitgezählt)
+     * @param cls  Gesuchte Klasse (z.B. Wall.class, Enemy.class)
+     * @return true, wenn mindestens ein passendes Objekt berührt wird
+     */
+    public boolean any(GameActor self, Class<?> cls) {
+        int left = self.left();
+        int top = self.top();
+        int right = self.right();
+        int bottom = self.bottom();
+        int minCol = col(left);
+        int maxCol = col(right - 1);
+        int minRow = row(top);
+        int maxRow = row(bottom - 1);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                int cell = r * cols + c;
+                GameActor[] list = cells[cell];
+                for (int i = counts[cell] - 1; i >= 0; i--) {
+                    GameActor other = list[i];
+                    if (other != self && cls.isInstance(other)
+                            && overlaps(other, left, top, right, bottom)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sammelt alle Objekte der angegebenen Klasse, die der Actor berührt.
+     *
+     * Die Liste wird vorher nicht geleert, damit der Aufrufer eine
+     * wiederverwendbare Liste übergeben kann.
+     *
+     * @param self Der fragende Actor (wird selbst nicht mitgezählt)
+     * @param cls  Gesuchte Klasse
+     * @param out  Liste, an die die Treffer angehängt werden
+     */
+    public <A> void collect(GameActor self, Class<A> cls, List<? super A> out) {
+        int left = self.left();
+        int top = self.top();
+        int right = self.right();
+        int bottom = self.bottom();
+        int minCol = col(left);
+        int maxCol = col(right - 1);
+        int minRow = row(top);
+        int maxRow = row(bottom - 1);
+        int query = ++stamp;
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                int cell = r * cols + c;
+                GameActor[] list = cells[cell];
+                for (int i = 0; i < counts[cell]; i++) {
+                    GameActor other = list[i];
+                    if (other == self || other.gridStamp == query) {
+                        continue;
+                    }
+                    other.gridStamp = query;
+                    if (cls.isInstance(other) && overlaps(other, left, top, right, bottom)) {
+                        out.add(cls.cast(other));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sammelt alle Kontakte eines Actors in einem Durchgang.
+     *
+     * Jeder berührte Actor wird genau einmal gefragt (addContactTo) und
+     * trägt seine Kontaktart selbst ein. Es wird nichts angelegt.
+     *
+     * @param self Der fragende Actor (wird selbst nicht mitgezählt)
+     * @param out  Kontakte, an die die Treffer angehängt werden
+     */
+    public void gather(GameActor self, Contacts out) {
+        int left = self.left();
+        int top = self.top();
+        int right = self.right();
+        int bottom = self.bottom();
+        int minCol = col(left);
+        int maxCol = col(right - 1);
+        int minRow = row(top);
+        int maxRow = row(bottom - 1);
+        int query = ++stamp;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                int cell = r * cols + c;
+                GameActor[] list = cells[cell];
+                for (int i = 0; i < counts[cell]; i++) {
+                    GameActor other = list[i];
+                    if (other == self || other.gridStamp == query) {
+                        continue;
+                    }
+                    other.gridStamp = query;
+                    if (overlaps(other, left, top, right, bottom)) {
+                        other.addContactTo(out);
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== HILFSMETHODEN ====================
+
+    /**
+     * Prüft, ob sich das Bild-Rechteck eines Actors mit einem Rechteck überlappt.
+     */
+    private static boolean overlaps(GameActor other, int left, int top, int right, int bottom) {
+        return other.left() < right && left < other.right()
+            && other.top() < bottom && top < other.bottom();
+    }
+
+    /**
+     * Rechnet eine X-Koordinate in eine Spalte um (auf das Raster begrenzt).
+     */
+    private int col(int x) {
+        return Math.max(0, Math.min(cols - 1, Math.floorDiv(x, cellSize)));
+    }
+
+    /**
+     * Rechnet eine Y-Koordinate in eine Zeile um (auf das Raster begrenzt).
+     */
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, cellSize)));
+    }
+
+    /**
+     * Hängt einen Actor an eine Zelle an (vergrößert die Zelle bei Bedarf).
+     */
+    private void addToCell(int cell, GameActor actor) {
+        GameActor[] list = cells[cell];
+        if (counts[cell] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            cells[cell] = list;
+        }
+        list[counts[cell]++] = actor;
+    }
+
+    /**
+     * Entfernt einen Actor aus allen Zellen, in denen er eingetragen ist.
+     * Der letzte Eintrag der Zelle rückt an die frei gewordene Stelle.
+     */
+    private void removeFromCells(GameActor actor) {
+        for (int r = actor.gridMinRow; r <= actor.gridMaxRow; r++) {
+            for (int c = actor.gridMinCol; c <= actor.gridMaxCol; c++) {
+                int cell = r * cols + c;
+                GameActor[] list = cells[cell];
+                int n = counts[cell];
+                for (int i = 0; i < n; i++) {
+                    if (list[i] == actor) {
+                        list[i] = list[n - 1];
+                        list[n - 1] = null;
+                        counts[cell] = n - 1;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+import greenfoot.*;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SpriteCache - Gemeinsamer Zwischenspeicher für skalierte Bilder.
+ *
+ * Viele Actors verwenden dasselbe Bild in derselben Größe: alle GreenDots
+ * eines Levels, viele Wandstücke, alle Pulsar-Bilder. Früher hat jeder
+ * Actor sein Bild selbst kopiert und skaliert. Der SpriteCache erzeugt
+ * jede Kombination aus (Actor-Klasse, Breite, Höhe) nur einmal und gibt
+ * danach immer dasselbe Bild heraus.
+ *
+ * Ausgangsbild ist das Klassenbild aus project.greenfoot (class.X.image),
+ * das Greenfoot jedem neuen Actor mitgibt. Der SpriteCache kopiert es
+ * beim ersten Zugriff einer Klasse aus diesem Actor und skaliert danach
+ * immer von dieser Kopie aus. Ein im Greenfoot-Editor geändertes
+ * Klassenbild gilt damit auch hier, ohne dass ein Dateiname im Code steht.
+ * Der erste Zugriff einer Klasse muss deshalb kommen, bevor der Actor ein
+ * anderes Bild gesetzt hat (z.B. in addedToWorld oder im Konstruktor).
+ *
+ * Eigenschaften:
+ * - Schlüssel: Actor-Klasse, Breite und Höhe
+ * - Bildfolgen: frames() speichert alle quadratischen Größen eines
+ *   Bereichs als einen Eintrag (z.B. die Animation des Pulsars)
+ * - Größenbegrenzt: Überschreiten die gespeicherten Bilder zusammen die
+ *   maximale Pixelanzahl, werden die am längsten nicht benutzten Bilder
+ *   entfernt (LRU = least recently used)
+ * - Zähler für Treffer, Fehlzugriffe und entfernte Bilder
+ *
+ * Verwendung:
+ * <pre>
+ * // Statt Kopieren und Skalieren in jedem Actor:
+ * setImage(SpriteCache.get(this, size, size));
+ * </pre>
+ *
+ * Wichtig: Die Bilder werden von vielen Actors gemeinsam benutzt. Sie gelten
+ * als unveränderlich und dürfen nicht bemalt oder skaliert werden. Wer ein
+ * Bild verändern möchte, muss vorher eine eigene Kopie anlegen:
+ * new GreenfootImage(SpriteCache.get(...)).
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class SpriteCache {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Standard-Obergrenze: 4 Millionen Pixel (etwa 16 MB) */
+    public static final long DEFAULT_MAX_PIXELS = 4L * 1024 * 1024;
+
+    // ==================== ZUSTAND ====================
+
+    /**
+     * Gespeicherte Einträge in Zugriffsreihenfolge (ältester Zugriff
+     * zuerst). Ein einzelnes Bild ist ein Eintrag mit genau einem Bild,
+     * eine Bildfolge ein Eintrag mit allen ihren Bildern.
+     */
+    private static final LinkedHashMap<String, GreenfootImage[]> IMAGES =
+        new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Unskaliertes Klassenbild jeder Actor-Klasse (eines pro Klasse). Es
+     * zählt nicht gegen die Obergrenze und wird nie entfernt: Danach hat
+     * der Actor oft schon ein skaliertes Bild, und das Original wäre
+     * verloren.
+     */
+    private static final Map<Class<?>, GreenfootImage> SOURCES = new HashMap<>();
+
+    /** Obergrenze für die Summe aller gespeicherten Pixel */
+    private static long maxPixels = DEFAULT_MAX_PIXELS;
+
+    /** Summe der Pixel aller gespeicherten Bilder */
+    private static long pixels;
+
+    /** Anzahl Zugriffe, bei denen das Bild schon vorhanden war */
+    private static long hits;
+
+    /** Anzahl Zugriffe, bei denen das Bild neu erzeugt werden musste */
+    private static long misses;
+
+    /** Anzahl Einträge, die wegen der Obergrenze entfernt wurden */
+    private static long evictions;
+
+    /**
+     * Keine Instanzen: Der Zwischenspeicher gilt für das ganze Programm.
+     */
+    private SpriteCache() {
+    }
+
+    // ==================== ZUGRIFF ====================
+
+    /**
+     * Gibt das Klassenbild eines Actors in der gewünschten Größe zurück.
+     *
+     * Ist das Bild schon im Zwischenspeicher, wird es direkt zurückgegeben.
+     * Sonst wird eine Kopie des Klassenbilds skaliert und gespeichert.
+     *
+     * @param actor  Actor, dessen Klassenbild gebraucht wird
+     * @param width  Gewünschte Breite in Pixeln
+     * @param height Gewünschte Höhe in Pixeln
+     * @return Gemeinsam genutztes, unveränderliches Bild
+     * @throws IllegalStateException wenn die Klasse kein Bild hat
+     */
+    public static synchronized GreenfootImage get(Actor actor, int width, int height) {
+        String key = actor.getClass().getName() + "|" + width + "x" + height;
+        GreenfootImage[] images = IMAGES.get(key);
+        if (images != null) {
+            hits++;
+            return images[0];
+        }
+        misses++;
+        GreenfootImage image = scaled(actor, width, height);
+        store(key, new GreenfootImage[] {image});
+        return image;
+    }
+
+    /**
+     * Gibt eine Bildfolge mit allen quadratischen Größen von minSize bis
+     * maxSize zurück (Index 0 = minSize).
+     *
+     * Die Folge ist ein einziger Eintrag: Sie zählt mit allen ihren Pixeln
+     * gegen die Obergrenze und wird als Ganzes entfernt. Jedes Bild wird
+     * direkt vom Klassenbild aus skaliert.
+     *
+     * @param actor   Actor, dessen Klassenbild gebraucht wird
+     * @param minSize Kleinste Größe in Pixeln
+     * @param maxSize Größte Größe in Pixeln
+     * @return Gemeinsam genutzte Bilder; weder das Array noch die Bilder
+     *         dürfen verändert werden
+     * @throws IllegalStateException wenn die Klasse kein Bild hat
+     */
+    public static synchronized GreenfootImage[] frames(Actor actor, int minSize, int maxSize) {
+        String key = actor.getClass().getName() + "|" + minSize + ".." + maxSize;
+        GreenfootImage[] images = IMAGES.get(key);
+        if (images != null) {
+            hits++;
+            return images;
+        }
+        misses++;
+        images = new GreenfootImage[Math.max(1, maxSize - minSize + 1)];
+        for (int i = 0; i < images.length; i++) {
+            int size = Math.max(1, minSize + i);
+            images[i] = scaled(actor, size, size);
+        }
+        store(key, images);
+        return images;
+    }
+
+    /**
+     * Kopiert das Klassenbild eines Actors und skaliert die Kopie.
+     */
+    private static GreenfootImage scaled(Actor actor, int width, int height) {
+        GameEvents.ImageScale event = GameEvents.beginImageScale();
+        GreenfootImage image = new GreenfootImage(source(actor));
+        if (image.getWidth() != width || image.getHeight() != height) {
+            image.scale(width, height);
+        }
+        GameEvents.endImageScale(event, actor.getClass().getSimpleName(), width, height);
+        return image;
+    }
+
+    /**
+     * Gibt das unskalierte Klassenbild eines Actors zurück. Beim ersten
+     * Zugriff seiner Klasse wird es aus dem aktuellen Bild des Actors kopiert.
+     */
+    private static GreenfootImage source(Actor actor) {
+        GreenfootImage source = SOURCES.get(actor.getClass());
+        if (source == null) {
+            if (actor.getImage() == null) {
+                throw new IllegalStateException("Kein Klassenbild für " + actor.getClass().getSimpleName());
+            }
+            source = new GreenfootImage(actor.getImage());
+            SOURCES.put(actor.getClass(), source);
+        }
+        return source;
+    }
+
+    /**
+     * Speichert einen neuen Eintrag und hält danach die Obergrenze ein.
+     */
+    private static void store(String key, GreenfootImage[] images) {
+        IMAGES.put(key, images);
+        pixels += pixelsOf(images);
+        evict();
+    }
+
+    /**
+     * Entfernt die am längsten nicht benutzten Einträge, bis die Obergrenze
+     * wieder eingehalten ist. Der zuletzt eingefügte Eintrag bleibt immer erhalten.
+     */
+    private static void evict() {
+        Iterator<Map.Entry<String, GreenfootImage[]>> it = IMAGES.entrySet().iterator();
+        while (pixels > maxPixels && IMAGES.size() > 1 && it.hasNext()) {
+            pixels -= pixelsOf(it.next().getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Summe der Pixel aller Bilder eines Eintrags.
+     */
+    private static long pixelsOf(GreenfootImage[] images) {
+        long sum = 0;
+        for (GreenfootImage image : images) {
+            sum += (long) image.getWidth() * image.getHeight();
+        }
+        return sum;
+    }
+
+    // ==================== EINSTELLUNGEN ====================
+
+    /**
+     * Setzt die Obergrenze für die Summe aller gespeicherten Pixel.
+     *
+     * @param max Maximale Pixelanzahl
+     */
+    public static synchronized void setMaxPixels(long max) {
+        maxPixels = max;
+        evict();
+    }
+
+    /**
+     * Leert den Zwischenspeicher und setzt alle Zähler zurück. Die
+     * Klassenbilder bleiben erhalten (siehe SOURCES).
+     */
+    public static synchronized void clear() {
+        IMAGES.clear();
+        pixels = 0;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    // ==================== STATISTIK ====================
+
+    /**
+     * Gibt die Anzahl der Treffer zurück.
+     *
+     * @return Anzahl Zugriffe, bei denen das Bild schon vorhanden war
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gibt die Anzahl der Fehlzugriffe zurück.
+     *
+     * @return Anzahl Zugriffe, bei denen das Bild neu erzeugt wurde
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gibt die Anzahl entfernter Einträge zurück.
+     *
+     * @return Anzahl Einträge, die wegen der Obergrenze entfernt wurden
+     */
+    public static synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gibt die Anzahl gespeicherter Einträge zurück.
+     *
+     * @return Anzahl der aktuell gespeicherten Einträge (Bilder und Bildfolgen)
+     */
+    public static synchronized int size() {
+        return IMAGES.size();
+    }
+
+    /**
+     * Gibt die Summe der gespeicherten Pixel zurück.
+     *
+     * @return Summe der Pixel aller aktuell gespeicherten Bilder
+     */
+    public static synchronized long getPixels() {
+        return pixels;
+    }
+}
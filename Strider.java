@@ -23,6 +23,7 @@ import greenfoot.*;
  * - Kann diagonal laufen (dx und dy können beide != 0 sein)
  * - Teleport-Mechanik sorgt für endlose Bewegung
  * - Ignoriert Wände (teleportiert einfach durch)
+ * - Springt auch bei hoher Geschwindigkeit nicht über den Player hinweg
  * 
  * Verwendung in Leveln:
  * - Level 5: Zwei Strider im zweiten Gang
@@ -72,10 +73,10 @@ public class Strider extends Enemy {
     @Override
     protected void addedToWorld(World w) {
         // === Zufällige Richtung wählen ===
-        // Greenfoot.getRandomNumber(3) liefert 0, 1 oder 2
+        // random().nextInt(3) liefert 0, 1 oder 2 (eigener Zufallsstrom)
         // Durch -1 erhalten wir -1, 0 oder 1
-        dx = Greenfoot.getRandomNumber(3) - 1;  // -1, 0, oder 1
-        dy = Greenfoot.getRandomNumber(3) - 1;  // -1, 0, oder 1
+        dx = random().nextInt(3) - 1;  // -1, 0, oder 1
+        dy = random().nextInt(3) - 1;  // -1, 0, oder 1
         
         // === Sonderfall: Beide Richtungen sind 0 ===
         // Dies würde bedeuten, dass der Strider sich nicht bewegt
@@ -102,10 +103,10 @@ public class Strider extends Enemy {
      * - Unten raus → Oben rein
      */
     @Override
-    public void act() {
+    public void tick() {
         // === SCHRITT 1: Bewegung ausführen ===
         // Multipliziere Richtung (dx, dy) mit Geschwindigkeit (speed)
-        setLocation(getX() + dx * speed, getY() + dy * speed);
+        sweepMove(dx * speed, dy * speed);
         
         // === SCHRITT 2: Weltrand-Teleportation ===
         World w = getWorld();
@@ -130,4 +131,51 @@ public class Strider extends Enemy {
             setLocation(getX(), 1);
         }
     }
+    
+    /**
+     * Bewegt den Strider um (mx, my).
+     * 
+     * Ist der Schritt größer als der Strider selbst, geht er den Weg in
+     * Teilschritten ab (siehe Sweep.steps) und bleibt stehen, sobald er den
+     * Player berührt. Sonst könnte er bei hoher Geschwindigkeit zwischen zwei
+     * Takten über den Player hinwegspringen, ohne ihn zu treffen.
+     * 
+     * @param mx Bewegung in X-Richtung
+     * @param my Bewegung in Y-Richtung
+     */
+    private void sweepMove(int mx, int my) {
+        int x0 = getX();
+        int y0 = getY();
+        int n = Sweep.steps(mx, my, hitWidth(), hitHeight());
+        for (int k = 1; k <= n; k++) {
+            setLocation(x0 + mx * k / n, y0 + my * k / n);
+            if (k < n && isIntersecting(Player.class)) {
+                return;
+            }
+        }
+    }
+    
+    // ==================== SNAPSHOT ====================
+    
+    /**
+     * Speichert die Bewegungsrichtung (siehe WorldSnapshot).
+     * 
+     * @param out Ziel-Snapshot
+     */
+    @Override
+    protected void saveState(WorldSnapshot out) {
+        out.writeInt(dx);
+        out.writeInt(dy);
+    }
+    
+    /**
+     * Stellt die Bewegungsrichtung wieder her.
+     * 
+     * @param in Quell-Snapshot
+     */
+    @Override
+    protected void loadState(WorldSnapshot in) {
+        dx = in.readInt();
+        dy = in.readInt();
+    }
 }
@@ -15,9 +15,9 @@ import greenfoot.*;
  * - Visuell erkennbar (orangefarbenes Feld)
  * 
  * Interaktion:
- * - Player prüft in act() auf Kollision mit TargetArea
+ * - Player prüft in tick() auf Kollision mit TargetArea
  * - Bei Kollision: Sound abspielen und nextLevel() aufrufen
- * - TargetArea selbst ist passiv (tut nichts in act())
+ * - TargetArea selbst ist passiv (tut nichts in tick())
  * 
  * Platzierung:
  * Die TargetArea wird typischerweise am Ende des Levels platziert:
@@ -44,7 +44,7 @@ import greenfoot.*;
  * @author Felix Krusch
  * @version 2.0
  */
-public class TargetArea extends Actor {
+public class TargetArea extends GameActor {
     
     // ==================== LIFECYCLE-METHODEN ====================
     
@@ -61,8 +61,20 @@ public class TargetArea extends Actor {
      * - Trennung der Verantwortlichkeiten: TargetArea ist nur ein Marker
      */
     @Override
-    public void act() {
+    public void tick() {
         // Statisches Ziel - keine Aktion erforderlich
         // Kollisionsprüfung erfolgt im Player
     }
+    
+    // ==================== KONTAKTE ====================
+    
+    /**
+     * Meldet das Ziel, wenn der Player Kontakte sammelt.
+     * 
+     * @param contacts Kontakte des fragenden Actors
+     */
+    @Override
+    protected void addContactTo(Contacts contacts) {
+        contacts.add(Contacts.TARGET);
+    }
 }
@@ -36,7 +36,7 @@ import greenfoot.*;
  * @author Felix Krusch
  * @version 2.0
  */
-public class Wall extends Actor {
+public class Wall extends GameActor {
     
     // ==================== LIFECYCLE-METHODEN ====================
     
@@ -47,7 +47,7 @@ public class Wall extends Actor {
      * Sie wird überschrieben, um zu dokumentieren, dass Wände sich nicht bewegen.
      */
     @Override
-    public void act() {
+    public void tick() {
         // Statisches Hindernis - keine Aktion erforderlich
     }
     
@@ -56,16 +56,16 @@ public class Wall extends Actor {
     /**
      * Setzt die Größe des Wand-Bildes.
      * 
-     * Diese Methode skaliert das Bild der Wand auf die angegebene Größe.
-     * Das Bild wird direkt verändert (nicht kopiert), daher sollte diese
-     * Methode nur einmal pro Wand aufgerufen werden.
+     * Das Bild in der angegebenen Größe kommt aus dem SpriteCache: Wände
+     * gleicher Größe teilen sich dasselbe Bild. Das Bild darf deshalb nicht
+     * direkt verändert werden. Die Methode kann beliebig oft aufgerufen werden.
      * 
      * @param width  Breite in Pixeln (empfohlen: 30-500)
      * @param height Höhe in Pixeln (empfohlen: 30-500)
      */
     public void setSize(int width, int height) {
-        GreenfootImage wallImg = getImage();
-        wallImg.scale(width, height);
+        // setImage() meldet die Änderung auch an die Wandkarte der Welt
+        setImage(SpriteCache.get(this, width, height));
     }
     
     /**
@@ -128,4 +128,39 @@ public class Wall extends Actor {
         // Schritt 2: Position setzen (basierend auf oberer linker Ecke)
         setPos(x, y);
     }
+    
+    // ==================== WANDKARTE ====================
+    
+    /**
+     * Setzt die Position und meldet der Welt, dass sich die Wände geändert haben.
+     * 
+     * @param x Neue X-Koordinate (Mittelpunkt)
+     * @param y Neue Y-Koordinate (Mittelpunkt)
+     */
+    @Override
+    public void setLocation(int x, int y) {
+        super.setLocation(x, y);
+        notifyWallsChanged();
+    }
+    
+    /**
+     * Setzt ein neues Bild und meldet der Welt, dass sich die Wände geändert haben.
+     * 
+     * @param image Das neue Bild
+     */
+    @Override
+    public void setImage(GreenfootImage image) {
+        super.setImage(image);
+        notifyWallsChanged();
+    }
+    
+    /**
+     * Markiert die WallMap der Welt als veraltet.
+     * Sie wird bei der nächsten Wandabfrage einmal neu aufgebaut.
+     */
+    private void notifyWallsChanged() {
+        if (getWorld() instanceof GameWorld) {
+            ((GameWorld) getWorld()).wallsChanged();
+        }
+    }
 }
@@ -0,0 +1,237 @@
+import java.util.Arrays;
+
+/**
+ * WallMap - Vorberechnete Belegungskarte aller Wände eines Levels.
+ *
+ * Wände bewegen sich nach Wall.placeWall() nie wieder. Trotzdem fragt fast
+ * jeder bewegliche Actor in jedem Takt, ob er eine Wand berührt. Die WallMap
+ * beantwortet diese Frage in konstanter Zeit und ohne neue Objekte anzulegen,
+ * egal aus wie vielen Wandstücken ein Level besteht.
+ *
+ * Aufbau:
+ * - Bitmap: Ein Bit pro Pixel der Welt (gesetzt = Wand). Bei 600x400
+ *   Pixeln sind das 3750 long-Werte. Damit lassen sich einzelne Punkte prüfen.
+ * - Summentabelle: Für jeden Pixel die Anzahl der Wandpixel im Rechteck
+ *   von (0,0) bis zu diesem Pixel. Damit lässt sich für jedes beliebige
+ *   Rechteck mit nur vier Zugriffen prüfen, ob es einen Wandpixel enthält.
+ *
+ * Aktualisierung:
+ * Die GameWorld markiert die Karte als veraltet, sobald eine Wand
+ * hinzugefügt, entfernt, verschoben oder skaliert wird. Neu berechnet wird
+ * erst bei der nächsten Abfrage, also in der Regel genau einmal, nachdem
+ * das Level aufgebaut ist.
+ *
+ * Rechteck-Konvention (wie im GameActor):
+ * left/top gehören zum Rechteck, right/bottom nicht mehr.
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class WallMap {
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Breite der Karte in Pixeln */
+    private final int width;
+
+    /** Höhe der Karte in Pixeln */
+    private final int height;
+
+    /** Ein Bit pro Pixel, zeilenweise abgelegt */
+    private final long[] bits;
+
+    /**
+     * Summentabelle mit (width + 1) * (height + 1) Einträgen.
+     * sums[y * (width + 1) + x] = Anzahl Wandpixel im Rechteck (0,0) bis (x,y) ausschließlich.
+     */
+    private final int[] sums;
+
+    /** Muss die Summentabelle neu berechnet werden? */
+    private boolean dirty;
+
+    /** Wird bei jeder Änderung erhöht (z.B. für das FlowField) */
+    private int version;
+
+    // ==================== KONSTRUKTOR ====================
+
+    /**
+     * Erstellt eine leere Karte (noch keine Wände).
+     *
+     * @param width  Breite der Welt in Pixeln
+     * @param height Höhe der Welt in Pixeln
+     */
+    public WallMap(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.bits = new long[(width * height + 63) / 64];
+        this.sums = new int[(width + 1) * (height + 1)];
+    }
+
+    // ==================== AUFBAU ====================
+
+    /**
+     * Löscht alle Wände aus der Karte.
+     */
+    public void clear() {
+        Arrays.fill(bits, 0L);
+        dirty = true;
+        version++;
+    }
+
+    /**
+     * Trägt ein Wand-Rechteck in die Karte ein.
+     * Teile außerhalb der Welt werden abgeschnitten.
+     *
+     * @param left   Linke Kante
+     * @param top    Obere Kante
+     * @param right  Rechte Kante (ausschließlich)
+     * @param bottom Untere Kante (ausschließlich)
+     */
+    public void add(int left, int top, int right, int bottom) {
+        int l = Math.max(0, left);
+        int t = Math.max(0, top);
+        int r = Math.min(width, right);
+        int b = Math.min(height, bottom);
+        for (int y = t; y < b; y++) {
+            int row = y * width;
+            for (int x = l; x < r; x++) {
+                int i = row + x;
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        dirty = true;
+        version++;
+    }
+
+    /**
+     * Berechnet die Summentabelle neu, falls sich die Karte geändert hat.
+     */
+    private void rebuild() {
+        int stride = width + 1;
+        for (int y = 0; y < height; y++) {
+            int rowSum = 0;
+            int row = y * width;
+            int above = y * stride;
+            int here = above + stride;
+            for (int x = 0; x < width; x++) {
+                int i = row + x;
+                rowSum += (int) ((bits[i >>> 6] >>> i) & 1L);
+                sums[here + x + 1] = sums[above + x + 1] + rowSum;
+            }
+        }
+        dirty = false;
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Prüft, ob ein Rechteck mindestens einen Wandpixel enthält.
+     * Konstante Laufzeit (vier Zugriffe auf die Summentabelle).
+     *
+     * @param left   Linke Kante
+     * @param top    Obere Kante
+     * @param right  Rechte Kante (ausschließlich)
+     * @param bottom Untere Kante (ausschließlich)
+     * @return true, wenn das Rechteck eine Wand berührt
+     */
+    public boolean intersects(int left, int top, int right, int bottom) {
+        if (dirty) {
+            rebuild();
+        }
+        int l = Math.max(0, left);
+        int t = Math.max(0, top);
+        int r = Math.min(width, right);
+        int b = Math.min(height, bottom);
+        if (l >= r || t >= b) {
+            return false;
+        }
+        int stride = width + 1;
+        int count = sums[b * stride + r] - sums[t * stride + r]
+                  - sums[b * stride + l] + sums[t * stride + l];
+        return count > 0;
+    }
+
+    /**
+     * Prüft, ob ein Rechteck auf dem Weg um (dx, dy) eine Wand berührt.
+     *
+     * Die Bewegung wird in Teilschritte zerlegt, die höchstens so groß sind
+     * wie das Rechteck (siehe Sweep.steps). So wird auch eine dünne Wand
+     * nicht übersprungen. Ist die Bewegung nicht größer als das Rechteck,
+     * wird wie bei intersects() nur das Ziel geprüft.
+     *
+     * @param left   Linke Kante vor der Bewegung
+     * @param top    Obere Kante vor der Bewegung
+     * @param right  Rechte Kante vor der Bewegung (ausschließlich)
+     * @param bottom Untere Kante vor der Bewegung (ausschließlich)
+     * @param dx     Bewegung in X-Richtung
+     * @param dy     Bewegung in Y-Richtung
+     * @return true, wenn das Rechteck unterwegs oder am Ziel eine Wand berührt
+     */
+    public boolean sweep(int left, int top, int right, int bottom, int dx, int dy) {
+        int n = Sweep.steps(dx, dy, right - left, bottom - top);
+        for (int k = 1; k <= n; k++) {
+            int ox = dx * k / n;
+            int oy = dy * k / n;
+            if (intersects(left + ox, top + oy, right + ox, bottom + oy)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gibt eine Nummer zurück, die sich bei jeder Änderung der Karte erhöht.
+     * Wer Daten aus der Karte ableitet, kann so erkennen, ob sie veraltet sind.
+     *
+     * @return Aktuelle Versionsnummer
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Prüft, ob die Karte überhaupt Wandpixel enthält.
+     *
+     * @return true, wenn es keine einzige Wand gibt
+     */
+    public boolean isEmpty() {
+        if (dirty) {
+            rebuild();
+        }
+        return sums[sums.length - 1] == 0;
+    }
+
+    /**
+     * Prüft, ob ein einzelner Pixel zu einer Wand gehört.
+     * Pixel außerhalb der Welt zählen nicht als Wand.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return true, wenn an dieser Stelle eine Wand ist
+     */
+    public boolean isWall(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+        int i = y * width + x;
+        return ((bits[i >>> 6] >>> i) & 1L) != 0;
+    }
+
+    /**
+     * Gibt die Breite der Karte zurück.
+     *
+     * @return Breite in Pixeln
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gibt die Höhe der Karte zurück.
+     *
+     * @return Höhe in Pixeln
+     */
+    public int getHeight() {
+        return height;
+    }
+}
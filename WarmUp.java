@@ -0,0 +1,340 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * WarmUp - Wärmt JVM, Bilder und Sounds vor dem ersten spielbaren Bild auf.
+ *
+ * Beim Start läuft der Code des Spiels zuerst im Interpreter; erst nach
+ * einigen tausend Aufrufen übersetzt ihn der JIT-Compiler. Dazu werden
+ * Klassen erst beim ersten Gebrauch geladen und Bilder erst beim ersten
+ * Aufbau eines Levels geladen und skaliert. Der Spieler merkt das als
+ * langsamen Start von Level1 und als Ruckler beim ersten Betreten jedes
+ * weiteren Levels.
+ *
+ * WarmUp erledigt das vorher, bevor das echte Level1 zu sehen ist:
+ * 1. Die Sounds werden auf dem Audio-Thread vorgeladen (SoundManager).
+ * 2. In einem HeadlessRunner werden alle Level nacheinander betreten,
+ *    genau wie im Spiel: LevelRegistry.switchTo, Game.setWorld und der
+ *    erste Takt der neuen Welt. Das ist die Messung "kalt".
+ * 3. Jedes Level läuft einige tausend Takte mit vorgegebenen Tasten
+ *    (SCRIPT). Dabei werden alle Klassen geladen, die heißen Methoden
+ *    übersetzt und alle Bilder in den SpriteCache gelegt.
+ * 4. In einem neuen Runner werden alle Level noch einmal so betreten
+ *    (warm, die schnellste von WARM_SAMPLES Messungen).
+ * 5. Die Runner mit ihren Welten werden verworfen, die Kennzahlen in
+ *    GameMetrics werden zurückgesetzt. Übrig bleiben nur der übersetzte
+ *    Code, die geladenen Klassen und die Zwischenspeicher für Bilder und
+ *    Sounds.
+ *
+ * Das Ganze dauert etwa DEFAULT_BUDGET_MILLIS: Sobald das Budget
+ * verbraucht ist, werden keine weiteren Level betreten, und die Takte
+ * eines Levels enden. Ein begonnener Levelwechsel läuft aber immer zu
+ * Ende.
+ *
+ * report() zeigt für jedes Level beide Werte: bei Level1 das erste Bild
+ * des Spiels, bei den übrigen den ersten Wechsel in das Level. Die kalten
+ * Werte entstehen, bevor irgendein Level gespielt wurde; so wäre es ohne
+ * WarmUp. Nicht aufgewärmt wird das Zeichnen zwischen den Takten, das es
+ * im Headless-Betrieb nicht gibt; Game.setWorld wechselt dort nur die
+ * Welt des Runners.
+ *
+ * Das normale Spiel wärmt beim ersten Bau einer GameWorld einmal auf und
+ * meldet die Auswertung auf System.out (runOnce). Von der Kommandozeile:
+ * <pre>
+ * java -Djava.awt.headless=true -cp greenfoot.jar:. WarmUp 3000 2000
+ * </pre>
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public final class WarmUp {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Standard-Anzahl Takte pro Level */
+    public static final long DEFAULT_TICKS_PER_LEVEL = 3000;
+
+    /** Standard-Zeitbudget für das ganze Aufwärmen */
+    public static final long DEFAULT_BUDGET_MILLIS = 2000;
+
+    /**
+     * Messungen nach dem Aufwärmen pro Level; gezählt wird die schnellste,
+     * damit eine zufällige Garbage Collection das Ergebnis nicht verfälscht
+     */
+    private static final int WARM_SAMPLES = 3;
+
+    /** So viele Takte hält SCRIPT dieselbe Richtung */
+    private static final long STEER_TICKS = 45;
+
+    /** Richtungen von SCRIPT: gerade und diagonal, im Uhrzeigersinn */
+    private static final String[][] MOVES = {
+        {"right"}, {"right", "down"}, {"down"}, {"down", "left"},
+        {"left"}, {"left", "up"}, {"up"}, {"up", "right"}
+    };
+
+    /**
+     * Tasten beim Aufwärmen: Der Spieler läuft reihum in alle acht
+     * Richtungen, damit Bewegung, Wände und Kontakte übersetzt werden.
+     * Cheat-Tasten werden nie gedrückt.
+     */
+    public static final KeyScript SCRIPT = (key, tick) -> {
+        for (String move : MOVES[(int) (tick / STEER_TICKS % MOVES.length)]) {
+            if (move.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    };
+
+    /** Ergebnis des Aufwärmens im normalen Spiel (null = noch nicht gelaufen) */
+    private static WarmUp last;
+
+    // ==================== ERGEBNIS ====================
+
+    /** Levelwechsel und erster Takt vor dem Aufwärmen, pro Level (0 = übersprungen) */
+    private final long[] coldNanos;
+
+    /** Levelwechsel und erster Takt nach dem Aufwärmen, pro Level (0 = übersprungen) */
+    private final long[] warmNanos;
+
+    /** Ausgeführte Takte pro Level */
+    private final long[] ticks;
+
+    /** Anzahl aufgewärmter Level (Level1 bis Level[levels]) */
+    private int levels;
+
+    /** Waren am Ende alle Sounds geladen? */
+    private boolean soundsLoaded;
+
+    /** Gesamtdauer des Aufwärmens */
+    private long elapsedNanos;
+
+    /**
+     * Legt ein leeres Ergebnis für alle Level an.
+     */
+    private WarmUp() {
+        int count = LevelRegistry.count();
+        coldNanos = new long[count];
+        warmNanos = new long[count];
+        ticks = new long[count];
+    }
+
+    // ==================== AUFWÄRMEN ====================
+
+    /**
+     * Wärmt beim ersten Aufruf mit den Standardwerten auf und meldet die
+     * Auswertung auf System.out; weitere Aufrufe haben keine Wirkung (wird
+     * von der GameWorld im normalen Spiel aufgerufen).
+     *
+     * @return Ergebnis des Aufwärmens
+     */
+    public static synchronized WarmUp runOnce() {
+        if (last == null) {
+            last = run(DEFAULT_TICKS_PER_LEVEL, DEFAULT_BUDGET_MILLIS);
+            for (String line : last.report()) {
+                System.out.println(line);
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Gibt das Ergebnis von runOnce() zurück.
+     *
+     * @return Ergebnis oder null, wenn noch nicht aufgewärmt wurde
+     */
+    public static synchronized WarmUp last() {
+        return last;
+    }
+
+    /**
+     * Wärmt alle Level nacheinander auf, bis das Zeitbudget verbraucht ist.
+     *
+     * Das Budget begrenzt Levelwechsel, Sounds und Takte; die Messung nach
+     * dem Aufwärmen (WARM_SAMPLES Durchgänge durch alle betretenen Level)
+     * kommt noch hinzu.
+     *
+     * @param ticksPerLevel Takte pro Level
+     * @param budgetMillis  Zeitbudget in Millisekunden
+     * @return Ergebnis mit den Messwerten
+     */
+    public static WarmUp run(long ticksPerLevel, long budgetMillis) {
+        if (ticksPerLevel < 1 || budgetMillis < 0) {
+            throw new IllegalArgumentException("Ungültiges Aufwärmen: " + ticksPerLevel
+                    + " Takte, " + budgetMillis + " ms");
+        }
+        long start = System.nanoTime();
+        long deadline = start + budgetMillis * 1_000_000L;
+        WarmUp result = new WarmUp();
+        SoundManager.preload();
+
+        // Kalt: alle Level betreten, bevor eines gespielt wird
+        HeadlessRunner cold = new HeadlessRunner(KeyScript.NONE);
+        for (int level = 1; level <= LevelRegistry.count(); level++) {
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            result.coldNanos[level - 1] = enter(cold, level);
+            result.levels = level;
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(SCRIPT);
+        for (int level = 1; level <= result.levels; level++) {
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            result.ticks[level - 1] = runner.runUntil(LevelRegistry.factory(level), ticksPerLevel, deadline);
+        }
+        long left = Math.max(0, deadline - System.nanoTime()) / 1_000_000L;
+        result.soundsLoaded = SoundManager.awaitPreload(left);
+
+        // Warm: dieselben Wechsel in einem neuen Runner (die Welten werden neu gebaut)
+        for (int i = 0; i < WARM_SAMPLES; i++) {
+            HeadlessRunner warm = new HeadlessRunner(KeyScript.NONE);
+            for (int level = 1; level <= result.levels; level++) {
+                long nanos = enter(warm, level);
+                if (i == 0 || nanos < result.warmNanos[level - 1]) {
+                    result.warmNanos[level - 1] = nanos;
+                }
+            }
+        }
+        GameMetrics.get().reset();
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Betritt ein Level wie im Spiel und misst die Dauer: Wechsel über die
+     * LevelRegistry des Runners (beim ersten Mal mit Aufbau der Welt),
+     * Game.setWorld und der erste Takt der neuen Welt.
+     */
+    private static long enter(HeadlessRunner runner, int level) {
+        return runner.call(() -> {
+            long start = System.nanoTime();
+            runner.getLevels().switchTo(level, runner.getWorld());
+            ((GameWorld) runner.getWorld()).step();
+            return System.nanoTime() - start;
+        });
+    }
+
+    // ==================== ABFRAGEN ====================
+
+    /**
+     * Gibt die Dauer zurück, mit der das Level vor dem Aufwärmen zum ersten
+     * Mal betreten wurde (Levelwechsel und erster Takt; bei Level1 das
+     * erste Bild).
+     *
+     * @param level Level-Nummer 1 bis LevelRegistry.count()
+     * @return Dauer in Nanosekunden (0, wenn das Level übersprungen wurde)
+     */
+    public long getColdNanos(int level) {
+        return coldNanos[level - 1];
+    }
+
+    /**
+     * Gibt die Dauer zurück, mit der das Level nach dem Aufwärmen zum ersten
+     * Mal betreten wurde (Levelwechsel und erster Takt; bei Level1 das
+     * erste Bild).
+     *
+     * @param level Level-Nummer 1 bis LevelRegistry.count()
+     * @return Dauer in Nanosekunden (0, wenn das Level übersprungen wurde)
+     */
+    public long getWarmNanos(int level) {
+        return warmNanos[level - 1];
+    }
+
+    /**
+     * Gibt die Anzahl aufgewärmter Level zurück.
+     *
+     * @return Anzahl Level, beginnend bei Level1
+     */
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * Gibt die Anzahl aller ausgeführten Takte zurück.
+     *
+     * @return Takte über alle Level
+     */
+    public long getTicks() {
+        long sum = 0;
+        for (long t : ticks) {
+            sum += t;
+        }
+        return sum;
+    }
+
+    /**
+     * Gibt an, ob am Ende alle Sounds geladen waren.
+     *
+     * @return true, wenn alle Sounds geladen sind
+     */
+    public boolean isSoundsLoaded() {
+        return soundsLoaded;
+    }
+
+    /**
+     * Gibt die Gesamtdauer des Aufwärmens zurück.
+     *
+     * @return Dauer in Nanosekunden
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Erstellt die Auswertung: was das Aufwärmen beim ersten Bild und beim
+     * ersten Levelwechsel gespart hat, danach eine Zeile pro aufgewärmtem
+     * Level mit der Dauer des Betretens vorher und nachher.
+     *
+     * @return Zeilen der Auswertung
+     */
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "Aufwärmen: %.1f ms, %d Level, %d Takte, Sounds %s",
+                elapsedNanos / 1e6, levels, getTicks(), soundsLoaded ? "geladen" : "nicht geladen"));
+        if (levels >= 1) {
+            lines.add(String.format(Locale.ROOT, "Erstes Bild: %.1f ms gespart (%.1f ms statt %.1f ms)",
+                    (coldNanos[0] - warmNanos[0]) / 1e6, warmNanos[0] / 1e6, coldNanos[0] / 1e6));
+        }
+        if (levels >= 2) {
+            long cold = 0;
+            long warm = 0;
+            for (int i = 1; i < levels; i++) {
+                cold += coldNanos[i];
+                warm += warmNanos[i];
+            }
+            int n = levels - 1;
+            lines.add(String.format(Locale.ROOT,
+                    "Erster Levelwechsel: im Mittel %.1f ms gespart (%.1f ms statt %.1f ms)",
+                    (cold - warm) / 1e6 / n, warm / 1e6 / n, cold / 1e6 / n));
+        }
+        lines.add(String.format(Locale.ROOT, "%-8s %10s %10s %10s", "Betreten", "kalt", "warm", "gespart"));
+        for (int i = 0; i < levels; i++) {
+            lines.add(String.format(Locale.ROOT, "%-8s %7.1f ms %7.1f ms %7.1f ms", "Level" + (i + 1),
+                    coldNanos[i] / 1e6, warmNanos[i] / 1e6, (coldNanos[i] - warmNanos[i]) / 1e6));
+        }
+        return lines;
+    }
+
+    // ==================== KOMMANDOZEILE ====================
+
+    /**
+     * Wärmt ohne Fenster auf und gibt die Auswertung aus.
+     *
+     * Argumente: [Takte pro Level] [Budget in ms]
+     * (Standard: DEFAULT_TICKS_PER_LEVEL, DEFAULT_BUDGET_MILLIS)
+     *
+     * @param args Kommandozeilenargumente
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        long ticksPerLevel = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TICKS_PER_LEVEL;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_BUDGET_MILLIS;
+        for (String line : run(ticksPerLevel, budget).report()) {
+            System.out.println(line);
+        }
+    }
+}
@@ -14,9 +14,9 @@ import greenfoot.*;
  * - Mehrere WindZones können sich addieren
  * 
  * Interaktion:
- * - Player prüft in act() auf Kollision mit WindZone
+ * - Player prüft in tick() auf Kollision mit WindZone
  * - Player addiert windDx und windDy zu seiner Bewegung
- * - WindZone selbst ist passiv (tut nichts in act())
+ * - WindZone selbst ist passiv (tut nichts in tick())
  * 
  * Verwendungsbeispiele:
  * 
@@ -48,7 +48,7 @@ import greenfoot.*;
  * @author Felix Krusch
  * @version 2.0
  */
-public class WindZone extends Actor {
+public class WindZone extends GameActor {
     
     // ==================== ATTRIBUTE ====================
     
@@ -120,8 +120,21 @@ public class WindZone extends Actor {
      * - Trennung der Verantwortlichkeiten: WindZone ist nur ein Marker mit Parametern
      */
     @Override
-    public void act() {
+    public void tick() {
         // Die Zone selbst tut nichts
         // Player prüft Kollision und wendet windDx/windDy an
     }
+    
+    // ==================== KONTAKTE ====================
+    
+    /**
+     * Meldet die Windstärke, wenn der Player Kontakte sammelt.
+     * Die Windstärken mehrerer WindZones addieren sich.
+     * 
+     * @param contacts Kontakte des fragenden Actors
+     */
+    @Override
+    protected void addContactTo(Contacts contacts) {
+        contacts.addWind(windDx, windDy);
+    }
 }
@@ -0,0 +1,242 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WorldSnapshot - Veränderlicher Zustand einer GameWorld in einem int-Puffer.
+ *
+ * Ein Snapshot hält alles fest, was sich während des Spiels ändert:
+ * - Seed und Zufallsgenerator der Welt
+ * - alle Projektile im BulletSystem
+ * - Position und Geschwindigkeit aller Pendler (OscillatorBatch)
+ * - die angezeigten Texte
+ * - für jeden GameActor: Position, Zufallsstrom und eigene Werte
+ *   (z.B. Leben des Players, Phase des Pulsars, Cooldown des Shooters)
+ *
+ * Die Werte stehen hintereinander in einem int-Array. Jede Klasse schreibt
+ * ihre Werte in saveState() und liest sie in derselben Reihenfolge in
+ * loadState() wieder. Beim Wiederherstellen wird nichts neu angelegt:
+ * Die Actors bleiben dieselben Objekte und bekommen nur ihre Werte zurück.
+ * Das dauert wenige Mikrosekunden, statt das ganze Level neu zu bauen.
+ *
+ * Ein Snapshot passt nur zu der Welt, aus der er stammt, und nur solange
+ * dort kein GameActor hinzugefügt oder entfernt wurde (siehe matches).
+ *
+ * Verwendung:
+ * <pre>
+ * WorldSnapshot start = world.snapshot();
+ * // ... beliebig viele Takte spielen ...
+ * world.restore(start);                 // zurück zum Start
+ *
+ * // Ohne neue Objekte (z.B. für Bots mit Millionen Versuchen)
+ * start.capture(world);
+ * </pre>
+ *
+ * Neue Actor-Klassen mit eigenem Zustand überschreiben
+ * GameActor.saveState() und GameActor.loadState().
+ *
+ * @author Felix Krusch
+ * @version 2.0
+ */
+public class WorldSnapshot {
+
+    // ==================== KONSTANTEN ====================
+
+    /** Anfangsgröße des Puffers in ints */
+    private static final int INITIAL_CAPACITY = 256;
+
+    // ==================== ATTRIBUTE ====================
+
+    /** Die gespeicherten Werte */
+    private int[] data = new int[INITIAL_CAPACITY];
+
+    /** Anzahl belegter Werte */
+    private int size;
+
+    /** Lese-Position beim Wiederherstellen */
+    private int cursor;
+
+    /** Gespeicherte Actors in der Reihenfolge des Puffers */
+    private GameActor[] actors = new GameActor[32];
+
+    /** Anzahl gespeicherter Actors */
+    private int actorCount;
+
+    /** Gespeicherte Texte (Index wie bei den Textpositionen der Welt) */
+    private String[] texts = new String[0];
+
+    /** Welt, aus der der Snapshot stammt */
+    private GameWorld world;
+
+    /** Actor-Stand der Welt beim Speichern (siehe GameWorld.getActorVersion) */
+    private int actorVersion;
+
+    // ==================== SPEICHERN UND WIEDERHERSTELLEN ====================
+
+    /**
+     * Speichert den Zustand einer Welt in diesem Snapshot.
+     * Ein früherer Inhalt wird überschrieben; die Arrays werden weiterverwendet.
+     *
+     * @param world Die Welt
+     */
+    public void capture(GameWorld world) {
+        this.world = world;
+        this.actorVersion = world.getActorVersion();
+        size = 0;
+        world.saveState(this);
+
+        List<GameActor> list = world.getObjects(GameActor.class);
+        actorCount = list.size();
+        if (actors.length < actorCount) {
+            actors = new GameActor[actorCount];
+        }
+        for (int i = 0; i < actorCount; i++) {
+            GameActor actor = list.get(i);
+            actors[i] = actor;
+            actor.saveActor(this);
+        }
+        for (int i = actorCount; i < actors.length && actors[i] != null; i++) {
+            actors[i] = null;
+        }
+    }
+
+    /**
+     * Stellt den gespeicherten Zustand in der Welt wieder her.
+     *
+     * @param world Die Welt (muss dieselbe wie beim Speichern sein)
+     * @throws IllegalStateException wenn der Snapshot nicht zur Welt passt
+     */
+    public void restore(GameWorld world) {
+        if (!matches(world)) {
+            throw new IllegalStateException("Snapshot passt nicht zu dieser Welt");
+        }
+        cursor = 0;
+        world.loadState(this);
+        for (int i = 0; i < actorCount; i++) {
+            actors[i].loadActor(this);
+        }
+    }
+
+    /**
+     * Prüft, ob der Snapshot in einer Welt wiederhergestellt werden kann:
+     * Es ist dieselbe Welt und seit dem Speichern wurde dort kein GameActor
+     * hinzugefügt oder entfernt.
+     *
+     * @param world Die Welt
+     * @return true, wenn restore() möglich ist
+     */
+    public boolean matches(GameWorld world) {
+        return world != null && world == this.world && world.getActorVersion() == actorVersion;
+    }
+
+    /**
+     * Gibt die Größe des Puffers in Bytes zurück.
+     *
+     * @return Belegte Bytes (ohne Actor- und Text-Referenzen)
+     */
+    public int sizeInBytes() {
+        return size * Integer.BYTES;
+    }
+
+    // ==================== SCHREIBEN ====================
+
+    /**
+     * Hängt einen int-Wert an.
+     *
+     * @param value Der Wert
+     */
+    public void writeInt(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+        data[size++] = value;
+    }
+
+    /**
+     * Hängt einen long-Wert an (zwei ints).
+     *
+     * @param value Der Wert
+     */
+    public void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    /**
+     * Hängt einen float-Wert an (bitgenau).
+     *
+     * @param value Der Wert
+     */
+    public void writeFloat(float value) {
+        writeInt(Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Hängt einen double-Wert an (bitgenau).
+     *
+     * @param value Der Wert
+     */
+    public void writeDouble(double value) {
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Merkt sich die angezeigten Texte der Welt (wird von GameWorld aufgerufen).
+     *
+     * @param values Texte der Welt (werden kopiert)
+     * @param count  Anzahl Texte
+     */
+    void writeTexts(String[] values, int count) {
+        if (texts.length != count) {
+            texts = new String[count];
+        }
+        System.arraycopy(values, 0, texts, 0, count);
+    }
+
+    // ==================== LESEN ====================
+
+    /**
+     * Liest den nächsten int-Wert.
+     *
+     * @return Der Wert
+     */
+    public int readInt() {
+        return data[cursor++];
+    }
+
+    /**
+     * Liest den nächsten long-Wert.
+     *
+     * @return Der Wert
+     */
+    public long readLong() {
+        long high = readInt();
+        return (high << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Liest den nächsten float-Wert.
+     *
+     * @return Der Wert
+     */
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    /**
+     * Liest den nächsten double-Wert.
+     *
+     * @return Der Wert
+     */
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Gibt die gespeicherten Texte zurück (wird von GameWorld aufgerufen).
+     *
+     * @return Texte in der Reihenfolge der Textpositionen
+     */
+    String[] readTexts() {
+        return texts;
+    }
+}